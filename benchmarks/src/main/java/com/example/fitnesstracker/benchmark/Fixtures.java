@@ -0,0 +1,98 @@
+package com.example.fitnesstracker.benchmark;
+
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.model.User;
+import com.example.fitnesstracker.model.WorkoutPlan;
+import com.example.fitnesstracker.request.ActivityLogRequest;
+import com.example.fitnesstracker.request.UserRequest;
+import com.example.fitnesstracker.request.WorkoutPlanRequest;
+import com.example.fitnesstracker.response.ActivityLogResponse;
+import com.example.fitnesstracker.response.UserResponse;
+import com.example.fitnesstracker.response.WorkoutPlanResponse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Representative entities, requests and responses shared by the benchmarks. Values are fixed so
+ * runs stay comparable with the committed baseline.
+ */
+final class Fixtures {
+
+    static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 8, 30);
+    static final LocalDate START_DATE = LocalDate.of(2024, 2, 1);
+
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("athlete" + id);
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuu8Yx9oVn0Y3GQmQbT3kxQ8bWc9S9kG2e");
+        user.setEmail("athlete" + id + "@example.com");
+        user.setFullName("Athlete Number " + id);
+        user.setRole(User.Role.USER);
+        user.setCreatedAt(CREATED_AT);
+        user.setUpdatedAt(CREATED_AT);
+        return user;
+    }
+
+    static WorkoutPlan workoutPlan(long id, User creator) {
+        WorkoutPlan workoutPlan = new WorkoutPlan();
+        workoutPlan.setId(id);
+        workoutPlan.setName("Plan " + id);
+        workoutPlan.setDescription("Twelve week progressive plan mixing intervals and long runs");
+        workoutPlan.setStartDate(START_DATE);
+        workoutPlan.setEndDate(START_DATE.plusWeeks(12));
+        workoutPlan.setDifficultyLevel(WorkoutPlan.DifficultyLevel.INTERMEDIATE);
+        workoutPlan.setCreatedBy(creator);
+        return workoutPlan;
+    }
+
+    static ActivityLog activityLog(long id, User user, WorkoutPlan workoutPlan) {
+        ActivityLog activityLog = new ActivityLog();
+        activityLog.setId(id);
+        activityLog.setActivityName("Morning run " + id);
+        activityLog.setDescription("Easy pace along the river, negative split on the way back");
+        activityLog.setDateTime(CREATED_AT.plusHours(id));
+        activityLog.setDurationMinutes(45);
+        activityLog.setCaloriesBurned(420);
+        activityLog.setActivityType(ActivityLog.ActivityType.CARDIO);
+        activityLog.setUser(user);
+        activityLog.setWorkoutPlan(workoutPlan);
+        return activityLog;
+    }
+
+    static UserRequest userRequest() {
+        return new UserRequest("athlete", "secret123", "athlete@example.com", "Athlete", User.Role.USER);
+    }
+
+    static WorkoutPlanRequest workoutPlanRequest() {
+        return new WorkoutPlanRequest("Plan", "Twelve week progressive plan", START_DATE, START_DATE.plusWeeks(12),
+                WorkoutPlan.DifficultyLevel.INTERMEDIATE, 1L);
+    }
+
+    static ActivityLogRequest activityLogRequest() {
+        return new ActivityLogRequest("Morning run", "Easy pace along the river", CREATED_AT, 45, 420,
+                ActivityLog.ActivityType.CARDIO, 1L, 1L);
+    }
+
+    static List<ActivityLogResponse> activityLogResponses(int count) {
+        UserResponse user = new UserResponse(1L, "athlete1", "athlete1@example.com", "Athlete Number 1",
+                User.Role.USER, CREATED_AT);
+        WorkoutPlanResponse workoutPlan = new WorkoutPlanResponse(1L, "Plan 1",
+                "Twelve week progressive plan mixing intervals and long runs", START_DATE, START_DATE.plusWeeks(12),
+                WorkoutPlan.DifficultyLevel.INTERMEDIATE, user);
+
+        List<ActivityLogResponse> responses = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            responses.add(new ActivityLogResponse(id, "Morning run " + id,
+                    "Easy pace along the river, negative split on the way back", CREATED_AT.plusHours(id),
+                    45, 420, ActivityLog.ActivityType.CARDIO, user, workoutPlan));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.fitnesstracker.benchmark;
+
+import com.example.fitnesstracker.mapper.ActivityLogMapper;
+import com.example.fitnesstracker.mapper.UserMapper;
+import com.example.fitnesstracker.mapper.WorkoutPlanMapper;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.model.User;
+import com.example.fitnesstracker.model.WorkoutPlan;
+import com.example.fitnesstracker.request.ActivityLogRequest;
+import com.example.fitnesstracker.request.UserRequest;
+import com.example.fitnesstracker.request.WorkoutPlanRequest;
+import com.example.fitnesstracker.response.ActivityLogResponse;
+import com.example.fitnesstracker.response.UserResponse;
+import com.example.fitnesstracker.response.WorkoutPlanResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the mapper methods on the request path. The mappers are constructed
+ * directly; the services they hold are only used when resolving relationships, which is not
+ * measured here.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    private UserMapper userMapper;
+    private WorkoutPlanMapper workoutPlanMapper;
+    private ActivityLogMapper activityLogMapper;
+
+    private User user;
+    private WorkoutPlan workoutPlan;
+    private ActivityLog activityLog;
+
+    private UserRequest userRequest;
+    private WorkoutPlanRequest workoutPlanRequest;
+    private ActivityLogRequest activityLogRequest;
+
+    @Setup
+    public void setUpMappers() {
+        userMapper = new UserMapper();
+        workoutPlanMapper = new WorkoutPlanMapper(userMapper, null);
+        activityLogMapper = new ActivityLogMapper(userMapper, workoutPlanMapper, null, null);
+
+        userRequest = Fixtures.userRequest();
+        workoutPlanRequest = Fixtures.workoutPlanRequest();
+        activityLogRequest = Fixtures.activityLogRequest();
+    }
+
+    // The update benchmarks mutate their target, so it is rebuilt before every iteration.
+    @Setup(Level.Iteration)
+    public void setUpEntities() {
+        user = Fixtures.user(1L);
+        workoutPlan = Fixtures.workoutPlan(1L, user);
+        activityLog = Fixtures.activityLog(1L, user, workoutPlan);
+    }
+
+    @Benchmark
+    public UserResponse userToResponse() {
+        return userMapper.toResponse(user);
+    }
+
+    @Benchmark
+    public User userToEntity() {
+        return userMapper.toEntity(userRequest);
+    }
+
+    @Benchmark
+    public User userUpdateEntityFromRequest() {
+        return userMapper.updateEntityFromRequest(user, userRequest);
+    }
+
+    @Benchmark
+    public WorkoutPlanResponse workoutPlanToResponse() {
+        return workoutPlanMapper.toResponse(workoutPlan);
+    }
+
+    @Benchmark
+    public WorkoutPlan workoutPlanToEntity() {
+        return workoutPlanMapper.toEntity(workoutPlanRequest);
+    }
+
+    @Benchmark
+    public WorkoutPlan workoutPlanUpdateEntityFromRequest() {
+        return workoutPlanMapper.updateEntityFromRequest(workoutPlan, workoutPlanRequest);
+    }
+
+    @Benchmark
+    public ActivityLogResponse activityLogToResponse() {
+        return activityLogMapper.toResponse(activityLog);
+    }
+
+    @Benchmark
+    public ActivityLog activityLogToEntity() {
+        return activityLogMapper.toEntity(activityLogRequest);
+    }
+
+    @Benchmark
+    public ActivityLog activityLogUpdateEntityFromRequest() {
+        return activityLogMapper.updateEntityFromRequest(activityLog, activityLogRequest);
+    }
+}
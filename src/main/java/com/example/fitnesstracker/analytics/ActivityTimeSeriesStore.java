@@ -0,0 +1,156 @@
+package com.example.fitnesstracker.analytics;
+
+import com.example.fitnesstracker.event.ActivityLogChangedEvent;
+import com.example.fitnesstracker.event.ActivityLogSnapshot;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.repository.ActivityLogRepository;
+import com.example.fitnesstracker.repository.projection.ActivitySampleView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory columnar copy of every user's activity logs (timestamp, duration, calories, type), so
+ * analytics scan primitive arrays instead of loading entities. Built from the database before the
+ * application starts serving requests and kept current from {@link ActivityLogChangedEvent}s once
+ * their transaction has committed.
+ * <p>
+ * Log timestamps are local date-times; they are stored as seconds on a UTC time line, which keeps
+ * day boundaries where the stored values put them.
+ */
+@Slf4j
+@Component
+public class ActivityTimeSeriesStore implements SmartInitializingSingleton, MeterBinder {
+
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final int TYPE_COUNT = ActivityLog.ActivityType.values().length;
+
+    private final ActivityLogRepository activityLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, UserTimeSeries> seriesByUser = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ActivityTimeSeriesStore(ActivityLogRepository activityLogRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.activityLogRepository = activityLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long[] loaded = new long[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ActivitySampleView> samples = activityLogRepository.streamSamples()) {
+                samples.forEach(sample -> {
+                    add(sample.id(), sample.userId(), sample.dateTime(), value(sample.durationMinutes()),
+                            value(sample.caloriesBurned()), sample.activityType());
+                    loaded[0]++;
+                });
+            }
+        });
+        log.info("Loaded {} activity samples for {} users into the analytics store", loaded[0], seriesByUser.size());
+    }
+
+    /**
+     * @return totals of each of the {@code days} days starting at {@code from}
+     */
+    public DailySeries daily(Long userId, LocalDate from, int days) {
+        long start = from.toEpochDay() * SECONDS_PER_DAY;
+        UserTimeSeries series = seriesByUser.get(userId);
+        if (series == null) {
+            return new DailySeries(new int[days], new long[days], new long[days]);
+        }
+        return series.scan(start, start + days * SECONDS_PER_DAY,
+                () -> new DailySeries(new int[days], new long[days], new long[days]),
+                (totals, timestamp, minutes, calories, type) -> {
+                    int day = (int) ((timestamp - start) / SECONDS_PER_DAY);
+                    totals.sessions()[day]++;
+                    totals.minutes()[day] += minutes;
+                    totals.calories()[day] += calories;
+                });
+    }
+
+    /**
+     * @return totals per activity type of the days from {@code from} to {@code to}, both inclusive
+     */
+    public TypeTotals byType(Long userId, LocalDate from, LocalDate to) {
+        UserTimeSeries series = seriesByUser.get(userId);
+        if (series == null) {
+            return new TypeTotals(new int[TYPE_COUNT], new long[TYPE_COUNT], new long[TYPE_COUNT]);
+        }
+        return series.scan(from.toEpochDay() * SECONDS_PER_DAY, (to.toEpochDay() + 1) * SECONDS_PER_DAY,
+                () -> new TypeTotals(new int[TYPE_COUNT], new long[TYPE_COUNT], new long[TYPE_COUNT]),
+                (totals, timestamp, minutes, calories, type) -> {
+                    totals.sessions()[type]++;
+                    totals.minutes()[type] += minutes;
+                    totals.calories()[type] += calories;
+                });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivityLogChanged(ActivityLogChangedEvent event) {
+        ActivityLogSnapshot before = event.before();
+        if (before != null && before.userId() != null && before.dateTime() != null) {
+            UserTimeSeries series = seriesByUser.get(before.userId());
+            if (series != null) {
+                series.remove(before.id(), timestamp(before.dateTime()));
+            }
+        }
+        ActivityLogSnapshot after = event.after();
+        if (after != null) {
+            add(after.id(), after.userId(), after.dateTime(), after.durationMinutes(), after.caloriesBurned(),
+                    after.activityType());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        seriesByUser.remove(event.userId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("analytics.store.users", seriesByUser, Map::size)
+                .description("Users with samples in the analytics store")
+                .register(registry);
+        Gauge.builder("analytics.store.samples", seriesByUser,
+                        series -> series.values().stream().mapToLong(UserTimeSeries::size).sum())
+                .description("Activity samples held in the analytics store")
+                .register(registry);
+    }
+
+    private void add(Long id, Long userId, LocalDateTime dateTime, int durationMinutes, int caloriesBurned,
+                     ActivityLog.ActivityType activityType) {
+        // Logs without a user or timestamp cannot be placed on anyone's time line.
+        if (userId == null || dateTime == null) {
+            return;
+        }
+        ActivityLog.ActivityType type = activityType != null ? activityType : ActivityLog.ActivityType.OTHER;
+        seriesByUser.computeIfAbsent(userId, key -> new UserTimeSeries())
+                .add(id, timestamp(dateTime), durationMinutes, caloriesBurned, type.ordinal());
+    }
+
+    private static long timestamp(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static int value(Integer nullable) {
+        return nullable != null ? nullable : 0;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.fitnesstracker.analytics;
+
+/**
+ * Per-day totals of consecutive days; index 0 is the first requested day.
+ */
+public record DailySeries(int[] sessions, long[] minutes, long[] calories) {
+
+    public int days() {
+        return sessions.length;
+    }
+}
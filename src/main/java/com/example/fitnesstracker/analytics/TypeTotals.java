@@ -0,0 +1,7 @@
+package com.example.fitnesstracker.analytics;
+
+/**
+ * Totals per activity type, indexed by {@link com.example.fitnesstracker.model.ActivityLog.ActivityType#ordinal()}.
+ */
+public record TypeTotals(int[] sessions, long[] minutes, long[] calories) {
+}
@@ -0,0 +1,169 @@
+package com.example.fitnesstracker.analytics;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * One user's activity samples as parallel primitive columns, ordered by timestamp and then log id.
+ * Reads are optimistic: a scan runs without locking and is only repeated under the read lock if a
+ * writer got in between, so concurrent readers never block each other or the writer.
+ */
+final class UserTimeSeries {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] durations = new int[INITIAL_CAPACITY];
+    private int[] calories = new int[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    @FunctionalInterface
+    interface SampleAccumulator<A> {
+        void accept(A accumulator, long timestamp, int durationMinutes, int caloriesBurned, int activityType);
+    }
+
+    void add(long id, long timestamp, int durationMinutes, int caloriesBurned, int activityType) {
+        long stamp = lock.writeLock();
+        try {
+            int at = size;
+            if (size > 0 && isAfter(timestamps[size - 1], ids[size - 1], timestamp, id)) {
+                at = insertionPoint(timestamp, id);
+            }
+            if (size == timestamps.length) {
+                grow();
+            }
+            int tail = size - at;
+            System.arraycopy(timestamps, at, timestamps, at + 1, tail);
+            System.arraycopy(ids, at, ids, at + 1, tail);
+            System.arraycopy(durations, at, durations, at + 1, tail);
+            System.arraycopy(calories, at, calories, at + 1, tail);
+            System.arraycopy(types, at, types, at + 1, tail);
+            timestamps[at] = timestamp;
+            ids[at] = id;
+            durations[at] = durationMinutes;
+            calories[at] = caloriesBurned;
+            types[at] = (byte) activityType;
+            size++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return whether a sample with that id was stored at that timestamp
+     */
+    boolean remove(long id, long timestamp) {
+        long stamp = lock.writeLock();
+        try {
+            for (int i = lowerBound(timestamps, size, timestamp); i < size && timestamps[i] == timestamp; i++) {
+                if (ids[i] == id) {
+                    int tail = size - i - 1;
+                    System.arraycopy(timestamps, i + 1, timestamps, i, tail);
+                    System.arraycopy(ids, i + 1, ids, i, tail);
+                    System.arraycopy(durations, i + 1, durations, i, tail);
+                    System.arraycopy(calories, i + 1, calories, i, tail);
+                    System.arraycopy(types, i + 1, types, i, tail);
+                    size--;
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        long stamp = lock.tryOptimisticRead();
+        int current = size;
+        if (lock.validate(stamp)) {
+            return current;
+        }
+        stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Feeds every sample with {@code from <= timestamp < to} to a fresh accumulator, in timestamp order.
+     */
+    <A> A scan(long from, long to, Supplier<A> init, SampleAccumulator<A> accumulator) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            A result = scanUnlocked(from, to, init.get(), accumulator);
+            if (lock.validate(stamp)) {
+                return result;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return scanUnlocked(from, to, init.get(), accumulator);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // May run concurrently with a writer, so it only touches local copies of the columns, never
+    // indexes past any of them and re-checks bounds on every sample; the caller discards the
+    // result if the stamp no longer validates.
+    private <A> A scanUnlocked(long from, long to, A result, SampleAccumulator<A> accumulator) {
+        long[] ts = timestamps;
+        int[] minutes = durations;
+        int[] kcal = calories;
+        byte[] type = types;
+        int n = Math.min(size, Math.min(Math.min(ts.length, minutes.length), Math.min(kcal.length, type.length)));
+        for (int i = lowerBound(ts, n, from); i < n; i++) {
+            long timestamp = ts[i];
+            if (timestamp >= to) {
+                break;
+            }
+            if (timestamp >= from) {
+                accumulator.accept(result, timestamp, minutes[i], kcal[i], type[i]);
+            }
+        }
+        return result;
+    }
+
+    private int insertionPoint(long timestamp, long id) {
+        int i = lowerBound(timestamps, size, timestamp);
+        while (i < size && timestamps[i] == timestamp && ids[i] < id) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int lowerBound(long[] ts, int n, long timestamp) {
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ts[mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean isAfter(long timestamp, long id, long otherTimestamp, long otherId) {
+        return timestamp > otherTimestamp || (timestamp == otherTimestamp && id > otherId);
+    }
+
+    private void grow() {
+        int capacity = timestamps.length * 2;
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        calories = Arrays.copyOf(calories, capacity);
+        types = Arrays.copyOf(types, capacity);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.fitnesstracker.audit;
+
+import com.example.fitnesstracker.model.AuditEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable audit entry as captured on the request thread, before it is persisted.
+ */
+public record AuditRecord(
+        LocalDateTime occurredAt,
+        AuditEvent.Action action,
+        AuditEvent.EntityType entityType,
+        Long entityId,
+        Long actorId
+) {
+
+    AuditEvent toEntity() {
+        return new AuditEvent(null, occurredAt, action, entityType, entityId, actorId);
+    }
+}
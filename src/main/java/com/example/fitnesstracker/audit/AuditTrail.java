@@ -0,0 +1,94 @@
+package com.example.fitnesstracker.audit;
+
+import com.example.fitnesstracker.model.AuditEvent;
+import com.example.fitnesstracker.security.SecurityUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Entry point for recording create, update and delete events. Recording never blocks the caller:
+ * entries go into a bounded lock-free ring buffer drained by {@link AuditWriter}, and are counted
+ * as dropped when the buffer is full. Inside a transaction entries are only enqueued after commit,
+ * so rolled-back changes are never audited.
+ */
+@Component
+public class AuditTrail {
+
+    private final BoundedRingBuffer<AuditRecord> buffer;
+    private final Clock clock;
+    private final Counter recorded;
+    private final Counter dropped;
+
+    @Autowired
+    public AuditTrail(@Value("${app.audit.buffer-capacity}") int capacity, MeterRegistry meterRegistry) {
+        this(capacity, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    AuditTrail(int capacity, MeterRegistry meterRegistry, Clock clock) {
+        this.buffer = new BoundedRingBuffer<>(capacity);
+        this.clock = clock;
+        this.recorded = Counter.builder("audit.events.recorded")
+                .description("Audit events accepted into the buffer")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("audit.events.dropped")
+                .description("Audit events dropped because the buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.size", buffer, BoundedRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.capacity", buffer, BoundedRingBuffer::capacity)
+                .register(meterRegistry);
+    }
+
+    public void record(AuditEvent.Action action, AuditEvent.EntityType entityType, Long entityId) {
+        recordAll(action, entityType, List.of(entityId));
+    }
+
+    public void recordAll(AuditEvent.Action action, AuditEvent.EntityType entityType, Collection<Long> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        Long actorId = SecurityUtils.getCurrentUserId();
+        List<AuditRecord> entries = entityIds.stream()
+                .map(entityId -> new AuditRecord(now, action, entityType, entityId, actorId))
+                .toList();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entries);
+                }
+            });
+        } else {
+            enqueue(entries);
+        }
+    }
+
+    int drainTo(List<AuditRecord> target, int max) {
+        return buffer.drainTo(target, max);
+    }
+
+    private void enqueue(List<AuditRecord> entries) {
+        for (AuditRecord entry : entries) {
+            if (buffer.offer(entry)) {
+                recorded.increment();
+            } else {
+                dropped.increment();
+            }
+        }
+    }
+}
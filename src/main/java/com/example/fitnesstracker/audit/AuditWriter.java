@@ -0,0 +1,123 @@
+package com.example.fitnesstracker.audit;
+
+import com.example.fitnesstracker.repository.AuditEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background thread that drains the {@link AuditTrail} buffer and writes the entries to the
+ * {@code audit_events} table in batches, one transaction per batch. When the buffer is empty it
+ * sleeps for the flush interval; on shutdown it drains whatever is left.
+ */
+@Slf4j
+@Component
+public class AuditWriter implements SmartLifecycle {
+
+    private final AuditTrail auditTrail;
+    private final AuditEventRepository auditEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long idleNanos;
+    private final Counter written;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @Autowired
+    public AuditWriter(AuditTrail auditTrail,
+                       AuditEventRepository auditEventRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.audit.batch-size}") int batchSize,
+                       @Value("${app.audit.flush-interval}") Duration flushInterval,
+                       MeterRegistry meterRegistry) {
+        this.auditTrail = auditTrail;
+        this.auditEventRepository = auditEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.idleNanos = flushInterval.toNanos();
+        this.written = Counter.builder("audit.events.written")
+                .description("Audit events persisted")
+                .register(meterRegistry);
+        this.failed = Counter.builder("audit.events.failed")
+                .description("Audit events lost because their batch could not be written")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "audit-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(Duration.ofSeconds(10).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server so requests finishing during shutdown are still written.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (flush(batch) == 0) {
+                LockSupport.parkNanos(this, idleNanos);
+            }
+        }
+        while (flush(batch) > 0) {
+            // drain what was recorded before shutdown
+        }
+    }
+
+    /**
+     * Writes at most one batch.
+     *
+     * @return the number of entries taken from the buffer
+     */
+    int flush(List<AuditRecord> batch) {
+        batch.clear();
+        int drained = auditTrail.drainTo(batch, batchSize);
+        if (drained == 0) {
+            return 0;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    auditEventRepository.saveAll(batch.stream().map(AuditRecord::toEntity).toList()));
+            written.increment(drained);
+        } catch (RuntimeException e) {
+            failed.increment(drained);
+            log.warn("Failed to write {} audit events", drained, e);
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.fitnesstracker.cache;
+
+import com.example.fitnesstracker.event.UserAccountChangedEvent;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.example.fitnesstracker.event.WorkoutPlanChangedEvent;
+import com.example.fitnesstracker.response.WorkoutPlanResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Serialized JSON of the workout plan catalog ({@code GET /api/workout-plans} and name search),
+ * so hot listings skip the query, the mapping and Jackson altogether.
+ * <p>
+ * Entries are keyed by a generation that is bumped after every committed plan change, and after
+ * user changes since each plan embeds its creator. A listing that was loading while a change
+ * committed is stored under the old generation and never served.
+ */
+@Slf4j
+@Component
+public class WorkoutPlanCatalogCache implements MeterBinder {
+
+    static final String CACHE_NAME = "workoutPlanCatalog";
+
+    private static final String ALL = "all";
+    private static final String SEARCH_PREFIX = "search:";
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, CachedResponse> responses;
+    private final CacheControl cacheControl;
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public WorkoutPlanCatalogCache(ObjectMapper objectMapper,
+                                   @Value("${app.catalog-cache.max-entries}") long maxEntries,
+                                   @Value("${app.catalog-cache.ttl}") Duration ttl,
+                                   @Value("${app.catalog-cache.max-age}") Duration maxAge) {
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Listings embed creator emails and require authentication, so only the client may store them.
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePrivate();
+    }
+
+    public CachedResponse getAll(Supplier<List<WorkoutPlanResponse>> loader) {
+        return get(ALL, loader);
+    }
+
+    public CachedResponse search(String name, int limit, Supplier<List<WorkoutPlanResponse>> loader) {
+        return get(SEARCH_PREFIX + limit + ":" + name, loader);
+    }
+
+    public CacheControl cacheControl() {
+        return cacheControl;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        responses.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkoutPlanChanged(WorkoutPlanChangedEvent event) {
+        log.debug("Invalidating workout plan catalog after change to plan {}", event.workoutPlanId());
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        log.debug("Invalidating workout plan catalog after change to user {}", event.userId());
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        log.debug("Invalidating workout plan catalog after deletion of user {}", event.userId());
+        invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responses, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", responses, cache -> cache.stats().hitRate())
+                .description("Fraction of lookups served from the cache")
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+    }
+
+    private CachedResponse get(String query, Supplier<List<WorkoutPlanResponse>> loader) {
+        // Concurrent misses on the same key share one load.
+        return responses.get(new Key(generation.get(), query), key -> serialize(loader.get()));
+    }
+
+    private CachedResponse serialize(List<WorkoutPlanResponse> plans) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(plans);
+            return new CachedResponse(body, DigestUtils.md5DigestAsHex(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Key(long generation, String query) {
+    }
+
+    /**
+     * A serialized listing and the entity tag derived from its bytes.
+     */
+    public record CachedResponse(byte[] body, String eTag) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.fitnesstracker.config;
+
+import com.example.fitnesstracker.model.User;
+import com.example.fitnesstracker.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes sure the configured administrator exists in the users table, since logins are now
+ * resolved exclusively from the database.
+ */
+@Slf4j
+@Component
+public class AdminAccountInitializer implements ApplicationRunner {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final String username;
+    private final String password;
+    private final String email;
+
+    @Autowired
+    public AdminAccountInitializer(UserRepository userRepository,
+                                   PasswordEncoder passwordEncoder,
+                                   @Value("${app.security.admin.username}") String username,
+                                   @Value("${app.security.admin.password}") String password,
+                                   @Value("${app.security.admin.email}") String email) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.username = username;
+        this.password = password;
+        this.email = email;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (userRepository.existsByUsername(username)) {
+            return;
+        }
+
+        User admin = new User();
+        admin.setUsername(username);
+        admin.setPassword(passwordEncoder.encode(password));
+        admin.setEmail(email);
+        admin.setFullName("Administrator");
+        admin.setRole(User.Role.ADMIN);
+        userRepository.save(admin);
+        log.info("Created administrator account '{}'", username);
+    }
+}
@@ -1,21 +1,42 @@
 package com.example.fitnesstracker.config;
 
+import com.example.fitnesstracker.idempotency.IdempotencyFilter;
+import com.example.fitnesstracker.idempotency.IdempotencyStore;
+import com.example.fitnesstracker.ratelimit.RateLimitFilter;
+import com.example.fitnesstracker.ratelimit.RateLimiter;
+import com.example.fitnesstracker.repository.UserRepository;
+import com.example.fitnesstracker.security.BearerTokenAuthenticationFilter;
+import com.example.fitnesstracker.security.CachingDaoAuthenticationProvider;
+import com.example.fitnesstracker.security.DatabaseUserDetailsService;
+import com.example.fitnesstracker.security.TokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
 
 
 @Configuration
@@ -28,17 +49,31 @@ public class SecurityConfig {
     }
 
     /**
-     * In-memory user details for testing/admin access
+     * Database-backed user details; the administrator is seeded by AdminAccountInitializer
+     */
+    @Bean
+    public UserDetailsService userDetailsService(UserRepository userRepository) {
+        return new DatabaseUserDetailsService(userRepository);
+    }
+
+    /**
+     * Password authentication with a short-lived cache of successful BCrypt verifications
+     */
+    @Bean
+    public CachingDaoAuthenticationProvider authenticationProvider(
+            UserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder,
+            @Value("${app.security.credential-cache.max-entries}") long maxEntries,
+            @Value("${app.security.credential-cache.ttl}") Duration ttl) {
+        return new CachingDaoAuthenticationProvider(userDetailsService, passwordEncoder, maxEntries, ttl);
+    }
+
+    /**
+     * Authentication manager used to verify passwords when issuing bearer tokens
      */
     @Bean
-    public UserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
-        UserDetails admin = User.builder()
-                .username("admin")
-                .password(passwordEncoder.encode("admin123"))
-                .roles(com.example.fitnesstracker.model.User.Role.ADMIN.toString())
-                .build();
-
-        return new InMemoryUserDetailsManager(admin);
+    public AuthenticationManager authenticationManager(CachingDaoAuthenticationProvider authenticationProvider) {
+        return new ProviderManager(authenticationProvider);
     }
 
     /**
@@ -57,11 +92,44 @@ public class SecurityConfig {
     }
 
     /**
-     * Main app security configuration
+     * Security configuration for actuator endpoints (health and Prometheus scrapes open, the rest admin only)
      */
     @Bean
     @Order(2)
-    public SecurityFilterChain appSecurityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http, TokenService tokenService) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
+                        .anyRequest().hasRole("ADMIN")
+                )
+                .csrf(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .addFilterBefore(new BearerTokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
+                .httpBasic(Customizer.withDefaults());
+
+        return http.build();
+    }
+
+    /**
+     * Main app security configuration; writes are rate limited per caller, and creating activity logs and
+     * workout plans honours {@code Idempotency-Key}
+     */
+    @Bean
+    @Order(3)
+    public SecurityFilterChain appSecurityFilterChain(
+            HttpSecurity http,
+            TokenService tokenService,
+            RateLimiter rateLimiter,
+            IdempotencyStore idempotencyStore,
+            @Value("${app.idempotency.wait-timeout}") Duration idempotencyWaitTimeout) throws Exception {
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(rateLimiter,
+                writesTo("/api/activity-logs/**", "/api/workout-plans/**", "/api/users/**"));
+        IdempotencyFilter idempotencyFilter = new IdempotencyFilter(idempotencyStore, new OrRequestMatcher(
+                AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/activity-logs"),
+                AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/workout-plans")
+        ), idempotencyWaitTimeout);
+
         http
                 .csrf(csrf -> csrf
                         .ignoringRequestMatchers(
@@ -73,6 +141,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(
                                 "/api/users",
+                                "/api/auth/token",
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
@@ -81,8 +150,19 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .formLogin(AbstractHttpConfigurer::disable)
+                .addFilterBefore(new BearerTokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, AuthorizationFilter.class)
+                .addFilterAfter(idempotencyFilter, RateLimitFilter.class)
                 .httpBasic(Customizer.withDefaults());
 
         return http.build();
     }
+
+    private static RequestMatcher writesTo(String... patterns) {
+        List<RequestMatcher> matchers = Stream.of(patterns)
+                .flatMap(pattern -> Stream.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.DELETE)
+                        .map(method -> (RequestMatcher) AntPathRequestMatcher.antMatcher(method, pattern)))
+                .toList();
+        return new OrRequestMatcher(matchers);
+    }
 }
@@ -0,0 +1,39 @@
+package com.example.fitnesstracker.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs which threading model serves requests and async work. Virtual threads are opt-in through
+ * {@code spring.threads.virtual.enabled} and only take effect on Java 21+, so asking for them on
+ * an older runtime is reported instead of silently falling back to the platform pool.
+ */
+@Slf4j
+@Component
+public class ThreadingModeReporter implements ApplicationRunner {
+
+    private final Environment environment;
+
+    @Autowired
+    public ThreadingModeReporter(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Serving requests and async tasks on virtual threads");
+        } else if (requested) {
+            log.warn("Virtual threads were requested but Java {} does not support them; using platform threads",
+                    Runtime.version().feature());
+        } else {
+            log.info("Serving requests and async tasks on the platform thread pool");
+        }
+    }
+}
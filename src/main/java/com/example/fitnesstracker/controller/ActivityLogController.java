@@ -2,36 +2,57 @@ package com.example.fitnesstracker.controller;
 
 import com.example.fitnesstracker.mapper.ActivityLogMapper;
 import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.request.ActivityLogBatchRequest;
+import com.example.fitnesstracker.request.ActivityLogExportFilter;
 import com.example.fitnesstracker.request.ActivityLogRequest;
+import com.example.fitnesstracker.response.ActivityLogBatchResponse;
+import com.example.fitnesstracker.response.ActivityLogIngestResponse;
 import com.example.fitnesstracker.response.ActivityLogResponse;
+import com.example.fitnesstracker.response.CursorPageResponse;
 import com.example.fitnesstracker.security.UserSecurity;
 import com.example.fitnesstracker.service.ActivityLogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/activity-logs")
 public class ActivityLogController {
 
+    private static final String DEFAULT_PAGE_SIZE = "50";
+    private static final String RESPOND_ASYNC = "respond-async";
+
     private final ActivityLogService activityLogService;
     private final ActivityLogMapper activityLogMapper;
     private final UserSecurity userSecurity;
+    private final ObjectMapper objectMapper;
 
     @Autowired
     public ActivityLogController(ActivityLogService activityLogService,
                                  ActivityLogMapper activityLogMapper,
-                                 UserSecurity userSecurity) {
+                                 UserSecurity userSecurity,
+                                 ObjectMapper objectMapper) {
         this.activityLogService = activityLogService;
         this.activityLogMapper = activityLogMapper;
         this.userSecurity = userSecurity;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -42,35 +63,121 @@ public class ActivityLogController {
                 .body(activityLogMapper.toResponse(created));
     }
 
+    /**
+     * Asynchronous variant of {@link #createActivityLog}, selected with {@code Prefer: respond-async}:
+     * the log is queued and written in the background, and the response points at its status.
+     */
+    @PostMapping(headers = "Prefer=" + RESPOND_ASYNC)
+    public ResponseEntity<ActivityLogIngestResponse> submitActivityLog(@Valid @RequestBody ActivityLogRequest request) {
+        authorizeUser(request.userId(), "create activity log");
+        ActivityLogIngestResponse pending = activityLogService.submitActivityLog(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/activity-logs/ingest/" + pending.trackingId()))
+                .header("Preference-Applied", RESPOND_ASYNC)
+                .body(pending);
+    }
+
+    @GetMapping("/ingest/{trackingId}")
+    public ResponseEntity<ActivityLogIngestResponse> getIngestStatus(@PathVariable String trackingId) {
+        ActivityLogIngestResponse status = activityLogService.getIngestStatusDto(trackingId);
+        authorizeUser(status.userId(), "view activity log submission");
+        return ResponseEntity.ok(status);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ActivityLogBatchResponse> createActivityLogsBatch(
+            @Valid @RequestBody ActivityLogBatchRequest request) {
+        request.items().stream()
+                .map(ActivityLogRequest::userId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(userId -> authorizeUser(userId, "create activity logs"));
+        return ResponseEntity.ok(activityLogService.createActivityLogsBatch(request.items()));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ActivityLogResponse> updateActivityLog(
             @PathVariable Long id,
-            @Valid @RequestBody ActivityLogRequest request) {
+            @Valid @RequestBody ActivityLogRequest request,
+            WebRequest webRequest) {
         authorizeUser(request.userId(), "update activity log");
-        ActivityLog updated = activityLogService.updateActivityLogDto(id, request);
-        return ResponseEntity.ok(activityLogMapper.toResponse(updated));
+        Long expectedVersion = EntityTags.requireIfMatch(webRequest, () -> activityLogService.getActivityLogEntityTag(id));
+        ActivityLog updated = activityLogService.updateActivityLogDto(id, request, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(activityLogService.getActivityLogEntityTag(id))
+                .body(activityLogMapper.toResponse(updated));
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/{id}")
-    public ResponseEntity<ActivityLogResponse> getActivityLogById(@PathVariable Long id) {
-        ActivityLog logEntity = activityLogService.getActivityLogById(id);
-        return ResponseEntity.ok(activityLogMapper.toResponse(logEntity));
+    public ResponseEntity<ActivityLogResponse> getActivityLogById(@PathVariable Long id, WebRequest request) {
+        return EntityTags.conditionalGet(request, id, activityLogService::getActivityLogEntityTag,
+                activityLogService::getActivityLogByIdDto);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<List<ActivityLogResponse>> getAllActivityLogs() {
-        List<ActivityLog> logs = activityLogService.getAllActivityLogs();
-        return ResponseEntity.ok(logs.stream()
-                .map(activityLogMapper::toResponse)
-                .toList());
+    public ResponseEntity<CursorPageResponse<ActivityLogResponse>> getAllActivityLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(activityLogService.getActivityLogPageDto(cursor, size));
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<CursorPageResponse<ActivityLogResponse>> getActivityLogsByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        authorizeUser(userId, "view activity logs");
+        return ResponseEntity.ok(activityLogService.getActivityLogPageByUserIdDto(userId, cursor, size));
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or @workoutPlanSecurity.isOwner(#workoutPlanId)")
+    @GetMapping("/workout-plan/{workoutPlanId}")
+    public ResponseEntity<CursorPageResponse<ActivityLogResponse>> getActivityLogsByWorkoutPlanId(
+            @PathVariable Long workoutPlanId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(activityLogService.getActivityLogPageByWorkoutPlanIdDto(workoutPlanId, cursor, size));
+    }
+
+    /**
+     * Streams matching logs as newline-delimited JSON. Non-admins may only export their own logs.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportActivityLogs(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long workoutPlanId,
+            @RequestParam(required = false) ActivityLog.ActivityType activityType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (userId == null && !hasAdminRole()) {
+            throw new AccessDeniedException("Access denied: You are not allowed to export activity logs for all users");
+        }
+        if (userId != null) {
+            authorizeUser(userId, "export activity logs");
+        }
+
+        ActivityLogExportFilter filter = new ActivityLogExportFilter(userId, workoutPlanId, activityType, from, to);
+        ObjectWriter writer = objectMapper.writerFor(ActivityLogResponse.class);
+        StreamingResponseBody body = out -> activityLogService.exportActivityLogs(filter, response -> {
+            try {
+                out.write(writer.writeValueAsBytes(response));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteActivityLog(@PathVariable Long id) {
-        activityLogService.deleteActivityLog(id);
+    public ResponseEntity<Void> deleteActivityLog(@PathVariable Long id, WebRequest request) {
+        activityLogService.deleteActivityLog(id,
+                EntityTags.requireIfMatch(request, () -> activityLogService.getActivityLogEntityTag(id)));
         return ResponseEntity.noContent().build();
     }
 
@@ -0,0 +1,34 @@
+package com.example.fitnesstracker.controller;
+
+import com.example.fitnesstracker.request.TokenRequest;
+import com.example.fitnesstracker.response.TokenResponse;
+import com.example.fitnesstracker.security.BearerTokenAuthenticationFilter;
+import com.example.fitnesstracker.service.AuthService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/auth")
+public class AuthController {
+
+    private final AuthService authService;
+
+    @Autowired
+    public AuthController(AuthService authService) {
+        this.authService = authService;
+    }
+
+    @PostMapping("/token")
+    public ResponseEntity<TokenResponse> issueToken(@Valid @RequestBody TokenRequest request) {
+        return ResponseEntity.ok(authService.issueToken(request));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        authService.revokeToken(BearerTokenAuthenticationFilter.extractToken(authorization));
+        return ResponseEntity.noContent().build();
+    }
+}
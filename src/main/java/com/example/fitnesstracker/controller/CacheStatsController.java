@@ -0,0 +1,30 @@
+package com.example.fitnesstracker.controller;
+
+import com.example.fitnesstracker.response.CacheRegionStatsResponse;
+import com.example.fitnesstracker.service.CacheStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+public class CacheStatsController {
+
+    private final CacheStatsService cacheStatsService;
+
+    @Autowired
+    public CacheStatsController(CacheStatsService cacheStatsService) {
+        this.cacheStatsService = cacheStatsService;
+    }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CacheRegionStatsResponse>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatsService.getSecondLevelCacheStats());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.fitnesstracker.controller;
+
+import com.example.fitnesstracker.exception.PreconditionFailedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Conditional request handling shared by the single-resource endpoints. Entity tags are the
+ * dot-separated versions of the resource and everything its response embeds, with the resource's
+ * own version first (see the repositories' {@code findEntityTagById}).
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * Answers a GET with 304 when If-None-Match still matches, without building the response body.
+     */
+    static <T> ResponseEntity<T> conditionalGet(WebRequest request, Long id, Function<Long, String> currentTag,
+                                                Function<Long, T> body) {
+        String tag = currentTag.apply(id);
+        if (request.checkNotModified(tag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+        }
+        return ResponseEntity.ok().eTag(tag).body(body.apply(id));
+    }
+
+    /**
+     * Evaluates If-Match against the current tag.
+     *
+     * @return the resource version the write must still see, or {@code null} when the request is unconditional
+     * @throws PreconditionFailedException when none of the supplied tags is current
+     */
+    static Long requireIfMatch(WebRequest request, Supplier<String> currentTag) {
+        String[] headers = request.getHeaderValues(HttpHeaders.IF_MATCH);
+        if (headers == null || headers.length == 0) {
+            return null;
+        }
+        String current = '"' + currentTag.get() + '"';
+        for (String header : headers) {
+            for (String candidate : header.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*")) {
+                    return null;
+                }
+                // If-Match uses strong comparison, so weak tags never match.
+                if (tag.equals(current)) {
+                    return leadingVersion(current);
+                }
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current entity tag");
+    }
+
+    private static Long leadingVersion(String quotedTag) {
+        String tag = quotedTag.substring(1, quotedTag.length() - 1);
+        int dot = tag.indexOf('.');
+        return Long.valueOf(dot < 0 ? tag : tag.substring(0, dot));
+    }
+}
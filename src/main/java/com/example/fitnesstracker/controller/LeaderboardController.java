@@ -0,0 +1,36 @@
+package com.example.fitnesstracker.controller;
+
+import com.example.fitnesstracker.leaderboard.LeaderboardMetric;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.response.LeaderboardEntryResponse;
+import com.example.fitnesstracker.service.LeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+public class LeaderboardController {
+
+    private static final String DEFAULT_WINDOW = "7d";
+    private static final String DEFAULT_METRIC = "CALORIES";
+    private static final String DEFAULT_LIMIT = "100";
+
+    private final LeaderboardService leaderboardService;
+
+    @Autowired
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<LeaderboardEntryResponse>> getLeaderboard(
+            @RequestParam(defaultValue = DEFAULT_WINDOW) String window,
+            @RequestParam(required = false) ActivityLog.ActivityType type,
+            @RequestParam(defaultValue = DEFAULT_METRIC) LeaderboardMetric metric,
+            @RequestParam(defaultValue = DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(leaderboardService.getLeaderboardDto(window, type, metric, limit));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.fitnesstracker.controller;
 
+import com.example.fitnesstracker.model.User;
 import com.example.fitnesstracker.request.UserRequest;
 import com.example.fitnesstracker.response.UserResponse;
 import com.example.fitnesstracker.service.UserService;
@@ -7,8 +8,12 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -31,12 +36,13 @@ public class UserController {
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @userSecurity.isCurrentUser(#id)")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
-        return new ResponseEntity<>(userService.getUserByIdDto(id), HttpStatus.OK);
+    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id, WebRequest request) {
+        return EntityTags.conditionalGet(request, id, userService::getUserEntityTag, userService::getUserByIdDto);
     }
 
     @PostMapping
     public ResponseEntity<UserResponse> createUser(@Valid @RequestBody UserRequest userRequest) {
+        authorizeRole(userRequest);
         return new ResponseEntity<>(userService.createUserDto(userRequest), HttpStatus.CREATED);
     }
 
@@ -44,14 +50,35 @@ public class UserController {
     @PreAuthorize("hasRole('ADMIN') or @userSecurity.isCurrentUser(#id)")
     public ResponseEntity<UserResponse> updateUser(
             @PathVariable Long id,
-            @Valid @RequestBody UserRequest userRequest) {
-        return new ResponseEntity<>(userService.updateUserDto(id, userRequest), HttpStatus.OK);
+            @Valid @RequestBody UserRequest userRequest,
+            WebRequest request) {
+        authorizeRole(userRequest);
+        Long expectedVersion = EntityTags.requireIfMatch(request, () -> userService.getUserEntityTag(id));
+        UserResponse updated = userService.updateUserDto(id, userRequest, expectedVersion);
+        return ResponseEntity.ok().eTag(userService.getUserEntityTag(id)).body(updated);
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @userSecurity.isCurrentUser(#id)")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        userService.deleteUser(id);
+    public ResponseEntity<Void> deleteUser(@PathVariable Long id, WebRequest request) {
+        userService.deleteUser(id, EntityTags.requireIfMatch(request, () -> userService.getUserEntityTag(id)));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    /**
+     * Registration is open and users may edit their own account, so only admins may ask for any
+     * role above {@link User.Role#USER}. Accounts created without a role default to USER.
+     */
+    private void authorizeRole(UserRequest userRequest) {
+        if (userRequest.role() != null && userRequest.role() != User.Role.USER && !hasAdminRole()) {
+            throw new AccessDeniedException("Access denied: Only administrators may assign the "
+                    + userRequest.role() + " role");
+        }
+    }
+
+    private boolean hasAdminRole() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    }
 }
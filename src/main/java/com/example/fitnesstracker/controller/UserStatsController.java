@@ -0,0 +1,79 @@
+package com.example.fitnesstracker.controller;
+
+import com.example.fitnesstracker.response.ActivityStatsResponse;
+import com.example.fitnesstracker.response.ActivityTrendPointResponse;
+import com.example.fitnesstracker.response.ActivityTypeBreakdownResponse;
+import com.example.fitnesstracker.response.DailyActivityStatsResponse;
+import com.example.fitnesstracker.response.StreakResponse;
+import com.example.fitnesstracker.service.ActivityAnalyticsService;
+import com.example.fitnesstracker.service.DailyActivityRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users/{userId}")
+public class UserStatsController {
+
+    private static final String DEFAULT_TREND_WINDOW = "7";
+    private static final String DEFAULT_STATS_PERIOD = "WEEK";
+
+    private final DailyActivityRollupService dailyActivityRollupService;
+    private final ActivityAnalyticsService activityAnalyticsService;
+
+    @Autowired
+    public UserStatsController(DailyActivityRollupService dailyActivityRollupService,
+                               ActivityAnalyticsService activityAnalyticsService) {
+        this.dailyActivityRollupService = dailyActivityRollupService;
+        this.activityAnalyticsService = activityAnalyticsService;
+    }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN') or @userSecurity.isCurrentUser(#userId)")
+    public ResponseEntity<ActivityStatsResponse> getStats(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = DEFAULT_STATS_PERIOD) ActivityStatsResponse.Period period) {
+        return ResponseEntity.ok(activityAnalyticsService.getStatsDto(userId, from, to, period));
+    }
+
+    @GetMapping("/stats/daily")
+    @PreAuthorize("hasRole('ADMIN') or @userSecurity.isCurrentUser(#userId)")
+    public ResponseEntity<List<DailyActivityStatsResponse>> getDailyStats(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(dailyActivityRollupService.getDailyStatsDto(userId, from, to));
+    }
+
+    @GetMapping("/stats/trend")
+    @PreAuthorize("hasRole('ADMIN') or @userSecurity.isCurrentUser(#userId)")
+    public ResponseEntity<List<ActivityTrendPointResponse>> getTrend(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = DEFAULT_TREND_WINDOW) int window) {
+        return ResponseEntity.ok(activityAnalyticsService.getTrendDto(userId, from, to, window));
+    }
+
+    @GetMapping("/stats/breakdown")
+    @PreAuthorize("hasRole('ADMIN') or @userSecurity.isCurrentUser(#userId)")
+    public ResponseEntity<List<ActivityTypeBreakdownResponse>> getBreakdown(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(activityAnalyticsService.getBreakdownDto(userId, from, to));
+    }
+
+    @GetMapping("/streaks")
+    @PreAuthorize("hasRole('ADMIN') or @userSecurity.isCurrentUser(#userId)")
+    public ResponseEntity<StreakResponse> getStreaks(@PathVariable Long userId) {
+        return ResponseEntity.ok(activityAnalyticsService.getStreaksDto(userId));
+    }
+}
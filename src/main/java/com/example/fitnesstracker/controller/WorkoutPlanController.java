@@ -1,5 +1,6 @@
 package com.example.fitnesstracker.controller;
 
+import com.example.fitnesstracker.cache.WorkoutPlanCatalogCache;
 import com.example.fitnesstracker.model.WorkoutPlan.DifficultyLevel;
 import com.example.fitnesstracker.request.WorkoutPlanRequest;
 import com.example.fitnesstracker.response.WorkoutPlanResponse;
@@ -7,9 +8,11 @@ import com.example.fitnesstracker.service.WorkoutPlanService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,22 +20,27 @@ import java.util.List;
 @RequestMapping("/api/workout-plans")
 public class WorkoutPlanController {
 
+    private static final String DEFAULT_SEARCH_LIMIT = "50";
+
     private final WorkoutPlanService workoutPlanService;
+    private final WorkoutPlanCatalogCache catalogCache;
 
     @Autowired
-    public WorkoutPlanController(WorkoutPlanService workoutPlanService) {
+    public WorkoutPlanController(WorkoutPlanService workoutPlanService, WorkoutPlanCatalogCache catalogCache) {
         this.workoutPlanService = workoutPlanService;
+        this.catalogCache = catalogCache;
     }
 
-    @GetMapping
-    public ResponseEntity<List<WorkoutPlanResponse>> getAllWorkoutPlans() {
-        return ResponseEntity.ok(workoutPlanService.getAllWorkoutPlansDto());
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getAllWorkoutPlans() {
+        return catalogResponse(catalogCache.getAll(workoutPlanService::getAllWorkoutPlansDto));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @workoutPlanSecurity.isOwner(#id)")
-    public ResponseEntity<WorkoutPlanResponse> getWorkoutPlanById(@PathVariable Long id) {
-        return ResponseEntity.ok(workoutPlanService.getWorkoutPlanByIdDto(id));
+    public ResponseEntity<WorkoutPlanResponse> getWorkoutPlanById(@PathVariable Long id, WebRequest request) {
+        return EntityTags.conditionalGet(request, id, workoutPlanService::getWorkoutPlanEntityTag,
+                workoutPlanService::getWorkoutPlanByIdDto);
     }
 
     @GetMapping("/user/{userId}")
@@ -49,10 +57,12 @@ public class WorkoutPlanController {
         return ResponseEntity.ok(workoutPlanService.getWorkoutPlansByUserIdAndDifficultyLevelDto(userId, difficultyLevel));
     }
 
-    @GetMapping("/search")
-    public ResponseEntity<List<WorkoutPlanResponse>> searchWorkoutPlans(@RequestParam String name) {
-        List<WorkoutPlanResponse> results = workoutPlanService.searchWorkoutPlansByNameDto(name);
-        return ResponseEntity.ok(results);
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> searchWorkoutPlans(
+            @RequestParam String name,
+            @RequestParam(defaultValue = DEFAULT_SEARCH_LIMIT) int limit) {
+        return catalogResponse(catalogCache.search(name, limit,
+                () -> workoutPlanService.searchWorkoutPlansByNameDto(name, limit)));
     }
 
     @PostMapping
@@ -66,14 +76,27 @@ public class WorkoutPlanController {
     @PreAuthorize("hasRole('ADMIN') or @workoutPlanSecurity.isOwner(#id)")
     public ResponseEntity<WorkoutPlanResponse> updateWorkoutPlan(
             @PathVariable Long id,
-            @Valid @RequestBody WorkoutPlanRequest workoutPlanRequest) {
-        return ResponseEntity.ok(workoutPlanService.updateWorkoutPlanDto(id, workoutPlanRequest));
+            @Valid @RequestBody WorkoutPlanRequest workoutPlanRequest,
+            WebRequest request) {
+        Long expectedVersion = EntityTags.requireIfMatch(request, () -> workoutPlanService.getWorkoutPlanEntityTag(id));
+        WorkoutPlanResponse updated = workoutPlanService.updateWorkoutPlanDto(id, workoutPlanRequest, expectedVersion);
+        return ResponseEntity.ok().eTag(workoutPlanService.getWorkoutPlanEntityTag(id)).body(updated);
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @workoutPlanSecurity.isOwner(#id)")
-    public ResponseEntity<Void> deleteWorkoutPlan(@PathVariable Long id) {
-        workoutPlanService.deleteWorkoutPlan(id);
+    public ResponseEntity<Void> deleteWorkoutPlan(@PathVariable Long id, WebRequest request) {
+        workoutPlanService.deleteWorkoutPlan(id,
+                EntityTags.requireIfMatch(request, () -> workoutPlanService.getWorkoutPlanEntityTag(id)));
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // MVC answers a matching If-None-Match with 304 itself once the ETag is set.
+    private ResponseEntity<byte[]> catalogResponse(WorkoutPlanCatalogCache.CachedResponse cached) {
+        return ResponseEntity.ok()
+                .cacheControl(catalogCache.cacheControl())
+                .eTag(cached.eTag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cached.body());
+    }
+}
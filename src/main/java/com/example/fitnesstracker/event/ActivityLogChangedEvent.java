@@ -0,0 +1,24 @@
+package com.example.fitnesstracker.event;
+
+import com.example.fitnesstracker.model.ActivityLog;
+
+/**
+ * Published inside the writing transaction whenever an activity log is created, updated or deleted.
+ *
+ * @param before the log as it was before the change, {@code null} on creation
+ * @param after  the log as it is after the change, {@code null} on deletion
+ */
+public record ActivityLogChangedEvent(ActivityLogSnapshot before, ActivityLogSnapshot after) {
+
+    public static ActivityLogChangedEvent created(ActivityLog activityLog) {
+        return new ActivityLogChangedEvent(null, ActivityLogSnapshot.of(activityLog));
+    }
+
+    public static ActivityLogChangedEvent updated(ActivityLogSnapshot before, ActivityLog activityLog) {
+        return new ActivityLogChangedEvent(before, ActivityLogSnapshot.of(activityLog));
+    }
+
+    public static ActivityLogChangedEvent deleted(ActivityLog activityLog) {
+        return new ActivityLogChangedEvent(ActivityLogSnapshot.of(activityLog), null);
+    }
+}
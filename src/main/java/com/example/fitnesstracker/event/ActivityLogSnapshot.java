@@ -0,0 +1,30 @@
+package com.example.fitnesstracker.event;
+
+import com.example.fitnesstracker.model.ActivityLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the fields of an {@link ActivityLog} that derived aggregates depend on,
+ * taken before the entity is mutated or removed.
+ */
+public record ActivityLogSnapshot(
+        Long id,
+        Long userId,
+        LocalDateTime dateTime,
+        ActivityLog.ActivityType activityType,
+        int durationMinutes,
+        int caloriesBurned
+) {
+
+    public static ActivityLogSnapshot of(ActivityLog activityLog) {
+        return new ActivityLogSnapshot(
+                activityLog.getId(),
+                activityLog.getUser() != null ? activityLog.getUser().getId() : null,
+                activityLog.getDateTime(),
+                activityLog.getActivityType(),
+                activityLog.getDurationMinutes() != null ? activityLog.getDurationMinutes() : 0,
+                activityLog.getCaloriesBurned() != null ? activityLog.getCaloriesBurned() : 0
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.fitnesstracker.event;
+
+/**
+ * Published inside the updating transaction whenever a user's account details are saved.
+ */
+public record UserAccountChangedEvent(Long userId, String previousUsername, String username, boolean passwordChanged) {
+
+    public boolean usernameChanged() {
+        return !previousUsername.equals(username);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.fitnesstracker.event;
+
+/**
+ * Published inside the deleting transaction, before the user and everything it owns are removed.
+ */
+public record UserDeletedEvent(Long userId, String username) {
+}
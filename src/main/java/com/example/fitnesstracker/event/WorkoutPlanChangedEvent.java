@@ -0,0 +1,23 @@
+package com.example.fitnesstracker.event;
+
+import com.example.fitnesstracker.model.WorkoutPlan;
+
+/**
+ * Published inside the writing transaction whenever a workout plan is created, updated or deleted.
+ *
+ * @param name the plan's name after the change, {@code null} on deletion
+ */
+public record WorkoutPlanChangedEvent(Long workoutPlanId, String name) {
+
+    public static WorkoutPlanChangedEvent saved(WorkoutPlan workoutPlan) {
+        return new WorkoutPlanChangedEvent(workoutPlan.getId(), workoutPlan.getName());
+    }
+
+    public static WorkoutPlanChangedEvent deleted(Long workoutPlanId) {
+        return new WorkoutPlanChangedEvent(workoutPlanId, null);
+    }
+
+    public boolean isDeletion() {
+        return name == null;
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.fitnesstracker.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes the matched requests idempotent when they carry an {@code Idempotency-Key} header. The
+ * first successful (2xx) response for a caller's key is recorded in the {@link IdempotencyStore}
+ * and replayed, with {@code Idempotent-Replayed: true}, to every retry with the same key and body.
+ * Reusing a key for a different body is rejected with 422; a retry that arrives while the first
+ * request is still running waits for its response, and gets 409 if that takes too long. Requests
+ * without the header pass through untouched.
+ * <p>
+ * Added after authorization, so keys are scoped to the authenticated caller. Deliberately not a
+ * bean, like the bearer token filter.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final RequestMatcher requestMatcher;
+    private final Duration waitTimeout;
+
+    public IdempotencyFilter(IdempotencyStore store, RequestMatcher requestMatcher, Duration waitTimeout) {
+        this.store = store;
+        this.requestMatcher = requestMatcher;
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(IDEMPOTENCY_KEY) == null || !requestMatcher.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+                    IDEMPOTENCY_KEY + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String caller = authentication != null ? authentication.getName() : "";
+        String key = sha256(String.join("\n", caller, request.getMethod(), request.getRequestURI(), idempotencyKey)
+                .getBytes(StandardCharsets.UTF_8));
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String requestHash = sha256(cachedRequest.body);
+
+        Optional<IdempotencyStore.StoredResponse> recorded;
+        try {
+            recorded = store.claim(key, waitTimeout);
+        } catch (TimeoutException e) {
+            response.sendError(HttpServletResponse.SC_CONFLICT,
+                    "A request with this " + IDEMPOTENCY_KEY + " is still being processed");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        if (recorded.isPresent()) {
+            replay(recorded.get(), requestHash, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        IdempotencyStore.StoredResponse outcome = null;
+        try {
+            filterChain.doFilter(cachedRequest, cachingResponse);
+            if (cachingResponse.getStatus() / 100 == 2) {
+                outcome = new IdempotencyStore.StoredResponse(requestHash, cachingResponse.getStatus(),
+                        cachingResponse.getContentType(), cachingResponse.getHeader(HttpHeaders.LOCATION),
+                        cachingResponse.getContentAsByteArray());
+            }
+        } finally {
+            store.complete(key, outcome);
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(IdempotencyStore.StoredResponse recorded, String requestHash,
+                               HttpServletResponse response) throws IOException {
+        if (!recorded.requestHash().equals(requestHash)) {
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    IDEMPOTENCY_KEY + " was already used for a different request");
+            return;
+        }
+        response.setStatus(recorded.status());
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        if (recorded.contentType() != null) {
+            response.setContentType(recorded.contentType());
+        }
+        if (recorded.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, recorded.location());
+        }
+        response.setContentLength(recorded.body().length);
+        response.getOutputStream().write(recorded.body());
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Reads the body up front, so it can be hashed before the request runs and still be read by the
+     * handler.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                private boolean listening;
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The whole body is already in memory, so the listener is told straight away that
+                 * data is available and, once it has drained the stream, that all of it was read.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    Objects.requireNonNull(readListener, "readListener");
+                    if (listening || !isAsyncStarted()) {
+                        throw new IllegalStateException("A read listener needs async mode and can only be set once");
+                    }
+                    listening = true;
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+    }
+}
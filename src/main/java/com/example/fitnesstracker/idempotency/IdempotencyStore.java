@@ -0,0 +1,163 @@
+package com.example.fitnesstracker.idempotency;
+
+import com.example.fitnesstracker.model.IdempotencyRecord;
+import com.example.fitnesstracker.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Responses recorded for idempotency keys: a bounded, TTL-evicted in-memory cache in front of the
+ * {@code idempotency_records} table. A key being processed is claimed by exactly one request;
+ * concurrent requests with the same key wait for that request's response instead of running again.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    /**
+     * A response recorded for a key, with the hash of the request it answered.
+     */
+    public record StoredResponse(String requestHash, int status, String contentType, String location, byte[] body) {
+    }
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Cache<String, StoredResponse> responses;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter replays;
+
+    @Autowired
+    public IdempotencyStore(IdempotencyRecordRepository repository,
+                            @Value("${app.idempotency.max-entries}") long maxEntries,
+                            @Value("${app.idempotency.ttl}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this(repository, maxEntries, ttl, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    IdempotencyStore(IdempotencyRecordRepository repository, long maxEntries, Duration ttl,
+                     MeterRegistry meterRegistry, Clock clock) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+        this.replays = Counter.builder("idempotency.replays")
+                .description("Requests answered with the response recorded for their idempotency key")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claims {@code key} for the calling request, or waits up to {@code timeout} for the request
+     * that holds it. A caller that gets an empty result owns the key and must call
+     * {@link #complete} once it has a response, whatever the outcome.
+     *
+     * @return the response recorded for the key, or empty when the caller now owns it
+     * @throws TimeoutException when another request still holds the key after {@code timeout}
+     */
+    public Optional<StoredResponse> claim(String key, Duration timeout) throws TimeoutException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            StoredResponse recorded = find(key);
+            if (recorded != null) {
+                replays.increment();
+                return Optional.of(recorded);
+            }
+            CompletableFuture<StoredResponse> claim = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, claim);
+            if (running == null) {
+                // The previous owner may have finished between the lookup and the claim; it records
+                // its response in memory before releasing the key.
+                recorded = responses.getIfPresent(key);
+                if (recorded == null) {
+                    return Optional.empty();
+                }
+                inFlight.remove(key, claim);
+                claim.complete(recorded);
+                replays.increment();
+                return Optional.of(recorded);
+            }
+            try {
+                recorded = running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                recorded = null;
+            }
+            if (recorded != null) {
+                replays.increment();
+                return Optional.of(recorded);
+            }
+            // The owner finished without recording a response; the key is free to claim again.
+        }
+    }
+
+    /**
+     * Releases a key claimed with {@link #claim}, recording {@code response} for it unless it is
+     * {@code null}. Requests waiting on the key get the response, or try to claim the key themselves
+     * when nothing was recorded.
+     */
+    public void complete(String key, StoredResponse response) {
+        try {
+            if (response != null) {
+                responses.put(key, response);
+                try {
+                    repository.save(new IdempotencyRecord(key, response.requestHash(), response.status(),
+                            response.contentType(), response.location(), response.body(),
+                            LocalDateTime.now(clock).plus(ttl)));
+                } catch (RuntimeException e) {
+                    // Still answered from memory; only a restart or eviction loses it.
+                    log.warn("Failed to persist the response for idempotency key {}", key, e);
+                }
+            }
+        } finally {
+            CompletableFuture<StoredResponse> claim = inFlight.remove(key);
+            if (claim != null) {
+                claim.complete(response);
+            }
+        }
+    }
+
+    /**
+     * Deletes the persisted responses whose TTL has passed.
+     *
+     * @return the number of records deleted
+     */
+    public int purgeExpired() {
+        return repository.deleteExpired(LocalDateTime.now(clock));
+    }
+
+    private StoredResponse find(String key) {
+        StoredResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<IdempotencyRecord> persisted = repository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now(clock)));
+        if (persisted.isEmpty()) {
+            return null;
+        }
+        IdempotencyRecord record = persisted.get();
+        StoredResponse response = new StoredResponse(record.getRequestHash(), record.getStatus(),
+                record.getContentType(), record.getLocation(), record.getBody());
+        responses.put(key, response);
+        return response;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.fitnesstracker.idempotency;
+
+import com.example.fitnesstracker.lifecycle.PeriodicTask;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Calls {@link IdempotencyStore#purgeExpired()} once per purge interval, so recorded responses
+ * nobody retries do not pile up in the table.
+ */
+@Slf4j
+@Component
+public class IdempotencySweeper extends PeriodicTask {
+
+    @Autowired
+    public IdempotencySweeper(IdempotencyStore store,
+                              @Value("${app.idempotency.purge-interval}") Duration purgeInterval) {
+        super("idempotency-sweeper", purgeInterval, () -> {
+            int purged = store.purgeExpired();
+            log.debug("Purged {} expired idempotency records", purged);
+        });
+    }
+}
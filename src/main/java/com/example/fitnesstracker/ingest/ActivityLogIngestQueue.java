@@ -0,0 +1,131 @@
+package com.example.fitnesstracker.ingest;
+
+import com.example.fitnesstracker.request.ActivityLogRequest;
+import com.example.fitnesstracker.response.ActivityLogIngestResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory queue of activity logs accepted for asynchronous creation, drained by
+ * {@link ActivityLogIngestWriter}. Each submission gets a tracking id whose status stays readable
+ * for the status TTL after its last change.
+ */
+@Component
+public class ActivityLogIngestQueue {
+
+    /**
+     * A queued request, with the authentication of the caller that submitted it so the write is
+     * attributed to them.
+     */
+    record Submission(String trackingId, ActivityLogRequest request, Authentication authentication) {
+    }
+
+    private final BlockingQueue<Submission> queue;
+    private final Cache<String, ActivityLogIngestResponse> statuses;
+    private final Duration retryAfter;
+    private final Counter accepted;
+    private final Counter rejected;
+
+    @Autowired
+    public ActivityLogIngestQueue(@Value("${app.ingest.capacity}") int capacity,
+                                  @Value("${app.ingest.status-ttl}") Duration statusTtl,
+                                  @Value("${app.ingest.retry-after}") Duration retryAfter,
+                                  MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.retryAfter = retryAfter;
+        this.statuses = Caffeine.newBuilder().expireAfterWrite(statusTtl).build();
+        this.accepted = Counter.builder("ingest.submissions.accepted")
+                .description("Activity logs accepted for asynchronous creation")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("ingest.submissions.rejected")
+                .description("Activity logs rejected because the ingest queue was full")
+                .register(meterRegistry);
+        Gauge.builder("ingest.queue.size", queue, BlockingQueue::size)
+                .description("Activity logs waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("ingest.queue.capacity", () -> capacity)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a request on behalf of the current caller.
+     *
+     * @return the pending status, or empty when the queue is full
+     */
+    public Optional<ActivityLogIngestResponse> offer(ActivityLogRequest request) {
+        String trackingId = UUID.randomUUID().toString();
+        ActivityLogIngestResponse pending = new ActivityLogIngestResponse(
+                trackingId, request.userId(), ActivityLogIngestResponse.Status.PENDING, null, null);
+        // Publish the status first, so a writer that picks the submission up at once finds it.
+        statuses.put(trackingId, pending);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!queue.offer(new Submission(trackingId, request, authentication))) {
+            statuses.invalidate(trackingId);
+            rejected.increment();
+            return Optional.empty();
+        }
+        accepted.increment();
+        return Optional.of(pending);
+    }
+
+    /**
+     * @return how long callers turned away by a full queue should wait before retrying
+     */
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+
+    public Optional<ActivityLogIngestResponse> status(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    /**
+     * Waits up to {@code timeout} for a first submission, then takes whatever else is queued, up to
+     * {@code maxItems} in total.
+     *
+     * @return the number of submissions added to {@code batch}
+     */
+    int drainTo(List<Submission> batch, int maxItems, Duration timeout) {
+        Submission first;
+        try {
+            first = timeout.isZero() ? queue.poll() : queue.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        if (first == null) {
+            return 0;
+        }
+        batch.add(first);
+        return 1 + queue.drainTo(batch, maxItems - 1);
+    }
+
+    void complete(Submission submission, Long activityLogId, String error) {
+        statuses.put(submission.trackingId(), new ActivityLogIngestResponse(
+                submission.trackingId(),
+                submission.request().userId(),
+                error == null ? ActivityLogIngestResponse.Status.CREATED : ActivityLogIngestResponse.Status.FAILED,
+                activityLogId,
+                error));
+    }
+
+    int size() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.fitnesstracker.ingest;
+
+import com.example.fitnesstracker.response.ActivityLogBatchResponse;
+import com.example.fitnesstracker.service.ActivityLogService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pool of background threads that drain the {@link ActivityLogIngestQueue} and create the queued
+ * logs in batches, one transaction per batch, through
+ * {@link ActivityLogService#createActivityLogsBatch}. Items the batch rejects fail individually;
+ * if the transaction itself fails, every item of the batch fails. On shutdown the writers keep
+ * draining until the queue is empty.
+ */
+@Slf4j
+@Component
+public class ActivityLogIngestWriter implements SmartLifecycle {
+
+    private static final Duration IDLE_POLL = Duration.ofMillis(100);
+
+    private final ActivityLogIngestQueue queue;
+    private final ActivityLogService activityLogService;
+    private final TransactionTemplate transactionTemplate;
+    private final int writers;
+    private final int batchSize;
+
+    private volatile boolean running;
+    private final List<Thread> threads = new ArrayList<>();
+
+    @Autowired
+    public ActivityLogIngestWriter(ActivityLogIngestQueue queue,
+                                   ActivityLogService activityLogService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.ingest.writers}") int writers,
+                                   @Value("${app.ingest.batch-size}") int batchSize) {
+        this.queue = queue;
+        this.activityLogService = activityLogService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writers = writers;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < writers; i++) {
+            Thread thread = new Thread(this::run, "ingest-writer-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread thread : threads) {
+            try {
+                thread.join(Duration.ofSeconds(10).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.clear();
+        if (queue.size() > 0) {
+            log.warn("{} queued activity logs were not written before shutdown", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server, so nothing is queued once draining starts, and before the
+    // audit writer, so the audit entries of the last batches are still written.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 3072;
+    }
+
+    private void run() {
+        List<ActivityLogIngestQueue.Submission> batch = new ArrayList<>(batchSize);
+        while (running) {
+            write(batch, IDLE_POLL);
+        }
+        while (write(batch, Duration.ZERO) > 0) {
+            // drain what was queued before shutdown
+        }
+    }
+
+    /**
+     * Writes at most one batch.
+     *
+     * @return the number of submissions taken from the queue
+     */
+    int write(List<ActivityLogIngestQueue.Submission> batch, Duration timeout) {
+        batch.clear();
+        int drained = queue.drainTo(batch, batchSize, timeout);
+        if (drained == 0) {
+            return 0;
+        }
+
+        // Each submitter's items go in with their own security context, so audit entries name
+        // them; all groups share the batch's transaction.
+        Map<String, List<ActivityLogIngestQueue.Submission>> bySubmitter = new LinkedHashMap<>();
+        for (ActivityLogIngestQueue.Submission submission : batch) {
+            String submitter = submission.authentication() != null ? submission.authentication().getName() : "";
+            bySubmitter.computeIfAbsent(submitter, key -> new ArrayList<>()).add(submission);
+        }
+
+        try {
+            List<ActivityLogBatchResponse> results = transactionTemplate.execute(status ->
+                    bySubmitter.values().stream().map(this::createAs).toList());
+            int group = 0;
+            for (List<ActivityLogIngestQueue.Submission> submissions : bySubmitter.values()) {
+                for (ActivityLogBatchResponse.ItemResult result : results.get(group++).results()) {
+                    queue.complete(submissions.get(result.index()), result.id(), result.error());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} queued activity logs", drained, e);
+            batch.forEach(submission -> queue.complete(submission, null, "Could not be written: " + e.getMessage()));
+        }
+        return drained;
+    }
+
+    private ActivityLogBatchResponse createAs(List<ActivityLogIngestQueue.Submission> submissions) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(submissions.get(0).authentication());
+        SecurityContextHolder.setContext(context);
+        try {
+            return activityLogService.createActivityLogsBatch(
+                    submissions.stream().map(ActivityLogIngestQueue.Submission::request).toList());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
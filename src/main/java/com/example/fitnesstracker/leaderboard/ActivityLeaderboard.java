@@ -0,0 +1,253 @@
+package com.example.fitnesstracker.leaderboard;
+
+import com.example.fitnesstracker.event.ActivityLogChangedEvent;
+import com.example.fitnesstracker.event.ActivityLogSnapshot;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.repository.ActivityLogRepository;
+import com.example.fitnesstracker.repository.projection.ActivitySampleView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Sliding-window leaderboards of the configured windows, overall and per activity type. Every
+ * activity log inside the longest window is held as a contribution; each window counts the
+ * contributions at or after its horizon ({@code now - window}). Log changes are applied once their
+ * transaction has committed, and {@link #sweep()} moves the horizons forward, subtracting the
+ * contributions that fell out of each window, so rankings are at most one sweep interval stale.
+ * <p>
+ * Writers are serialized by a lock; reads walk the boards' skip lists without taking it.
+ */
+@Slf4j
+@Component
+public class ActivityLeaderboard implements SmartInitializingSingleton, MeterBinder {
+
+    // Slot 0 ranks all activity types together; slot ordinal + 1 ranks a single type.
+    private static final int SLOTS = ActivityLog.ActivityType.values().length + 1;
+
+    private static final Comparator<Contribution> BY_TIME = Comparator
+            .comparing(Contribution::dateTime)
+            .thenComparingLong(Contribution::id);
+
+    private final ActivityLogRepository activityLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final List<String> windows;
+    private final Duration[] durations;
+    private final Board[][] boards;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LocalDateTime[] horizons;
+    private final NavigableSet<Contribution> byTime = new TreeSet<>(BY_TIME);
+    private final Map<Long, Contribution> byId = new ConcurrentHashMap<>();
+    private int longest;
+
+    @Autowired
+    public ActivityLeaderboard(ActivityLogRepository activityLogRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.leaderboard.windows}") List<String> windows) {
+        this(activityLogRepository, transactionManager, windows, Clock.systemDefaultZone());
+    }
+
+    ActivityLeaderboard(ActivityLogRepository activityLogRepository, PlatformTransactionManager transactionManager,
+                        List<String> windows, Clock clock) {
+        this.activityLogRepository = activityLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.clock = clock;
+        this.windows = List.copyOf(windows);
+        this.durations = new Duration[windows.size()];
+        this.boards = new Board[windows.size()][SLOTS];
+        this.horizons = new LocalDateTime[windows.size()];
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (int w = 0; w < durations.length; w++) {
+            durations[w] = DurationStyle.detectAndParse(this.windows.get(w));
+            horizons[w] = now.minus(durations[w]);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                boards[w][slot] = new Board();
+            }
+            if (durations[w].compareTo(durations[longest]) > 0) {
+                longest = w;
+            }
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        lock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<ActivitySampleView> samples = activityLogRepository.streamSamplesSince(horizons[longest])) {
+                    samples.forEach(sample -> add(new Contribution(sample.id(), sample.userId(), sample.dateTime(),
+                            slot(sample.activityType()), value(sample.durationMinutes()),
+                            value(sample.caloriesBurned()))));
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+        log.info("Loaded {} activity logs of the last {} into the leaderboards", byId.size(), windows.get(longest));
+    }
+
+    /**
+     * @return the configured windows, as written in the configuration (e.g. {@code 7d})
+     */
+    public List<String> windows() {
+        return windows;
+    }
+
+    /**
+     * @param activityType the type to rank, or {@code null} to rank all types together
+     * @return the best {@code limit} users of the window, best first
+     * @throws IllegalArgumentException when {@code window} is not one of {@link #windows()}
+     */
+    public List<LeaderboardStanding> top(String window, ActivityLog.ActivityType activityType,
+                                         LeaderboardMetric metric, int limit) {
+        int w = windows.indexOf(window);
+        if (w < 0) {
+            throw new IllegalArgumentException("Unknown leaderboard window: " + window);
+        }
+        return boards[w][activityType == null ? 0 : activityType.ordinal() + 1].top(metric, limit);
+    }
+
+    /**
+     * Moves every window's horizon up to now and drops what no window counts any more.
+     *
+     * @return the number of contributions that left at least one window
+     */
+    public int sweep() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int expired = 0;
+        lock.lock();
+        try {
+            for (int w = 0; w < durations.length; w++) {
+                LocalDateTime horizon = now.minus(durations[w]);
+                if (!horizon.isAfter(horizons[w])) {
+                    continue;
+                }
+                for (Contribution contribution : byTime.subSet(bound(horizons[w]), true, bound(horizon), false)) {
+                    apply(w, contribution, -1);
+                    expired++;
+                }
+                horizons[w] = horizon;
+            }
+            NavigableSet<Contribution> stale = byTime.headSet(bound(horizons[longest]), false);
+            stale.forEach(contribution -> byId.remove(contribution.id()));
+            stale.clear();
+        } finally {
+            lock.unlock();
+        }
+        return expired;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivityLogChanged(ActivityLogChangedEvent event) {
+        lock.lock();
+        try {
+            ActivityLogSnapshot before = event.before();
+            if (before != null) {
+                Contribution previous = byId.remove(before.id());
+                if (previous != null) {
+                    byTime.remove(previous);
+                    applyToAll(previous, -1);
+                }
+            }
+            ActivityLogSnapshot after = event.after();
+            // Logs without a user or timestamp cannot be ranked.
+            if (after != null && after.userId() != null && after.dateTime() != null) {
+                add(new Contribution(after.id(), after.userId(), after.dateTime(), slot(after.activityType()),
+                        after.durationMinutes(), after.caloriesBurned()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        lock.lock();
+        try {
+            byTime.removeIf(contribution -> contribution.userId() == event.userId());
+            byId.values().removeIf(contribution -> contribution.userId() == event.userId());
+            for (Board[] windowBoards : boards) {
+                for (Board board : windowBoards) {
+                    board.remove(event.userId());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("leaderboard.contributions", byId, Map::size)
+                .description("Activity logs counted by at least one leaderboard window")
+                .register(registry);
+    }
+
+    // Callers hold the lock.
+    private void add(Contribution contribution) {
+        if (contribution.dateTime().isBefore(horizons[longest])) {
+            return;
+        }
+        byId.put(contribution.id(), contribution);
+        byTime.add(contribution);
+        applyToAll(contribution, 1);
+    }
+
+    private void applyToAll(Contribution contribution, int sign) {
+        for (int w = 0; w < durations.length; w++) {
+            if (!contribution.dateTime().isBefore(horizons[w])) {
+                apply(w, contribution, sign);
+            }
+        }
+    }
+
+    private void apply(int w, Contribution contribution, int sign) {
+        long minutes = (long) sign * contribution.minutes();
+        long calories = (long) sign * contribution.calories();
+        boards[w][0].add(contribution.userId(), sign, minutes, calories);
+        boards[w][contribution.slot()].add(contribution.userId(), sign, minutes, calories);
+    }
+
+    // Sorts before every contribution at that time.
+    private static Contribution bound(LocalDateTime dateTime) {
+        return new Contribution(Long.MIN_VALUE, 0, dateTime, 0, 0, 0);
+    }
+
+    private static int slot(ActivityLog.ActivityType activityType) {
+        ActivityLog.ActivityType type = activityType != null ? activityType : ActivityLog.ActivityType.OTHER;
+        return type.ordinal() + 1;
+    }
+
+    private static int value(Integer nullable) {
+        return nullable != null ? nullable : 0;
+    }
+
+    private record Contribution(long id, long userId, LocalDateTime dateTime, int slot, int minutes, int calories) {
+    }
+}
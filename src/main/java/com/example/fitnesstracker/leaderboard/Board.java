@@ -0,0 +1,86 @@
+package com.example.fitnesstracker.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Per-user totals of one window and activity type, kept sorted by each metric in skip lists so the
+ * top of a ranking is read without sorting. Updates are serialized by the owning
+ * {@link ActivityLeaderboard}; reads are lock-free.
+ */
+final class Board {
+
+    // Every field takes part, so a user's new standing never compares equal to their old one.
+    private static final Comparator<LeaderboardStanding> BY_CALORIES = Comparator
+            .comparingLong(LeaderboardStanding::totalCalories).reversed()
+            .thenComparingLong(LeaderboardStanding::userId)
+            .thenComparingLong(LeaderboardStanding::totalMinutes)
+            .thenComparingLong(LeaderboardStanding::sessionCount);
+
+    private static final Comparator<LeaderboardStanding> BY_MINUTES = Comparator
+            .comparingLong(LeaderboardStanding::totalMinutes).reversed()
+            .thenComparingLong(LeaderboardStanding::userId)
+            .thenComparingLong(LeaderboardStanding::totalCalories)
+            .thenComparingLong(LeaderboardStanding::sessionCount);
+
+    private final Map<Long, LeaderboardStanding> standings = new ConcurrentHashMap<>();
+    private final NavigableSet<LeaderboardStanding> byCalories = new ConcurrentSkipListSet<>(BY_CALORIES);
+    private final NavigableSet<LeaderboardStanding> byMinutes = new ConcurrentSkipListSet<>(BY_MINUTES);
+
+    /**
+     * Adds the deltas to a user's totals; the user leaves the board when no session is left.
+     */
+    void add(long userId, int sessions, long minutes, long calories) {
+        LeaderboardStanding previous = standings.get(userId);
+        LeaderboardStanding updated = previous == null
+                ? new LeaderboardStanding(userId, sessions, minutes, calories)
+                : new LeaderboardStanding(userId, previous.sessionCount() + sessions,
+                previous.totalMinutes() + minutes, previous.totalCalories() + calories);
+
+        // Insert before removing, so a concurrent reader may briefly see the user twice but never misses them.
+        if (updated.sessionCount() > 0) {
+            standings.put(userId, updated);
+            byCalories.add(updated);
+            byMinutes.add(updated);
+        } else {
+            standings.remove(userId);
+        }
+        if (previous != null) {
+            byCalories.remove(previous);
+            byMinutes.remove(previous);
+        }
+    }
+
+    void remove(long userId) {
+        LeaderboardStanding previous = standings.remove(userId);
+        if (previous != null) {
+            byCalories.remove(previous);
+            byMinutes.remove(previous);
+        }
+    }
+
+    List<LeaderboardStanding> top(LeaderboardMetric metric, int limit) {
+        List<LeaderboardStanding> top = new ArrayList<>(Math.min(limit, standings.size()));
+        Set<Long> seen = new HashSet<>();
+        for (LeaderboardStanding standing : metric == LeaderboardMetric.CALORIES ? byCalories : byMinutes) {
+            if (top.size() == limit) {
+                break;
+            }
+            if (seen.add(standing.userId())) {
+                top.add(standing);
+            }
+        }
+        return top;
+    }
+
+    int size() {
+        return standings.size();
+    }
+}
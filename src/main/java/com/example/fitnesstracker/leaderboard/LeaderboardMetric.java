@@ -0,0 +1,8 @@
+package com.example.fitnesstracker.leaderboard;
+
+/**
+ * What a leaderboard ranks users by.
+ */
+public enum LeaderboardMetric {
+    CALORIES, MINUTES
+}
@@ -0,0 +1,7 @@
+package com.example.fitnesstracker.leaderboard;
+
+/**
+ * One user's totals over the logs counted by a leaderboard.
+ */
+public record LeaderboardStanding(long userId, long sessionCount, long totalMinutes, long totalCalories) {
+}
@@ -0,0 +1,27 @@
+package com.example.fitnesstracker.leaderboard;
+
+import com.example.fitnesstracker.lifecycle.PeriodicTask;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Calls {@link ActivityLeaderboard#sweep()} once per sweep interval, so contributions leave a
+ * window even when no log changes.
+ */
+@Slf4j
+@Component
+public class LeaderboardSweeper extends PeriodicTask {
+
+    @Autowired
+    public LeaderboardSweeper(ActivityLeaderboard leaderboard,
+                              @Value("${app.leaderboard.sweep-interval}") Duration sweepInterval) {
+        super("leaderboard-sweeper", sweepInterval, () -> {
+            int expired = leaderboard.sweep();
+            log.debug("Swept {} expired leaderboard contributions", expired);
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.fitnesstracker.lifecycle;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background daemon thread that runs a task once per interval while the application is running.
+ * A failed run is logged and the next one happens on schedule.
+ */
+@Slf4j
+public class PeriodicTask implements SmartLifecycle {
+
+    private final String name;
+    private final long intervalNanos;
+    private final Runnable task;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public PeriodicTask(String name, Duration interval, Runnable task) {
+        this.name = name;
+        this.intervalNanos = interval.toNanos();
+        this.task = task;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(Duration.ofSeconds(10).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(this, intervalNanos);
+            if (!running) {
+                break;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Periodic task {} failed", name, e);
+            }
+        }
+    }
+}
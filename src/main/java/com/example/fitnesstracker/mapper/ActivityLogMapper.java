@@ -3,8 +3,11 @@ package com.example.fitnesstracker.mapper;
 import com.example.fitnesstracker.model.ActivityLog;
 import com.example.fitnesstracker.model.User;
 import com.example.fitnesstracker.model.WorkoutPlan;
+import com.example.fitnesstracker.repository.projection.ActivityLogView;
 import com.example.fitnesstracker.request.ActivityLogRequest;
 import com.example.fitnesstracker.response.ActivityLogResponse;
+import com.example.fitnesstracker.response.UserResponse;
+import com.example.fitnesstracker.response.WorkoutPlanResponse;
 import com.example.fitnesstracker.service.UserService;
 import com.example.fitnesstracker.service.WorkoutPlanService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -90,6 +93,44 @@ public class ActivityLogMapper {
         );
     }
 
+    /**
+     * Converts a flat ActivityLogView projection to an ActivityLogResponse DTO without touching
+     * any entity.
+     *
+     * @param view the ActivityLogView projection
+     * @return the ActivityLogResponse DTO
+     */
+    public ActivityLogResponse toResponse(ActivityLogView view) {
+        if (view == null) {
+            return null;
+        }
+
+        UserResponse user = view.userId() != null
+                ? new UserResponse(view.userId(), view.username(), view.userEmail(),
+                        view.userFullName(), view.userRole(), view.userCreatedAt())
+                : null;
+        UserResponse creator = view.creatorId() != null
+                ? new UserResponse(view.creatorId(), view.creatorUsername(), view.creatorEmail(),
+                        view.creatorFullName(), view.creatorRole(), view.creatorCreatedAt())
+                : null;
+        WorkoutPlanResponse workoutPlan = view.workoutPlanId() != null
+                ? new WorkoutPlanResponse(view.workoutPlanId(), view.workoutPlanName(), view.workoutPlanDescription(),
+                        view.workoutPlanStartDate(), view.workoutPlanEndDate(), view.workoutPlanDifficultyLevel(), creator)
+                : null;
+
+        return new ActivityLogResponse(
+                view.id(),
+                view.activityName(),
+                view.description(),
+                view.dateTime(),
+                view.durationMinutes(),
+                view.caloriesBurned(),
+                view.activityType(),
+                user,
+                workoutPlan
+        );
+    }
+
     /**
      * Updates an existing ActivityLog entity with data from an ActivityLogRequest DTO.
      *
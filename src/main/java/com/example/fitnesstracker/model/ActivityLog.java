@@ -10,17 +10,27 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "activity_logs")
+@Table(name = "activity_logs", indexes = {
+        @Index(name = "idx_activity_log_user_date", columnList = "user_id, date_time"),
+        @Index(name = "idx_activity_log_user_type_date", columnList = "user_id, activity_type, date_time"),
+        @Index(name = "idx_activity_log_plan_date", columnList = "workout_plan_id, date_time"),
+        @Index(name = "idx_activity_log_date_id", columnList = "date_time, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonIgnoreProperties({"user", "workoutPlan"})
 public class ActivityLog {
 
+    // Sequence ids (allocated 50 at a time) let Hibernate batch inserts, which IDENTITY columns prevent.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activity_log_seq")
+    @SequenceGenerator(name = "activity_log_seq", sequenceName = "activity_logs_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    private Long version;
+
     @NotBlank(message = "Activity name is required")
     @Size(max = 100, message = "Activity name cannot exceed 100 characters")
     private String activityName;
@@ -31,6 +41,7 @@ public class ActivityLog {
 
     @NotNull(message = "Date and time is required")
     @PastOrPresent(message = "Activity date cannot be in the future")
+    @Column(name = "date_time")
     private LocalDateTime dateTime;
 
     @Positive(message = "Duration must be positive")
@@ -42,6 +53,7 @@ public class ActivityLog {
     private Integer caloriesBurned;
 
     @Enumerated(EnumType.STRING)
+    @Column(name = "activity_type")
     private ActivityType activityType;
 
     @ManyToOne
@@ -0,0 +1,54 @@
+package com.example.fitnesstracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One create, update or delete performed through the API, written asynchronously by the audit
+ * writer.
+ */
+@Entity
+@Table(name = "audit_events", indexes = {
+        @Index(name = "idx_audit_event_entity", columnList = "entity_type, entity_id"),
+        @Index(name = "idx_audit_event_occurred_at", columnList = "occurred_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEvent {
+
+    // Sequence ids so the writer's saveAll goes out as JDBC batches.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_event_seq")
+    @SequenceGenerator(name = "audit_event_seq", sequenceName = "audit_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Action action;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private EntityType entityType;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    public enum Action {
+        CREATE, UPDATE, DELETE
+    }
+
+    public enum EntityType {
+        USER, WORKOUT_PLAN, ACTIVITY_LOG
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.fitnesstracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Per-user, per-day and per-activity-type totals, maintained incrementally in the same
+ * transaction as every activity log write.
+ */
+@Entity
+@Table(name = "daily_activity_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rollup_user_day_type", columnNames = {"user_id", "activity_day", "activity_type"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyActivityRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "activity_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "activity_type", nullable = false)
+    private ActivityLog.ActivityType activityType;
+
+    private long sessionCount;
+
+    private long totalMinutes;
+
+    private long totalCalories;
+}
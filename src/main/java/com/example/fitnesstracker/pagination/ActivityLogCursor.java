@@ -0,0 +1,58 @@
+package com.example.fitnesstracker.pagination;
+
+import com.example.fitnesstracker.exception.BadRequestException;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.repository.projection.ActivityLogView;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of an activity log page, ordered by {@code (dateTime DESC, id DESC)}.
+ * Clients only ever see the opaque {@link #encode() encoded} form.
+ */
+public record ActivityLogCursor(LocalDateTime dateTime, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static ActivityLogCursor of(ActivityLog activityLog) {
+        return new ActivityLogCursor(activityLog.getDateTime(), activityLog.getId());
+    }
+
+    public static ActivityLogCursor of(ActivityLogView view) {
+        return new ActivityLogCursor(view.dateTime(), view.id());
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the opaque cursor, may be {@code null} or blank for the first page
+     * @return the decoded cursor, or {@code null} for the first page
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static ActivityLogCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new ActivityLogCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = dateTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
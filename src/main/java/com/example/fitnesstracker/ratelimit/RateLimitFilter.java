@@ -0,0 +1,72 @@
+package com.example.fitnesstracker.ratelimit;
+
+import com.example.fitnesstracker.model.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the {@link RateLimiter} to the matched requests of authenticated callers, answering 429
+ * with {@code Retry-After} once a caller's bucket is empty. Anonymous requests, such as
+ * registration, pass through. Deliberately not a bean, like the bearer token filter.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String ROLE_ADMIN = "ROLE_" + User.Role.ADMIN;
+
+    private final RateLimiter rateLimiter;
+    private final RequestMatcher requestMatcher;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RequestMatcher requestMatcher) {
+        this.rateLimiter = rateLimiter;
+        this.requestMatcher = requestMatcher;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !requestMatcher.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(authentication.getName(), role(authentication));
+        if (waitNanos > 0) {
+            // Retry-After takes whole seconds; round up so clients never retry early.
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Rate limit exceeded");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static User.Role role(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (ROLE_ADMIN.equals(authority.getAuthority())) {
+                return User.Role.ADMIN;
+            }
+        }
+        return User.Role.USER;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.fitnesstracker.ratelimit;
+
+import com.example.fitnesstracker.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-principal token buckets, implemented with the generic cell rate algorithm: each bucket is a
+ * single theoretical arrival time, advanced by one emission interval per admitted request with a
+ * compare-and-set, so deciding never locks. A principal may send {@code burst} requests at once and
+ * then one per emission interval. Limits depend on the principal's role.
+ * <p>
+ * Buckets idle for longer than the idle timeout are evicted; that loses nothing as long as the
+ * timeout is longer than it takes a bucket to refill.
+ */
+@Component
+public class RateLimiter {
+
+    /**
+     * @param emissionIntervalNanos time to earn one request
+     * @param toleranceNanos        how far ahead of now a bucket may run, i.e. the burst after the first request
+     */
+    record Limit(long emissionIntervalNanos, long toleranceNanos) {
+
+        static Limit of(double requestsPerSecond, int burst) {
+            long interval = Math.round(TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+            return new Limit(interval, interval * (burst - 1L));
+        }
+    }
+
+    private final Limit userLimit;
+    private final Limit adminLimit;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoTime;
+    private final Counter userRejections;
+    private final Counter adminRejections;
+
+    @Autowired
+    public RateLimiter(@Value("${app.rate-limit.user.requests-per-second}") double userRate,
+                       @Value("${app.rate-limit.user.burst}") int userBurst,
+                       @Value("${app.rate-limit.admin.requests-per-second}") double adminRate,
+                       @Value("${app.rate-limit.admin.burst}") int adminBurst,
+                       @Value("${app.rate-limit.max-buckets}") long maxBuckets,
+                       @Value("${app.rate-limit.idle-timeout}") Duration idleTimeout,
+                       MeterRegistry meterRegistry) {
+        this(Limit.of(userRate, userBurst), Limit.of(adminRate, adminBurst), maxBuckets, idleTimeout,
+                meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(Limit userLimit, Limit adminLimit, long maxBuckets, Duration idleTimeout,
+                MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.userLimit = userLimit;
+        this.adminLimit = adminLimit;
+        this.nanoTime = nanoTime;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .ticker(nanoTime::getAsLong)
+                .build();
+        this.userRejections = rejections(meterRegistry, User.Role.USER);
+        this.adminRejections = rejections(meterRegistry, User.Role.ADMIN);
+        Gauge.builder("ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Principals with a rate limit bucket")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits one request of {@code principal} if their bucket allows it.
+     *
+     * @return zero when the request is admitted, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String principal, User.Role role) {
+        Limit limit = role == User.Role.ADMIN ? adminLimit : userLimit;
+        long now = nanoTime.getAsLong();
+        AtomicLong bucket = buckets.getIfPresent(principal);
+        if (bucket == null) {
+            bucket = buckets.get(principal, key -> new AtomicLong(now));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            // A bucket that has fully refilled starts from now. Compared by difference, as nanoTime
+            // values may wrap.
+            long start = arrival - now < 0 ? now : arrival;
+            long wait = start - limit.toleranceNanos() - now;
+            if (wait > 0) {
+                (role == User.Role.ADMIN ? adminRejections : userRejections).increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, start + limit.emissionIntervalNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    long bucketCount() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, User.Role role) {
+        return Counter.builder("ratelimit.rejections")
+                .description("Write requests rejected by the per-principal rate limit")
+                .tag("role", role.name())
+                .register(meterRegistry);
+    }
+}
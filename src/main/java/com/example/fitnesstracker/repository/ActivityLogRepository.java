@@ -1,22 +1,191 @@
 package com.example.fitnesstracker.repository;
 
 import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.repository.projection.ActivityDayCountView;
+import com.example.fitnesstracker.repository.projection.ActivityLogView;
+import com.example.fitnesstracker.repository.projection.ActivitySampleView;
+import com.example.fitnesstracker.repository.projection.ActivityTotalsByDayView;
+import com.example.fitnesstracker.repository.projection.ActivityTotalsByTypeView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long> {
 
-    List<ActivityLog> findByUserId(Long userId);
+    // Each finder orders by the trailing column of the composite index that serves it
+    // (see ActivityLog's @Table), so rows come back in index order without a sort step.
 
-    List<ActivityLog> findByWorkoutPlanId(Long workoutPlanId);
+    List<ActivityLog> findByUserIdOrderByDateTimeAsc(Long userId);
 
-    List<ActivityLog> findByUserIdAndActivityType(Long userId, ActivityLog.ActivityType activityType);
+    List<ActivityLog> findByWorkoutPlanIdOrderByDateTimeAsc(Long workoutPlanId);
 
-    List<ActivityLog> findByDateTimeBetween(LocalDateTime startDateTime, LocalDateTime endDateTime);
+    List<ActivityLog> findByUserIdAndActivityTypeOrderByDateTimeAsc(Long userId, ActivityLog.ActivityType activityType);
 
-    List<ActivityLog> findByUserIdAndDateTimeBetween(Long userId, LocalDateTime startDateTime, LocalDateTime endDateTime);
-}
\ No newline at end of file
+    List<ActivityLog> findByDateTimeBetweenOrderByDateTimeAsc(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+    List<ActivityLog> findByUserIdAndDateTimeBetweenOrderByDateTimeAsc(Long userId,
+                                                                      LocalDateTime startDateTime,
+                                                                      LocalDateTime endDateTime);
+
+    /**
+     * Projection prefix shared by the read queries below. Selects only the columns rendered in
+     * an activity log response and joins user, plan and plan creator in the same statement.
+     */
+    String VIEW_SELECT = "SELECT new com.example.fitnesstracker.repository.projection.ActivityLogView(" +
+            "a.id, a.activityName, a.description, a.dateTime, a.durationMinutes, a.caloriesBurned, a.activityType, " +
+            "u.id, u.username, u.email, u.fullName, u.role, u.createdAt, " +
+            "p.id, p.name, p.description, p.startDate, p.endDate, p.difficultyLevel, " +
+            "c.id, c.username, c.email, c.fullName, c.role, c.createdAt) " +
+            "FROM ActivityLog a " +
+            "LEFT JOIN a.user u " +
+            "LEFT JOIN a.workoutPlan p " +
+            "LEFT JOIN p.createdBy c ";
+
+    @Query(VIEW_SELECT + "WHERE a.id = :id")
+    Optional<ActivityLogView> findViewById(@Param("id") Long id);
+
+    /**
+     * Entity tag of an activity log response: {@code logVersion.userVersion.planVersion.creatorVersion},
+     * covering everything the response embeds. Reads only the version columns.
+     */
+    @Query("SELECT CONCAT(CAST(a.version AS String), " +
+            "'.', COALESCE(CAST(u.version AS String), '-'), " +
+            "'.', COALESCE(CAST(p.version AS String), '-'), " +
+            "'.', COALESCE(CAST(c.version AS String), '-')) " +
+            "FROM ActivityLog a " +
+            "LEFT JOIN a.user u " +
+            "LEFT JOIN a.workoutPlan p " +
+            "LEFT JOIN p.createdBy c " +
+            "WHERE a.id = :id")
+    Optional<String> findEntityTagById(@Param("id") Long id);
+
+    // Keyset pagination: pages are ordered by (dateTime DESC, id DESC) and each page after the first
+    // seeks strictly past the last row of the previous one, so no OFFSET is ever scanned. The plan
+    // query spells the seek with an explicit dateTime bound so H2 can range-scan
+    // idx_activity_log_plan_date instead of falling back to its foreign key index.
+
+    @Query(VIEW_SELECT + "ORDER BY a.dateTime DESC, a.id DESC")
+    List<ActivityLogView> findViewPage(Pageable pageable);
+
+    @Query(VIEW_SELECT +
+            "WHERE a.dateTime < :dateTime OR (a.dateTime = :dateTime AND a.id < :id) " +
+            "ORDER BY a.dateTime DESC, a.id DESC")
+    List<ActivityLogView> findViewPageAfter(@Param("dateTime") LocalDateTime dateTime,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    @Query(VIEW_SELECT +
+            "WHERE a.user.id = :userId " +
+            "ORDER BY a.dateTime DESC, a.id DESC")
+    List<ActivityLogView> findViewPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(VIEW_SELECT +
+            "WHERE a.user.id = :userId " +
+            "AND (a.dateTime < :dateTime OR (a.dateTime = :dateTime AND a.id < :id)) " +
+            "ORDER BY a.dateTime DESC, a.id DESC")
+    List<ActivityLogView> findViewPageByUserIdAfter(@Param("userId") Long userId,
+                                                    @Param("dateTime") LocalDateTime dateTime,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
+
+    @Query(VIEW_SELECT +
+            "WHERE a.workoutPlan.id = :workoutPlanId " +
+            "ORDER BY a.dateTime DESC, a.id DESC")
+    List<ActivityLogView> findViewPageByWorkoutPlanId(@Param("workoutPlanId") Long workoutPlanId, Pageable pageable);
+
+    @Query(VIEW_SELECT +
+            "WHERE a.workoutPlan.id = :workoutPlanId " +
+            "AND a.dateTime <= :dateTime AND (a.dateTime < :dateTime OR a.id < :id) " +
+            "ORDER BY a.dateTime DESC, a.id DESC")
+    List<ActivityLogView> findViewPageByWorkoutPlanIdAfter(@Param("workoutPlanId") Long workoutPlanId,
+                                                           @Param("dateTime") LocalDateTime dateTime,
+                                                           @Param("id") Long id,
+                                                           Pageable pageable);
+
+    /**
+     * Streams every log matching the given criteria over a database cursor. Must be consumed
+     * inside a transaction and closed afterwards; {@code null} criteria are ignored.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW_SELECT +
+            "WHERE (:userId IS NULL OR a.user.id = :userId) " +
+            "AND (:workoutPlanId IS NULL OR a.workoutPlan.id = :workoutPlanId) " +
+            "AND (:activityType IS NULL OR a.activityType = :activityType) " +
+            "AND (:from IS NULL OR a.dateTime >= :from) " +
+            "AND (:to IS NULL OR a.dateTime <= :to) " +
+            "ORDER BY a.id")
+    Stream<ActivityLogView> streamViewsForExport(@Param("userId") Long userId,
+                                                 @Param("workoutPlanId") Long workoutPlanId,
+                                                 @Param("activityType") ActivityLog.ActivityType activityType,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+
+    /**
+     * Streams the analytics facts of every log that belongs to a user, oldest first. Must be
+     * consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.fitnesstracker.repository.projection.ActivitySampleView(" +
+            "a.id, a.user.id, a.dateTime, a.durationMinutes, a.caloriesBurned, a.activityType) " +
+            "FROM ActivityLog a " +
+            "WHERE a.user IS NOT NULL AND a.dateTime IS NOT NULL " +
+            "ORDER BY a.dateTime, a.id")
+    Stream<ActivitySampleView> streamSamples();
+
+    /**
+     * Like {@link #streamSamples()}, restricted to logs at or after {@code from}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.fitnesstracker.repository.projection.ActivitySampleView(" +
+            "a.id, a.user.id, a.dateTime, a.durationMinutes, a.caloriesBurned, a.activityType) " +
+            "FROM ActivityLog a " +
+            "WHERE a.user IS NOT NULL AND a.dateTime >= :from " +
+            "ORDER BY a.dateTime, a.id")
+    Stream<ActivitySampleView> streamSamplesSince(@Param("from") LocalDateTime from);
+
+    /**
+     * Streams the number of logs of every user on every day they logged something. Must be
+     * consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.fitnesstracker.repository.projection.ActivityDayCountView(" +
+            "a.user.id, CAST(a.dateTime AS LocalDate), COUNT(a)) " +
+            "FROM ActivityLog a " +
+            "WHERE a.user IS NOT NULL AND a.dateTime IS NOT NULL " +
+            "GROUP BY a.user.id, CAST(a.dateTime AS LocalDate)")
+    Stream<ActivityDayCountView> streamDailyCounts();
+
+    // Aggregates over one user's logs with from <= dateTime < to, grouped in the database so only
+    // one row per group leaves it. Both are range scans of idx_activity_log_user_date.
+
+    @Query("SELECT new com.example.fitnesstracker.repository.projection.ActivityTotalsByTypeView(" +
+            "a.activityType, COUNT(a), COALESCE(SUM(a.durationMinutes), 0L), COALESCE(SUM(a.caloriesBurned), 0L)) " +
+            "FROM ActivityLog a " +
+            "WHERE a.user.id = :userId AND a.dateTime >= :from AND a.dateTime < :to " +
+            "GROUP BY a.activityType")
+    List<ActivityTotalsByTypeView> sumByActivityType(@Param("userId") Long userId,
+                                                     @Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.example.fitnesstracker.repository.projection.ActivityTotalsByDayView(" +
+            "CAST(a.dateTime AS LocalDate), COUNT(a), " +
+            "COALESCE(SUM(a.durationMinutes), 0L), COALESCE(SUM(a.caloriesBurned), 0L)) " +
+            "FROM ActivityLog a " +
+            "WHERE a.user.id = :userId AND a.dateTime >= :from AND a.dateTime < :to " +
+            "GROUP BY CAST(a.dateTime AS LocalDate) " +
+            "ORDER BY CAST(a.dateTime AS LocalDate)")
+    List<ActivityTotalsByDayView> sumByDay(@Param("userId") Long userId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,13 @@
+package com.example.fitnesstracker.repository;
+
+import com.example.fitnesstracker.model.AuditEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
+
+    List<AuditEvent> findByEntityTypeAndEntityIdOrderByOccurredAtAsc(AuditEvent.EntityType entityType, Long entityId);
+}
@@ -0,0 +1,43 @@
+package com.example.fitnesstracker.repository;
+
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.model.DailyActivityRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyActivityRollupRepository extends JpaRepository<DailyActivityRollup, Long>,
+        DailyActivityRollupRepositoryCustom {
+
+    List<DailyActivityRollup> findByUserIdAndDayBetweenOrderByDayAscActivityTypeAsc(Long userId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("UPDATE DailyActivityRollup r " +
+            "SET r.sessionCount = r.sessionCount + :sessions, " +
+            "r.totalMinutes = r.totalMinutes + :minutes, " +
+            "r.totalCalories = r.totalCalories + :calories " +
+            "WHERE r.userId = :userId AND r.day = :day AND r.activityType = :activityType")
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("day") LocalDate day,
+                   @Param("activityType") ActivityLog.ActivityType activityType,
+                   @Param("sessions") long sessions,
+                   @Param("minutes") long minutes,
+                   @Param("calories") long calories);
+
+    @Modifying
+    @Query("DELETE FROM DailyActivityRollup r " +
+            "WHERE r.userId = :userId AND r.day = :day AND r.activityType = :activityType AND r.sessionCount <= 0")
+    int deleteIfEmpty(@Param("userId") Long userId,
+                      @Param("day") LocalDate day,
+                      @Param("activityType") ActivityLog.ActivityType activityType);
+
+    @Modifying
+    @Query("DELETE FROM DailyActivityRollup r WHERE r.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
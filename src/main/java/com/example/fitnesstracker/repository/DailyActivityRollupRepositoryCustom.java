@@ -0,0 +1,16 @@
+package com.example.fitnesstracker.repository;
+
+import com.example.fitnesstracker.model.ActivityLog;
+
+import java.time.LocalDate;
+
+public interface DailyActivityRollupRepositoryCustom {
+
+    /**
+     * Adds to the rollup row of the user, day and type, creating it when there is none. Safe against
+     * concurrent transactions creating the same row: the one that loses the insert adds to the
+     * winner's row instead of failing. Must run inside a transaction.
+     */
+    void addToRollup(Long userId, LocalDate day, ActivityLog.ActivityType activityType,
+                     long sessions, long minutes, long calories);
+}
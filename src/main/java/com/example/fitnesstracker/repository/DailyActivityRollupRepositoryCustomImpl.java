@@ -0,0 +1,98 @@
+package com.example.fitnesstracker.repository;
+
+import com.example.fitnesstracker.model.ActivityLog;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDate;
+
+class DailyActivityRollupRepositoryCustomImpl implements DailyActivityRollupRepositoryCustom {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private static final String UPDATE = "UPDATE daily_activity_rollup " +
+            "SET session_count = session_count + ?, total_minutes = total_minutes + ?, total_calories = total_calories + ? " +
+            "WHERE user_id = ? AND activity_day = ? AND activity_type = ?";
+
+    private static final String INSERT = "INSERT INTO daily_activity_rollup " +
+            "(user_id, activity_day, activity_type, session_count, total_minutes, total_calories) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // SQLSTATE class 23: integrity constraint violation.
+    private static final String INTEGRITY_VIOLATION = "23";
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    DailyActivityRollupRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Update first, insert when no row matched. A lost insert race is rolled back to a savepoint
+     * and retried as an update. Plain JDBC on the transaction's connection, so the expected
+     * constraint violation never reaches Hibernate and cannot mark the caller's transaction
+     * rollback-only.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addToRollup(Long userId, LocalDate day, ActivityLog.ActivityType activityType,
+                            long sessions, long minutes, long calories) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                if (update(connection, userId, day, activityType, sessions, minutes, calories) > 0) {
+                    return;
+                }
+                Savepoint savepoint = connection.setSavepoint();
+                try {
+                    insert(connection, userId, day, activityType, sessions, minutes, calories);
+                    connection.releaseSavepoint(savepoint);
+                    return;
+                } catch (SQLException e) {
+                    if (e.getSQLState() == null || !e.getSQLState().startsWith(INTEGRITY_VIOLATION)) {
+                        throw e;
+                    }
+                    // Another transaction created the row first; add to it on the next attempt.
+                    connection.rollback(savepoint);
+                }
+            }
+            throw new ConcurrencyFailureException("Could not create or update the daily rollup of user "
+                    + userId + " on " + day + " (" + activityType + ")");
+        });
+    }
+
+    private static int update(Connection connection, Long userId, LocalDate day, ActivityLog.ActivityType activityType,
+                              long sessions, long minutes, long calories) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+            statement.setLong(1, sessions);
+            statement.setLong(2, minutes);
+            statement.setLong(3, calories);
+            statement.setLong(4, userId);
+            statement.setDate(5, Date.valueOf(day));
+            statement.setString(6, activityType.name());
+            return statement.executeUpdate();
+        }
+    }
+
+    private static void insert(Connection connection, Long userId, LocalDate day, ActivityLog.ActivityType activityType,
+                               long sessions, long minutes, long calories) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            statement.setLong(1, userId);
+            statement.setDate(2, Date.valueOf(day));
+            statement.setString(3, activityType.name());
+            statement.setLong(4, sessions);
+            statement.setLong(5, minutes);
+            statement.setLong(6, calories);
+            statement.executeUpdate();
+        }
+    }
+}
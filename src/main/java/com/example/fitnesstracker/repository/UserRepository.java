@@ -1,18 +1,36 @@
 package com.example.fitnesstracker.repository;
 
 import com.example.fitnesstracker.model.User;
+import com.example.fitnesstracker.repository.projection.UserNameView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmail(String email);
 
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
+    @Query("SELECT new com.example.fitnesstracker.repository.projection.UserNameView(u.id, u.username) " +
+            "FROM User u WHERE u.id IN :ids")
+    List<UserNameView> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Entity tag of a user response: the user's version. Reads one column without loading the entity.
+     */
+    @Query("SELECT CAST(u.version AS String) FROM User u WHERE u.id = :id")
+    Optional<String> findEntityTagById(@Param("id") Long id);
+
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
@@ -0,0 +1,14 @@
+package com.example.fitnesstracker.repository;
+
+import com.example.fitnesstracker.model.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Resolves a user through Hibernate's natural-id API so that repeated lookups are served
+     * from the natural-id and entity caches instead of querying by username.
+     */
+    Optional<User> findByNaturalUsername(String username);
+}
@@ -1,17 +1,56 @@
 package com.example.fitnesstracker.repository;
 
 import com.example.fitnesstracker.model.WorkoutPlan;
+import com.example.fitnesstracker.repository.projection.WorkoutPlanNameView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+// Every list-returning finder fetches the plan creator in the same statement. Without the graph,
+// the EAGER createdBy association is resolved with one extra select per distinct creator.
 @Repository
 public interface WorkoutPlanRepository extends JpaRepository<WorkoutPlan, Long> {
 
+    @EntityGraph(attributePaths = "createdBy")
     List<WorkoutPlan> findByCreatedById(Long userId);
 
+    @EntityGraph(attributePaths = "createdBy")
     List<WorkoutPlan> findByCreatedByIdAndDifficultyLevel(Long userId, WorkoutPlan.DifficultyLevel difficultyLevel);
 
+    @EntityGraph(attributePaths = "createdBy")
     List<WorkoutPlan> findByNameContainingIgnoreCase(String name);
+
+    @Override
+    @EntityGraph(attributePaths = "createdBy")
+    List<WorkoutPlan> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "createdBy")
+    List<WorkoutPlan> findAllById(Iterable<Long> ids);
+
+    /**
+     * Entity tag of a workout plan response: {@code planVersion.creatorVersion}, since the response
+     * embeds the creator. Reads only the version columns.
+     */
+    @Query("SELECT CONCAT(CAST(p.version AS String), '.', COALESCE(CAST(c.version AS String), '-')) " +
+            "FROM WorkoutPlan p LEFT JOIN p.createdBy c WHERE p.id = :id")
+    Optional<String> findEntityTagById(@Param("id") Long id);
+
+    /**
+     * Streams the id and name of every plan over a database cursor. Must be consumed inside a
+     * transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.fitnesstracker.repository.projection.WorkoutPlanNameView(p.id, p.name) " +
+            "FROM WorkoutPlan p")
+    Stream<WorkoutPlanNameView> streamNames();
 }
@@ -0,0 +1,9 @@
+package com.example.fitnesstracker.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Number of logs a user has on one day.
+ */
+public record ActivityDayCountView(Long userId, LocalDate day, Long logCount) {
+}
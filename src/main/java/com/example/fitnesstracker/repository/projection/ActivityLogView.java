@@ -0,0 +1,42 @@
+package com.example.fitnesstracker.repository.projection;
+
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.model.User;
+import com.example.fitnesstracker.model.WorkoutPlan;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat read-only row carrying exactly the columns needed to render an
+ * {@link com.example.fitnesstracker.response.ActivityLogResponse}. Populated by a JPQL constructor
+ * expression, so no entities are loaded or tracked by the persistence context.
+ */
+public record ActivityLogView(
+        Long id,
+        String activityName,
+        String description,
+        LocalDateTime dateTime,
+        Integer durationMinutes,
+        Integer caloriesBurned,
+        ActivityLog.ActivityType activityType,
+        Long userId,
+        String username,
+        String userEmail,
+        String userFullName,
+        User.Role userRole,
+        LocalDateTime userCreatedAt,
+        Long workoutPlanId,
+        String workoutPlanName,
+        String workoutPlanDescription,
+        LocalDate workoutPlanStartDate,
+        LocalDate workoutPlanEndDate,
+        WorkoutPlan.DifficultyLevel workoutPlanDifficultyLevel,
+        Long creatorId,
+        String creatorUsername,
+        String creatorEmail,
+        String creatorFullName,
+        User.Role creatorRole,
+        LocalDateTime creatorCreatedAt
+) {
+}
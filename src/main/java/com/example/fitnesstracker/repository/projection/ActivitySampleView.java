@@ -0,0 +1,18 @@
+package com.example.fitnesstracker.repository.projection;
+
+import com.example.fitnesstracker.model.ActivityLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * The numeric facts of one activity log, read to build the in-memory analytics store.
+ */
+public record ActivitySampleView(
+        Long id,
+        Long userId,
+        LocalDateTime dateTime,
+        Integer durationMinutes,
+        Integer caloriesBurned,
+        ActivityLog.ActivityType activityType
+) {
+}
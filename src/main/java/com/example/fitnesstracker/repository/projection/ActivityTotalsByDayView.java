@@ -0,0 +1,14 @@
+package com.example.fitnesstracker.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Count and sums of one user's logs on one day, aggregated by the database.
+ */
+public record ActivityTotalsByDayView(
+        LocalDate day,
+        Long sessionCount,
+        Long totalMinutes,
+        Long totalCalories
+) {
+}
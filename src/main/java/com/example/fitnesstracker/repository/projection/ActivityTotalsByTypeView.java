@@ -0,0 +1,14 @@
+package com.example.fitnesstracker.repository.projection;
+
+import com.example.fitnesstracker.model.ActivityLog;
+
+/**
+ * Count and sums of one user's logs of one activity type, aggregated by the database.
+ */
+public record ActivityTotalsByTypeView(
+        ActivityLog.ActivityType activityType,
+        Long sessionCount,
+        Long totalMinutes,
+        Long totalCalories
+) {
+}
@@ -0,0 +1,7 @@
+package com.example.fitnesstracker.repository.projection;
+
+/**
+ * A user's id and username, for responses that only name users.
+ */
+public record UserNameView(Long id, String username) {
+}
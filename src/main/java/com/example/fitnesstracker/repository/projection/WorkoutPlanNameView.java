@@ -0,0 +1,7 @@
+package com.example.fitnesstracker.repository.projection;
+
+/**
+ * Id and name of a workout plan, read to build the name search index.
+ */
+public record WorkoutPlanNameView(Long id, String name) {
+}
@@ -0,0 +1,16 @@
+package com.example.fitnesstracker.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * A batch of activity logs to create in one call. Individual items are validated separately so
+ * that one bad item does not reject the whole batch.
+ */
+public record ActivityLogBatchRequest(
+        @NotEmpty @Size(max = 1000) List<@NotNull ActivityLogRequest> items
+) {
+}
@@ -0,0 +1,17 @@
+package com.example.fitnesstracker.request;
+
+import com.example.fitnesstracker.model.ActivityLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional criteria for the activity log export. A {@code null} component matches every log.
+ */
+public record ActivityLogExportFilter(
+        Long userId,
+        Long workoutPlanId,
+        ActivityLog.ActivityType activityType,
+        LocalDateTime from,
+        LocalDateTime to
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.fitnesstracker.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record TokenRequest(
+        @NotBlank String username,
+        @NotBlank String password
+) {
+}
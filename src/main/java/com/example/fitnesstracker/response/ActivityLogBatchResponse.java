@@ -0,0 +1,21 @@
+package com.example.fitnesstracker.response;
+
+import java.util.List;
+
+public record ActivityLogBatchResponse(
+        int received,
+        int created,
+        int failed,
+        List<ItemResult> results
+) {
+
+    /**
+     * Outcome of one batch item; exactly one of {@code id} and {@code error} is set.
+     *
+     * @param index position of the item in the submitted batch
+     * @param id    id of the created activity log
+     * @param error reason the item was rejected
+     */
+    public record ItemResult(int index, Long id, String error) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.fitnesstracker.response;
+
+/**
+ * Progress of an activity log submitted for asynchronous creation.
+ *
+ * @param activityLogId id of the created log, once {@code CREATED}
+ * @param error         why the log was not created, once {@code FAILED}
+ */
+public record ActivityLogIngestResponse(
+        String trackingId,
+        Long userId,
+        Status status,
+        Long activityLogId,
+        String error
+) {
+
+    public enum Status {
+        PENDING, CREATED, FAILED
+    }
+}
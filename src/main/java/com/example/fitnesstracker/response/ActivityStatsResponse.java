@@ -0,0 +1,31 @@
+package com.example.fitnesstracker.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ActivityStatsResponse(
+        LocalDate from,
+        LocalDate to,
+        Period period,
+        long sessionCount,
+        long totalMinutes,
+        long totalCalories,
+        double averageMinutes,
+        double averageCalories,
+        List<ActivityTypeBreakdownResponse> byActivityType,
+        List<PeriodTotals> byPeriod
+) {
+
+    public enum Period {
+        WEEK, MONTH
+    }
+
+    /**
+     * Totals of one calendar week (starting Monday) or month. The first and last periods may start
+     * before {@code from} or end after {@code to}; only sessions inside the range are counted.
+     *
+     * @param periodStart first day of the week or month
+     */
+    public record PeriodTotals(LocalDate periodStart, long sessionCount, long totalMinutes, long totalCalories) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.fitnesstracker.response;
+
+import java.time.LocalDate;
+
+/**
+ * One day of a user's activity trend. The moving averages cover the trailing window ending on
+ * {@code day}, days without activity counting as zero.
+ */
+public record ActivityTrendPointResponse(
+        LocalDate day,
+        long sessionCount,
+        long totalMinutes,
+        long totalCalories,
+        double movingAverageMinutes,
+        double movingAverageCalories
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.fitnesstracker.response;
+
+import com.example.fitnesstracker.model.ActivityLog;
+
+public record ActivityTypeBreakdownResponse(
+        ActivityLog.ActivityType activityType,
+        long sessionCount,
+        long totalMinutes,
+        long totalCalories,
+        double averageMinutes,
+        double averageCalories
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.fitnesstracker.response;
+
+public record CacheRegionStatsResponse(
+        String region,
+        long hits,
+        long misses,
+        long puts,
+        long elementsInMemory,
+        double hitRatio
+) {
+}
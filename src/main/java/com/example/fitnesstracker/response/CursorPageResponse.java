@@ -0,0 +1,17 @@
+package com.example.fitnesstracker.response;
+
+import java.util.List;
+
+/**
+ * A single page of a keyset-paginated listing.
+ *
+ * @param items      the items on this page, in listing order
+ * @param size       the requested page size
+ * @param nextCursor opaque cursor for the following page, or {@code null} when this is the last page
+ */
+public record CursorPageResponse<T>(
+        List<T> items,
+        int size,
+        String nextCursor
+) {
+}
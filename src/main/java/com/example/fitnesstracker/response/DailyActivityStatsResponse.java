@@ -0,0 +1,14 @@
+package com.example.fitnesstracker.response;
+
+import com.example.fitnesstracker.model.ActivityLog;
+
+import java.time.LocalDate;
+
+public record DailyActivityStatsResponse(
+        LocalDate day,
+        ActivityLog.ActivityType activityType,
+        long sessionCount,
+        long totalMinutes,
+        long totalCalories
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.fitnesstracker.response;
+
+public record LeaderboardEntryResponse(
+        int rank,
+        Long userId,
+        String username,
+        long sessionCount,
+        long totalMinutes,
+        long totalCalories
+) {
+}
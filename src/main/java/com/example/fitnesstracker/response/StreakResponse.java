@@ -0,0 +1,22 @@
+package com.example.fitnesstracker.response;
+
+import java.time.LocalDate;
+
+/**
+ * @param currentStreak            consecutive active days ending today, or yesterday if today has no
+ *                                 log yet; 0 once a whole day has been missed
+ * @param longestStreak            longest run of consecutive active days ever
+ * @param lastActiveDay            latest day with a log, or {@code null} if there is none
+ * @param activeDays               days with at least one log
+ * @param activeDaysThisWeek       active days in the current week, starting Monday
+ * @param averageActiveDaysPerWeek active days per week over the complete weeks before this one
+ */
+public record StreakResponse(
+        long currentStreak,
+        long longestStreak,
+        LocalDate lastActiveDay,
+        long activeDays,
+        int activeDaysThisWeek,
+        double averageActiveDaysPerWeek
+) {
+}
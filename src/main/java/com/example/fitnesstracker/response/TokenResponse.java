@@ -0,0 +1,11 @@
+package com.example.fitnesstracker.response;
+
+import java.time.Instant;
+
+public record TokenResponse(
+        String accessToken,
+        String tokenType,
+        long expiresIn,
+        Instant expiresAt
+) {
+}
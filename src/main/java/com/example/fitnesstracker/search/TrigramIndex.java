@@ -0,0 +1,231 @@
+package com.example.fitnesstracker.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive substring index over short texts. Every text is split into overlapping
+ * three-character grams, each mapping to a sorted posting list of document ids. A query looks up
+ * the postings of its own trigrams and intersects them starting from the shortest list, so its
+ * cost follows the rarest trigram rather than the number of documents. Candidates are then checked
+ * for a real substring match, since sharing all trigrams does not imply one.
+ * <p>
+ * Queries shorter than a trigram have no postings to use and fall back to scanning the texts.
+ */
+final class TrigramIndex {
+
+    private static final int GRAM = 3;
+
+    private static final Comparator<Match> BEST_FIRST = Comparator
+            .comparingInt(Match::rank)
+            .thenComparingInt(Match::length)
+            .thenComparingLong(Match::id);
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Long, String> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexes {@code text} under {@code id}, replacing whatever was indexed for it before.
+     */
+    void put(long id, String text) {
+        String normalized = normalize(text);
+        lock.writeLock().lock();
+        try {
+            String previous = documents.put(id, normalized);
+            if (previous != null) {
+                unlink(id, previous);
+            }
+            for (long trigram : trigrams(normalized)) {
+                postings.computeIfAbsent(trigram, key -> new PostingList()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            String previous = documents.remove(id);
+            if (previous != null) {
+                unlink(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return up to {@code limit} ids of texts containing {@code query}, best match first: exact
+     * matches, then prefixes, then matches at a word start, then any other substring; shorter texts
+     * rank higher within each group
+     */
+    List<Long> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        lock.readLock().lock();
+        try {
+            if (normalized.length() < GRAM) {
+                documents.forEach((id, text) -> offer(best, id, text, normalized, limit));
+            } else {
+                PostingList[] lists = postingsOf(normalized);
+                if (lists == null) {
+                    return List.of();
+                }
+                PostingList shortest = lists[0];
+                for (int i = 0; i < shortest.size; i++) {
+                    long id = shortest.ids[i];
+                    if (inAll(lists, id)) {
+                        offer(best, id, documents.get(id), normalized, limit);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Match[] ranked = best.toArray(new Match[0]);
+        Arrays.sort(ranked, BEST_FIRST);
+        List<Long> ids = new ArrayList<>(ranked.length);
+        for (Match match : ranked) {
+            ids.add(match.id());
+        }
+        return ids;
+    }
+
+    // Posting lists of the query's trigrams, shortest first, or null if any trigram is unknown.
+    private PostingList[] postingsOf(String query) {
+        Set<Long> trigrams = trigrams(query);
+        PostingList[] lists = new PostingList[trigrams.size()];
+        int i = 0;
+        for (long trigram : trigrams) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                return null;
+            }
+            lists[i++] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        return lists;
+    }
+
+    private static boolean inAll(PostingList[] lists, long id) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void offer(PriorityQueue<Match> best, long id, String text, String query, int limit) {
+        int position = text.indexOf(query);
+        if (position < 0) {
+            return;
+        }
+        int rank;
+        if (position == 0) {
+            rank = text.length() == query.length() ? 0 : 1;
+        } else {
+            rank = Character.isLetterOrDigit(text.charAt(position - 1)) ? 3 : 2;
+        }
+        best.add(new Match(id, rank, text.length()));
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    private void unlink(long id, String text) {
+        for (long trigram : trigrams(text)) {
+            PostingList list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    private record Match(long id, int rank, int length) {
+    }
+
+    /**
+     * Sorted, growable array of ids. Ids come from a sequence, so inserts almost always append.
+     */
+    static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == 0 || ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertion = -index - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+            ids[insertion] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+}
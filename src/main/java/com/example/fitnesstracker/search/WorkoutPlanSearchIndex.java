@@ -0,0 +1,77 @@
+package com.example.fitnesstracker.search;
+
+import com.example.fitnesstracker.event.WorkoutPlanChangedEvent;
+import com.example.fitnesstracker.repository.WorkoutPlanRepository;
+import com.example.fitnesstracker.repository.projection.WorkoutPlanNameView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Trigram index over workout plan names, so name search no longer scans the whole table with
+ * {@code LIKE '%name%'}. Built from the database before the application starts serving requests
+ * and kept current from {@link WorkoutPlanChangedEvent}s once their transaction has committed.
+ */
+@Slf4j
+@Component
+public class WorkoutPlanSearchIndex implements SmartInitializingSingleton, MeterBinder {
+
+    private final WorkoutPlanRepository workoutPlanRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TrigramIndex index = new TrigramIndex();
+
+    @Autowired
+    public WorkoutPlanSearchIndex(WorkoutPlanRepository workoutPlanRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.workoutPlanRepository = workoutPlanRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<WorkoutPlanNameView> plans = workoutPlanRepository.streamNames()) {
+                plans.forEach(plan -> index.put(plan.id(), plan.name()));
+            }
+        });
+        log.info("Indexed {} workout plan names for search", index.size());
+    }
+
+    /**
+     * @return ids of up to {@code limit} plans whose name contains {@code name}, ignoring case, best match first
+     */
+    public List<Long> search(String name, int limit) {
+        return index.search(name, limit);
+    }
+
+    // Runs before the catalog cache is invalidated, so no search can re-cache a result from the old index.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkoutPlanChanged(WorkoutPlanChangedEvent event) {
+        if (event.isDeletion()) {
+            index.remove(event.workoutPlanId());
+        } else {
+            index.put(event.workoutPlanId(), event.name());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("search.index.documents", index, TrigramIndex::size)
+                .description("Workout plans in the name search index")
+                .register(registry);
+    }
+}
@@ -9,21 +9,23 @@ import org.springframework.stereotype.Component;
 public class ActivityLogSecurity {
 
     private final ActivityLogService activityLogService;
+    private final UserIdentityCache userIdentityCache;
 
     @Autowired
-    public ActivityLogSecurity(ActivityLogService activityLogService) {
+    public ActivityLogSecurity(ActivityLogService activityLogService, UserIdentityCache userIdentityCache) {
         this.activityLogService = activityLogService;
+        this.userIdentityCache = userIdentityCache;
     }
 
     public boolean isOwner(Long activityLogId) {
-        String currentUsername = SecurityUtils.getCurrentUsername();
-        if (currentUsername == null) {
+        Long currentUserId = userIdentityCache.getCurrentUserId();
+        if (currentUserId == null) {
             return false;
         }
 
         try {
             ActivityLog activityLog = activityLogService.getActivityLogById(activityLogId);
-            return activityLog.getUser().getUsername().equals(currentUsername);
+            return activityLog.getUser() != null && currentUserId.equals(activityLog.getUser().getId());
         } catch (Exception e) {
             return false;
         }
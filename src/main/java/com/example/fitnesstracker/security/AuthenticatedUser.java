@@ -0,0 +1,62 @@
+package com.example.fitnesstracker.security;
+
+import com.example.fitnesstracker.model.User;
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal produced by authentication. Carries the database id so ownership checks can be
+ * decided without loading the user again; {@code id} is {@code null} for accounts that only
+ * exist in configuration.
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private final Long id;
+    private final String username;
+    private final User.Role role;
+    private final Collection<? extends GrantedAuthority> authorities;
+    private String password;
+
+    public AuthenticatedUser(Long id,
+                             String username,
+                             String password,
+                             User.Role role,
+                             Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+}
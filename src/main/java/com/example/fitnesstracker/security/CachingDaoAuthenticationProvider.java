@@ -0,0 +1,104 @@
+package com.example.fitnesstracker.security;
+
+import com.example.fitnesstracker.event.UserAccountChangedEvent;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * {@link DaoAuthenticationProvider} that remembers recent successful password checks so that
+ * HTTP Basic clients do not pay for a BCrypt verification on every request.
+ * <p>
+ * For each username the cache holds an HMAC of the presented password and the stored hash,
+ * keyed with a per-process random secret. A matching HMAC skips the encoder; anything else
+ * falls through to the full check. Since the stored hash is part of the MAC, a changed
+ * password can never match a stale entry, and entries are also dropped eagerly when an
+ * account's password or username changes.
+ */
+@Slf4j
+public class CachingDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final Cache<String, byte[]> verified;
+
+    public CachingDaoAuthenticationProvider(UserDetailsService userDetailsService,
+                                            PasswordEncoder passwordEncoder,
+                                            long maxEntries,
+                                            Duration ttl) {
+        super(passwordEncoder);
+        setUserDetailsService(userDetailsService);
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication)
+            throws AuthenticationException {
+        if (authentication.getCredentials() == null || userDetails.getPassword() == null) {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+            return;
+        }
+
+        byte[] mac = mac(userDetails.getUsername(), authentication.getCredentials().toString(), userDetails.getPassword());
+        byte[] cached = verified.getIfPresent(userDetails.getUsername());
+        if (cached != null && MessageDigest.isEqual(cached, mac)) {
+            return;
+        }
+
+        super.additionalAuthenticationChecks(userDetails, authentication);
+        verified.put(userDetails.getUsername(), mac);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        if (event.passwordChanged() || event.usernameChanged()) {
+            log.debug("Dropping cached credential verification for user {}", event.userId());
+            verified.invalidate(event.previousUsername());
+            verified.invalidate(event.username());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        verified.invalidate(event.username());
+    }
+
+    private byte[] mac(String username, String presentedPassword, String storedHash) {
+        try {
+            Mac hmac = Mac.getInstance(HMAC_ALGORITHM);
+            hmac.init(key);
+            hmac.update(username.getBytes(StandardCharsets.UTF_8));
+            hmac.update((byte) 0);
+            hmac.update(presentedPassword.getBytes(StandardCharsets.UTF_8));
+            hmac.update((byte) 0);
+            return hmac.doFinal(storedHash.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+        }
+    }
+}
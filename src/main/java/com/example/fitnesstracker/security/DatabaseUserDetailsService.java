@@ -0,0 +1,34 @@
+package com.example.fitnesstracker.security;
+
+import com.example.fitnesstracker.model.User;
+import com.example.fitnesstracker.repository.UserRepository;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * Loads accounts from the users table. Lookups go through the natural-id cache, so repeated
+ * logins by the same user do not reach the database.
+ */
+public class DatabaseUserDetailsService implements UserDetailsService {
+
+    private final UserRepository userRepository;
+
+    public DatabaseUserDetailsService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        User user = userRepository.findByNaturalUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getUsername(),
+                user.getPassword(),
+                user.getRole(),
+                AuthorityUtils.createAuthorityList("ROLE_" + user.getRole()));
+    }
+}
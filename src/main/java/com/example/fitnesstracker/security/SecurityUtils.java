@@ -1,5 +1,6 @@
 package com.example.fitnesstracker.security;
 
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -7,9 +8,9 @@ import org.springframework.security.core.userdetails.UserDetails;
 public class SecurityUtils {
 
     public static String getCurrentUsername() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Authentication authentication = currentAuthentication();
 
-        if (authentication == null || !authentication.isAuthenticated()) {
+        if (authentication == null) {
             return null;
         }
 
@@ -21,4 +22,29 @@ public class SecurityUtils {
 
         return principal.toString();
     }
+
+    /**
+     * @return the database id carried by the current principal, or {@code null} if the principal
+     * does not carry one
+     */
+    public static Long getCurrentUserId() {
+        Authentication authentication = currentAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+
+        return null;
+    }
+
+    private static Authentication currentAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+
+        return authentication;
+    }
 }
@@ -0,0 +1,77 @@
+package com.example.fitnesstracker.security;
+
+import com.example.fitnesstracker.event.UserAccountChangedEvent;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Revoked bearer tokens, by token id, plus a per-user "not before" instant that invalidates
+ * every token issued up to and including it. Entries only need to outlive the token lifetime, so they expire
+ * after it; neither cache is size-bounded, since evicting an entry early would resurrect a
+ * revoked token.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private final Clock clock;
+    private final Cache<String, Boolean> revokedTokenIds;
+    private final Cache<Long, Long> notBeforeByUserId;
+
+    @Autowired
+    public TokenRevocationList(@Value("${app.security.token.ttl}") Duration tokenTtl) {
+        this(tokenTtl, Clock.systemUTC());
+    }
+
+    TokenRevocationList(Duration tokenTtl, Clock clock) {
+        this.clock = clock;
+        this.revokedTokenIds = Caffeine.newBuilder().expireAfterWrite(tokenTtl).build();
+        this.notBeforeByUserId = Caffeine.newBuilder().expireAfterWrite(tokenTtl).build();
+    }
+
+    public void revoke(String tokenId) {
+        revokedTokenIds.put(tokenId, Boolean.TRUE);
+    }
+
+    /**
+     * Revokes the user's tokens issued at or before {@code epochMillis}. Token timestamps only have
+     * millisecond precision, so one issued in the same millisecond as an account change may still
+     * carry the old claims and is revoked too.
+     */
+    public void revokeAllIssuedBefore(Long userId, long epochMillis) {
+        notBeforeByUserId.asMap().merge(userId, epochMillis, Math::max);
+    }
+
+    public boolean isRevoked(String tokenId, Long userId, long issuedAtMillis) {
+        if (revokedTokenIds.getIfPresent(tokenId) != null) {
+            return true;
+        }
+        Long notBefore = notBeforeByUserId.getIfPresent(userId);
+        return notBefore != null && issuedAtMillis <= notBefore;
+    }
+
+    /**
+     * Any account change may alter the username, password or role baked into outstanding
+     * tokens, so all of them are invalidated.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        log.debug("Revoking outstanding tokens of updated user {}", event.userId());
+        revokeAllIssuedBefore(event.userId(), clock.millis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        log.debug("Revoking outstanding tokens of deleted user {}", event.userId());
+        revokeAllIssuedBefore(event.userId(), clock.millis());
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.fitnesstracker.security;
+
+import com.example.fitnesstracker.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and verifies compact bearer tokens of the form {@code base64url(claims).base64url(hmac)}.
+ * Claims are {@code tokenId|userId|role|issuedAtMillis|expiresAtMillis|username}, signed with
+ * HMAC-SHA256, so verification needs neither the database nor the password encoder.
+ */
+@Slf4j
+@Component
+public class TokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String SEPARATOR = "|";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final TokenRevocationList revocationList;
+    private final Clock clock;
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+
+    private record Claims(String tokenId, Long userId, User.Role role, long issuedAt, long expiresAt, String username) {
+    }
+
+    @Autowired
+    public TokenService(@Value("${app.security.token.secret:}") String secret,
+                        @Value("${app.security.token.ttl}") Duration ttl,
+                        TokenRevocationList revocationList) {
+        this(secret, ttl, revocationList, Clock.systemUTC());
+    }
+
+    TokenService(String secret, Duration ttl, TokenRevocationList revocationList, Clock clock) {
+        this.key = new SecretKeySpec(secretBytes(secret), HMAC_ALGORITHM);
+        this.ttl = ttl;
+        this.revocationList = revocationList;
+        this.clock = clock;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public IssuedToken issue(AuthenticatedUser user) {
+        long now = clock.millis();
+        long expiresAt = now + ttl.toMillis();
+        String claims = String.join(SEPARATOR,
+                UUID.randomUUID().toString(),
+                String.valueOf(user.getId()),
+                user.getRole().name(),
+                String.valueOf(now),
+                String.valueOf(expiresAt),
+                user.getUsername());
+        String payload = ENCODER.encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+        return new IssuedToken(payload + "." + ENCODER.encodeToString(sign(payload)), Instant.ofEpochMilli(expiresAt));
+    }
+
+    /**
+     * @return the principal carried by the token, or empty if the token is malformed, forged,
+     * expired or revoked
+     */
+    public Optional<AuthenticatedUser> authenticate(String token) {
+        return verify(token).map(claims -> new AuthenticatedUser(
+                claims.userId(),
+                claims.username(),
+                null,
+                claims.role(),
+                AuthorityUtils.createAuthorityList("ROLE_" + claims.role())));
+    }
+
+    /**
+     * Revokes a valid token until it would have expired anyway.
+     *
+     * @return whether the token was valid and is now revoked
+     */
+    public boolean revoke(String token) {
+        Optional<Claims> claims = verify(token);
+        claims.ifPresent(c -> revocationList.revoke(c.tokenId()));
+        return claims.isPresent();
+    }
+
+    private Optional<Claims> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+
+        try {
+            String payload = token.substring(0, dot);
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return Optional.empty();
+            }
+
+            String[] fields = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split("\\|", 6);
+            Claims claims = new Claims(fields[0], Long.valueOf(fields[1]), User.Role.valueOf(fields[2]),
+                    Long.parseLong(fields[3]), Long.parseLong(fields[4]), fields[5]);
+            if (clock.millis() >= claims.expiresAt()
+                    || revocationList.isRevoked(claims.tokenId(), claims.userId(), claims.issuedAt())) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            log.debug("Rejecting malformed bearer token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac hmac = Mac.getInstance(HMAC_ALGORITHM);
+            hmac.init(key);
+            return hmac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("No token secret configured; issued tokens will not survive a restart");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.fitnesstracker.security;
+
+import com.example.fitnesstracker.event.UserAccountChangedEvent;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.example.fitnesstracker.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Bounded username-to-id mapping. Unknown usernames are not cached, so newly created users
+ * resolve immediately; renamed and deleted users are evicted once the change has committed.
+ */
+@Slf4j
+@Component
+public class UserIdentityCache {
+
+    private static final long MAX_ENTRIES = 10_000;
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    private final UserRepository userRepository;
+    private final Cache<String, Long> idsByUsername = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(TTL)
+            .build();
+
+    @Autowired
+    public UserIdentityCache(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * @return the database id of the given username, or {@code null} if no such user exists
+     */
+    public Long resolveId(String username) {
+        return idsByUsername.get(username, name -> userRepository.findIdByUsername(name).orElse(null));
+    }
+
+    /**
+     * @return the database id of the authenticated caller, or {@code null} if there is none
+     */
+    public Long getCurrentUserId() {
+        Long id = SecurityUtils.getCurrentUserId();
+        if (id != null) {
+            return id;
+        }
+
+        String username = SecurityUtils.getCurrentUsername();
+        return username == null ? null : resolveId(username);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        if (event.usernameChanged()) {
+            log.debug("Evicting identity of renamed user {}", event.userId());
+            idsByUsername.invalidate(event.previousUsername());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        log.debug("Evicting identity of deleted user {}", event.userId());
+        idsByUsername.invalidate(event.username());
+    }
+}
@@ -1,31 +1,20 @@
 package com.example.fitnesstracker.security;
 
-import com.example.fitnesstracker.model.User;
-import com.example.fitnesstracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class UserSecurity {
 
-    private final UserService userService;
+    private final UserIdentityCache userIdentityCache;
 
     @Autowired
-    public UserSecurity(UserService userService) {
-        this.userService = userService;
+    public UserSecurity(UserIdentityCache userIdentityCache) {
+        this.userIdentityCache = userIdentityCache;
     }
 
     public boolean isCurrentUser(Long userId) {
-        String currentUsername = SecurityUtils.getCurrentUsername();
-        if (currentUsername == null) {
-            return false;
-        }
-
-        try {
-            User user = userService.getUserById(userId);
-            return user.getUsername().equals(currentUsername);
-        } catch (Exception e) {
-            return false;
-        }
+        Long currentUserId = userIdentityCache.getCurrentUserId();
+        return currentUserId != null && currentUserId.equals(userId);
     }
-}
\ No newline at end of file
+}
@@ -9,24 +9,25 @@ import org.springframework.stereotype.Component;
 public class WorkoutPlanSecurity {
 
     private final WorkoutPlanService workoutPlanService;
+    private final UserIdentityCache userIdentityCache;
 
     @Autowired
-    public WorkoutPlanSecurity(WorkoutPlanService workoutPlanService) {
+    public WorkoutPlanSecurity(WorkoutPlanService workoutPlanService, UserIdentityCache userIdentityCache) {
         this.workoutPlanService = workoutPlanService;
+        this.userIdentityCache = userIdentityCache;
     }
 
     public boolean isOwner(Long workoutPlanId) {
-        String currentUsername = SecurityUtils.getCurrentUsername();
-        if (currentUsername == null) {
+        Long currentUserId = userIdentityCache.getCurrentUserId();
+        if (currentUserId == null) {
             return false;
         }
 
         try {
             WorkoutPlan workoutPlan = workoutPlanService.getWorkoutPlanById(workoutPlanId);
-            return workoutPlan.getCreatedBy().getUsername().equals(currentUsername);
+            return workoutPlan.getCreatedBy() != null && currentUserId.equals(workoutPlan.getCreatedBy().getId());
         } catch (Exception e) {
             return false;
         }
     }
 }
-
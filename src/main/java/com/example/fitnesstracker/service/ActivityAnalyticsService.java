@@ -0,0 +1,30 @@
+package com.example.fitnesstracker.service;
+
+import com.example.fitnesstracker.response.ActivityStatsResponse;
+import com.example.fitnesstracker.response.ActivityTrendPointResponse;
+import com.example.fitnesstracker.response.ActivityTypeBreakdownResponse;
+import com.example.fitnesstracker.response.StreakResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ActivityAnalyticsService {
+
+    /**
+     * @return one point per day from {@code from} to {@code to}, with moving averages over {@code window} days
+     */
+    List<ActivityTrendPointResponse> getTrendDto(Long userId, LocalDate from, LocalDate to, int window);
+
+    /**
+     * @return totals and averages per activity type, for types with at least one session in the range
+     */
+    List<ActivityTypeBreakdownResponse> getBreakdownDto(Long userId, LocalDate from, LocalDate to);
+
+    /**
+     * @return totals, averages per session and per-type and per-period totals of the logs from
+     * {@code from} to {@code to}, aggregated by the database
+     */
+    ActivityStatsResponse getStatsDto(Long userId, LocalDate from, LocalDate to, ActivityStatsResponse.Period period);
+
+    StreakResponse getStreaksDto(Long userId);
+}
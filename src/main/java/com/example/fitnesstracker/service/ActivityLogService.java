@@ -1,19 +1,54 @@
 package com.example.fitnesstracker.service;
 
 import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.request.ActivityLogExportFilter;
+import com.example.fitnesstracker.response.ActivityLogBatchResponse;
+import com.example.fitnesstracker.response.ActivityLogIngestResponse;
 import com.example.fitnesstracker.request.ActivityLogRequest;
+import com.example.fitnesstracker.response.ActivityLogResponse;
+import com.example.fitnesstracker.response.CursorPageResponse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ActivityLogService {
 
     ActivityLog createActivityLogDto(ActivityLogRequest request);
 
-    ActivityLog updateActivityLogDto(Long id, ActivityLogRequest request);
+    ActivityLogBatchResponse createActivityLogsBatch(List<ActivityLogRequest> requests);
+
+    /**
+     * Queues the log for creation by the background ingest writers.
+     *
+     * @throws com.example.fitnesstracker.exception.TooManyRequestsException when the ingest queue is full
+     */
+    ActivityLogIngestResponse submitActivityLog(ActivityLogRequest request);
+
+    ActivityLogIngestResponse getIngestStatusDto(String trackingId);
+
+    /**
+     * @param expectedVersion version the log must still have, or {@code null} for an unconditional update
+     */
+    ActivityLog updateActivityLogDto(Long id, ActivityLogRequest request, Long expectedVersion);
 
     ActivityLog getActivityLogById(Long id);
 
+    ActivityLogResponse getActivityLogByIdDto(Long id);
+
+    /**
+     * @return the entity tag of the log's response, read without loading the log
+     */
+    String getActivityLogEntityTag(Long id);
+
     List<ActivityLog> getAllActivityLogs();
 
-    void deleteActivityLog(Long id);
+    CursorPageResponse<ActivityLogResponse> getActivityLogPageDto(String cursor, int size);
+
+    CursorPageResponse<ActivityLogResponse> getActivityLogPageByUserIdDto(Long userId, String cursor, int size);
+
+    CursorPageResponse<ActivityLogResponse> getActivityLogPageByWorkoutPlanIdDto(Long workoutPlanId, String cursor, int size);
+
+    long exportActivityLogs(ActivityLogExportFilter filter, Consumer<ActivityLogResponse> sink);
+
+    void deleteActivityLog(Long id, Long expectedVersion);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.fitnesstracker.service;
+
+import com.example.fitnesstracker.request.TokenRequest;
+import com.example.fitnesstracker.response.TokenResponse;
+
+public interface AuthService {
+
+    TokenResponse issueToken(TokenRequest request);
+
+    void revokeToken(String token);
+}
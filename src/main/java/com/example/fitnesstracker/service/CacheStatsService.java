@@ -0,0 +1,10 @@
+package com.example.fitnesstracker.service;
+
+import com.example.fitnesstracker.response.CacheRegionStatsResponse;
+
+import java.util.List;
+
+public interface CacheStatsService {
+
+    List<CacheRegionStatsResponse> getSecondLevelCacheStats();
+}
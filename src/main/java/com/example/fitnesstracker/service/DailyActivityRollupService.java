@@ -0,0 +1,17 @@
+package com.example.fitnesstracker.service;
+
+import com.example.fitnesstracker.event.ActivityLogChangedEvent;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.example.fitnesstracker.response.DailyActivityStatsResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyActivityRollupService {
+
+    List<DailyActivityStatsResponse> getDailyStatsDto(Long userId, LocalDate from, LocalDate to);
+
+    void onActivityLogChanged(ActivityLogChangedEvent event);
+
+    void onUserDeleted(UserDeletedEvent event);
+}
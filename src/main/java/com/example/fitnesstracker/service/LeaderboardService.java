@@ -0,0 +1,18 @@
+package com.example.fitnesstracker.service;
+
+import com.example.fitnesstracker.leaderboard.LeaderboardMetric;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.response.LeaderboardEntryResponse;
+
+import java.util.List;
+
+public interface LeaderboardService {
+
+    /**
+     * @param window       one of the configured leaderboard windows, e.g. {@code 7d}
+     * @param activityType the type to rank, or {@code null} to rank all types together
+     * @return the best {@code limit} users of the window by {@code metric}, best first
+     */
+    List<LeaderboardEntryResponse> getLeaderboardDto(String window, ActivityLog.ActivityType activityType,
+                                                     LeaderboardMetric metric, int limit);
+}
@@ -4,6 +4,7 @@ import com.example.fitnesstracker.model.User;
 import com.example.fitnesstracker.request.UserRequest;
 import com.example.fitnesstracker.response.UserResponse;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserService {
@@ -16,14 +17,24 @@ public interface UserService {
 
     UserResponse createUserDto(UserRequest userRequest);
 
-    UserResponse updateUserDto(Long id, UserRequest userRequest);
+    /**
+     * @param expectedVersion version the user must still have, or {@code null} for an unconditional update
+     */
+    UserResponse updateUserDto(Long id, UserRequest userRequest, Long expectedVersion);
 
-    void deleteUser(Long id);
+    void deleteUser(Long id, Long expectedVersion);
+
+    /**
+     * @return the entity tag of the user's response, read without loading the user
+     */
+    String getUserEntityTag(Long id);
 
     List<User> getAllUsers();
 
     User getUserById(Long id);
 
+    List<User> getUsersByIds(Collection<Long> ids);
+
     User getUserByUsername(String username);
 
     User createUser(User user);
@@ -5,25 +5,39 @@ import com.example.fitnesstracker.model.WorkoutPlan.DifficultyLevel;
 import com.example.fitnesstracker.request.WorkoutPlanRequest;
 import com.example.fitnesstracker.response.WorkoutPlanResponse;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface WorkoutPlanService {
 
     WorkoutPlanResponse createWorkoutPlanDto(WorkoutPlanRequest request);
 
-    WorkoutPlanResponse updateWorkoutPlanDto(Long id, WorkoutPlanRequest request);
+    /**
+     * @param expectedVersion version the plan must still have, or {@code null} for an unconditional update
+     */
+    WorkoutPlanResponse updateWorkoutPlanDto(Long id, WorkoutPlanRequest request, Long expectedVersion);
 
     WorkoutPlanResponse getWorkoutPlanByIdDto(Long id);
 
+    /**
+     * @return the entity tag of the plan's response, read without loading the plan
+     */
+    String getWorkoutPlanEntityTag(Long id);
+
     List<WorkoutPlanResponse> getWorkoutPlansByUserIdDto(Long userId);
 
     List<WorkoutPlanResponse> getWorkoutPlansByUserIdAndDifficultyLevelDto(Long userId, DifficultyLevel difficultyLevel);
 
-    List<WorkoutPlanResponse> searchWorkoutPlansByNameDto(String name);
+    /**
+     * @return up to {@code limit} plans whose name contains {@code name}, ignoring case, best match first
+     */
+    List<WorkoutPlanResponse> searchWorkoutPlansByNameDto(String name, int limit);
 
     List<WorkoutPlanResponse> getAllWorkoutPlansDto();
 
-    void deleteWorkoutPlan(Long id);
+    void deleteWorkoutPlan(Long id, Long expectedVersion);
 
     WorkoutPlan getWorkoutPlanById(Long id);
+
+    List<WorkoutPlan> getWorkoutPlansByIds(Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,203 @@
+package com.example.fitnesstracker.service.impl;
+
+import com.example.fitnesstracker.analytics.ActivityTimeSeriesStore;
+import com.example.fitnesstracker.analytics.DailySeries;
+import com.example.fitnesstracker.analytics.TypeTotals;
+import com.example.fitnesstracker.exception.BadRequestException;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.repository.ActivityLogRepository;
+import com.example.fitnesstracker.repository.projection.ActivityTotalsByDayView;
+import com.example.fitnesstracker.repository.projection.ActivityTotalsByTypeView;
+import com.example.fitnesstracker.response.ActivityStatsResponse;
+import com.example.fitnesstracker.response.ActivityTrendPointResponse;
+import com.example.fitnesstracker.response.ActivityTypeBreakdownResponse;
+import com.example.fitnesstracker.response.StreakResponse;
+import com.example.fitnesstracker.service.ActivityAnalyticsService;
+import com.example.fitnesstracker.streak.ActivityStreakTracker;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@Timed("service.calls")
+public class ActivityAnalyticsServiceImpl implements ActivityAnalyticsService {
+
+    static final long MAX_RANGE_DAYS = 366;
+    static final int MAX_WINDOW_DAYS = 90;
+
+    private static final ActivityLog.ActivityType[] TYPES = ActivityLog.ActivityType.values();
+
+    private final ActivityTimeSeriesStore timeSeriesStore;
+    private final ActivityLogRepository activityLogRepository;
+    private final ActivityStreakTracker streakTracker;
+
+    @Autowired
+    public ActivityAnalyticsServiceImpl(ActivityTimeSeriesStore timeSeriesStore,
+                                        ActivityLogRepository activityLogRepository,
+                                        ActivityStreakTracker streakTracker) {
+        this.timeSeriesStore = timeSeriesStore;
+        this.activityLogRepository = activityLogRepository;
+        this.streakTracker = streakTracker;
+    }
+
+    @Override
+    public List<ActivityTrendPointResponse> getTrendDto(Long userId, LocalDate from, LocalDate to, int window) {
+        log.debug("Computing {}-day activity trend for userId: {} from {} to {}", window, userId, from, to);
+        requireRange(from, to);
+        if (window < 1 || window > MAX_WINDOW_DAYS) {
+            throw new BadRequestException("Window must be between 1 and " + MAX_WINDOW_DAYS + " days");
+        }
+
+        // Read window - 1 extra days before 'from' so the first points have a full window behind them.
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        DailySeries series = timeSeriesStore.daily(userId, from.minusDays(window - 1), days + window - 1);
+
+        List<ActivityTrendPointResponse> points = new ArrayList<>(days);
+        long windowMinutes = 0;
+        long windowCalories = 0;
+        for (int i = 0; i < series.days(); i++) {
+            windowMinutes += series.minutes()[i];
+            windowCalories += series.calories()[i];
+            if (i >= window) {
+                windowMinutes -= series.minutes()[i - window];
+                windowCalories -= series.calories()[i - window];
+            }
+            if (i >= window - 1) {
+                points.add(new ActivityTrendPointResponse(
+                        from.plusDays(i - (window - 1)),
+                        series.sessions()[i],
+                        series.minutes()[i],
+                        series.calories()[i],
+                        (double) windowMinutes / window,
+                        (double) windowCalories / window));
+            }
+        }
+        return points;
+    }
+
+    @Override
+    public List<ActivityTypeBreakdownResponse> getBreakdownDto(Long userId, LocalDate from, LocalDate to) {
+        log.debug("Computing activity breakdown for userId: {} from {} to {}", userId, from, to);
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+
+        TypeTotals totals = timeSeriesStore.byType(userId, from, to);
+        List<ActivityTypeBreakdownResponse> breakdown = new ArrayList<>();
+        for (ActivityLog.ActivityType type : TYPES) {
+            int sessions = totals.sessions()[type.ordinal()];
+            if (sessions == 0) {
+                continue;
+            }
+            long minutes = totals.minutes()[type.ordinal()];
+            long calories = totals.calories()[type.ordinal()];
+            breakdown.add(new ActivityTypeBreakdownResponse(
+                    type, sessions, minutes, calories, (double) minutes / sessions, (double) calories / sessions));
+        }
+        return breakdown;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ActivityStatsResponse getStatsDto(Long userId, LocalDate from, LocalDate to,
+                                             ActivityStatsResponse.Period period) {
+        log.debug("Computing {} activity stats for userId: {} from {} to {}", period, userId, from, to);
+        requireRange(from, to);
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+
+        long[] sessions = new long[TYPES.length];
+        long[] minutes = new long[TYPES.length];
+        long[] calories = new long[TYPES.length];
+        for (ActivityTotalsByTypeView row : activityLogRepository.sumByActivityType(userId, start, end)) {
+            // Logs without a type are reported as OTHER, as in the analytics store.
+            int type = (row.activityType() != null ? row.activityType() : ActivityLog.ActivityType.OTHER).ordinal();
+            sessions[type] += row.sessionCount();
+            minutes[type] += row.totalMinutes();
+            calories[type] += row.totalCalories();
+        }
+
+        List<ActivityTypeBreakdownResponse> byType = new ArrayList<>();
+        long totalSessions = 0;
+        long totalMinutes = 0;
+        long totalCalories = 0;
+        for (ActivityLog.ActivityType type : TYPES) {
+            long typeSessions = sessions[type.ordinal()];
+            if (typeSessions == 0) {
+                continue;
+            }
+            long typeMinutes = minutes[type.ordinal()];
+            long typeCalories = calories[type.ordinal()];
+            byType.add(new ActivityTypeBreakdownResponse(type, typeSessions, typeMinutes, typeCalories,
+                    (double) typeMinutes / typeSessions, (double) typeCalories / typeSessions));
+            totalSessions += typeSessions;
+            totalMinutes += typeMinutes;
+            totalCalories += typeCalories;
+        }
+
+        return new ActivityStatsResponse(from, to, period, totalSessions, totalMinutes, totalCalories,
+                totalSessions == 0 ? 0 : (double) totalMinutes / totalSessions,
+                totalSessions == 0 ? 0 : (double) totalCalories / totalSessions,
+                byType,
+                byPeriod(activityLogRepository.sumByDay(userId, start, end), from, to, period));
+    }
+
+    @Override
+    public StreakResponse getStreaksDto(Long userId) {
+        log.debug("Fetching streaks for userId: {}", userId);
+        return streakTracker.stats(userId);
+    }
+
+    // Folds the per-day rows into every week or month touching the range, so the result has one
+    // entry per period whether or not it had sessions.
+    private static List<ActivityStatsResponse.PeriodTotals> byPeriod(List<ActivityTotalsByDayView> days,
+                                                                   LocalDate from, LocalDate to,
+                                                                   ActivityStatsResponse.Period period) {
+        ChronoUnit unit = period == ActivityStatsResponse.Period.WEEK ? ChronoUnit.WEEKS : ChronoUnit.MONTHS;
+        LocalDate first = periodStart(from, period);
+        int count = (int) unit.between(first, periodStart(to, period)) + 1;
+
+        long[] sessions = new long[count];
+        long[] minutes = new long[count];
+        long[] calories = new long[count];
+        for (ActivityTotalsByDayView day : days) {
+            int index = (int) unit.between(first, periodStart(day.day(), period));
+            sessions[index] += day.sessionCount();
+            minutes[index] += day.totalMinutes();
+            calories[index] += day.totalCalories();
+        }
+
+        List<ActivityStatsResponse.PeriodTotals> totals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            totals.add(new ActivityStatsResponse.PeriodTotals(
+                    first.plus(i, unit), sessions[i], minutes[i], calories[i]));
+        }
+        return totals;
+    }
+
+    private static LocalDate periodStart(LocalDate day, ActivityStatsResponse.Period period) {
+        return period == ActivityStatsResponse.Period.WEEK
+                ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                : day.withDayOfMonth(1);
+    }
+
+    private static void requireRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+}
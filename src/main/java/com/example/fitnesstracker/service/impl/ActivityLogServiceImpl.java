@@ -1,51 +1,180 @@
 package com.example.fitnesstracker.service.impl;
 
+import com.example.fitnesstracker.audit.AuditTrail;
+import com.example.fitnesstracker.event.ActivityLogChangedEvent;
+import com.example.fitnesstracker.event.ActivityLogSnapshot;
+import com.example.fitnesstracker.exception.BadRequestException;
 import com.example.fitnesstracker.exception.ResourceNotFoundException;
+import com.example.fitnesstracker.exception.TooManyRequestsException;
+import com.example.fitnesstracker.ingest.ActivityLogIngestQueue;
 import com.example.fitnesstracker.mapper.ActivityLogMapper;
 import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.model.AuditEvent;
+import com.example.fitnesstracker.model.User;
+import com.example.fitnesstracker.model.WorkoutPlan;
+import com.example.fitnesstracker.pagination.ActivityLogCursor;
 import com.example.fitnesstracker.repository.ActivityLogRepository;
+import com.example.fitnesstracker.repository.projection.ActivityLogView;
+import com.example.fitnesstracker.request.ActivityLogExportFilter;
 import com.example.fitnesstracker.request.ActivityLogRequest;
+import com.example.fitnesstracker.response.ActivityLogBatchResponse;
+import com.example.fitnesstracker.response.ActivityLogIngestResponse;
+import com.example.fitnesstracker.response.ActivityLogResponse;
+import com.example.fitnesstracker.response.CursorPageResponse;
 import com.example.fitnesstracker.service.ActivityLogService;
+import com.example.fitnesstracker.service.UserService;
+import com.example.fitnesstracker.service.WorkoutPlanService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed("service.calls")
 public class ActivityLogServiceImpl implements ActivityLogService {
 
+    static final int MAX_PAGE_SIZE = 500;
+
     private final ActivityLogRepository activityLogRepository;
     private final ActivityLogMapper activityLogMapper;
+    private final UserService userService;
+    private final WorkoutPlanService workoutPlanService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditTrail auditTrail;
+    private final ActivityLogIngestQueue ingestQueue;
 
     @Autowired
     public ActivityLogServiceImpl(ActivityLogRepository activityLogRepository,
-                                  ActivityLogMapper activityLogMapper) {
+                                  ActivityLogMapper activityLogMapper,
+                                  UserService userService,
+                                  WorkoutPlanService workoutPlanService,
+                                  Validator validator,
+                                  ApplicationEventPublisher eventPublisher,
+                                  AuditTrail auditTrail,
+                                  ActivityLogIngestQueue ingestQueue) {
         this.activityLogRepository = activityLogRepository;
         this.activityLogMapper = activityLogMapper;
+        this.userService = userService;
+        this.workoutPlanService = workoutPlanService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.auditTrail = auditTrail;
+        this.ingestQueue = ingestQueue;
     }
 
     @Override
+    @Transactional
     public ActivityLog createActivityLogDto(ActivityLogRequest request) {
-        log.info("Creating activity log for userId: {}", request.userId());
+        log.debug("Creating activity log for userId: {}", request.userId());
         ActivityLog savedLog = activityLogRepository.save(activityLogMapper.toEntityWithResolvedRelationships(request));
+        eventPublisher.publishEvent(ActivityLogChangedEvent.created(savedLog));
+        auditTrail.record(AuditEvent.Action.CREATE, AuditEvent.EntityType.ACTIVITY_LOG, savedLog.getId());
         log.debug("Activity log created with ID: {}", savedLog.getId());
         return savedLog;
     }
 
+    /**
+     * Creates every valid item of the batch in one transaction. Users and workout plans are resolved
+     * with one IN query each and the inserts go out as JDBC batches; invalid items are reported
+     * individually and do not affect the rest of the batch.
+     */
+    @Override
+    @Transactional
+    public ActivityLogBatchResponse createActivityLogsBatch(List<ActivityLogRequest> requests) {
+        log.debug("Creating batch of {} activity logs", requests.size());
+        Map<Long, User> users = userService.getUsersByIds(collectIds(requests, ActivityLogRequest::userId)).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, WorkoutPlan> workoutPlans = workoutPlanService.getWorkoutPlansByIds(
+                        collectIds(requests, ActivityLogRequest::workoutPlanId)).stream()
+                .collect(Collectors.toMap(WorkoutPlan::getId, Function.identity()));
+
+        String[] errors = new String[requests.size()];
+        List<ActivityLog> toSave = new ArrayList<>(requests.size());
+        List<Integer> savedIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            ActivityLogRequest request = requests.get(i);
+            ActivityLog activityLog = activityLogMapper.toEntity(request);
+            errors[i] = resolveRelationships(activityLog, request, users, workoutPlans);
+            if (errors[i] == null) {
+                errors[i] = validate(activityLog);
+            }
+            if (errors[i] == null) {
+                toSave.add(activityLog);
+                savedIndexes.add(i);
+            }
+        }
+
+        List<ActivityLog> saved = activityLogRepository.saveAll(toSave);
+        saved.forEach(activityLog -> eventPublisher.publishEvent(ActivityLogChangedEvent.created(activityLog)));
+        auditTrail.recordAll(AuditEvent.Action.CREATE, AuditEvent.EntityType.ACTIVITY_LOG,
+                saved.stream().map(ActivityLog::getId).toList());
+
+        Long[] ids = new Long[requests.size()];
+        for (int i = 0; i < saved.size(); i++) {
+            ids[savedIndexes.get(i)] = saved.get(i).getId();
+        }
+        List<ActivityLogBatchResponse.ItemResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(new ActivityLogBatchResponse.ItemResult(i, ids[i], errors[i]));
+        }
+        log.debug("Activity log batch created {} of {} items", saved.size(), requests.size());
+        return new ActivityLogBatchResponse(requests.size(), saved.size(), requests.size() - saved.size(), results);
+    }
+
+    @Override
+    public ActivityLogIngestResponse submitActivityLog(ActivityLogRequest request) {
+        log.debug("Queueing activity log for userId: {}", request.userId());
+        ActivityLogIngestResponse pending = ingestQueue.offer(request).orElseThrow(() -> {
+            log.warn("Activity log ingest queue is full, rejecting log for userId: {}", request.userId());
+            return new TooManyRequestsException("Too many activity logs are waiting to be written; retry later",
+                    ingestQueue.retryAfter());
+        });
+        log.debug("Activity log queued with tracking ID: {}", pending.trackingId());
+        return pending;
+    }
+
+    @Override
+    public ActivityLogIngestResponse getIngestStatusDto(String trackingId) {
+        log.debug("Fetching ingest status for tracking ID: {}", trackingId);
+        return ingestQueue.status(trackingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Activity log submission", "trackingId", trackingId));
+    }
+
     @Override
-    public ActivityLog updateActivityLogDto(Long id, ActivityLogRequest request) {
-        log.info("Updating activity log with ID: {}", id);
-        ActivityLog updated = activityLogMapper.updateEntityFromRequest(getActivityLogById(id), request);
+    @Transactional
+    public ActivityLog updateActivityLogDto(Long id, ActivityLogRequest request, Long expectedVersion) {
+        log.debug("Updating activity log with ID: {}", id);
+        ActivityLog existing = getActivityLogById(id);
+        Versions.requireVersion("ActivityLog", id, existing.getVersion(), expectedVersion);
+        ActivityLogSnapshot before = ActivityLogSnapshot.of(existing);
+        ActivityLog updated = activityLogMapper.updateEntityFromRequest(existing, request);
         ActivityLog saved = activityLogRepository.save(updated);
-        log.debug("Activity log updated: {}", saved);
+        eventPublisher.publishEvent(ActivityLogChangedEvent.updated(before, saved));
+        auditTrail.record(AuditEvent.Action.UPDATE, AuditEvent.EntityType.ACTIVITY_LOG, id);
+        log.debug("Activity log updated with ID: {}", id);
         return saved;
     }
 
     @Override
     public ActivityLog getActivityLogById(Long id) {
-        log.info("Fetching activity log with ID: {}", id);
+        log.debug("Fetching activity log with ID: {}", id);
         return activityLogRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Activity log not found for ID: {}", id);
@@ -53,19 +182,160 @@ public class ActivityLogServiceImpl implements ActivityLogService {
                 });
     }
 
+    @Override
+    public ActivityLogResponse getActivityLogByIdDto(Long id) {
+        log.debug("Fetching activity log view with ID: {}", id);
+        return activityLogRepository.findViewById(id)
+                .map(activityLogMapper::toResponse)
+                .orElseThrow(() -> {
+                    log.warn("Activity log not found for ID: {}", id);
+                    return new ResourceNotFoundException("ActivityLog", "id", id);
+                });
+    }
+
+    @Override
+    public String getActivityLogEntityTag(Long id) {
+        return activityLogRepository.findEntityTagById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ActivityLog", "id", id));
+    }
+
     @Override
     public List<ActivityLog> getAllActivityLogs() {
-        log.info("Fetching all activity logs");
+        log.debug("Fetching all activity logs");
         List<ActivityLog> logs = activityLogRepository.findAll();
         log.debug("Total activity logs found: {}", logs.size());
         return logs;
     }
 
     @Override
-    public void deleteActivityLog(Long id) {
-        log.info("Deleting activity log with ID: {}", id);
+    public CursorPageResponse<ActivityLogResponse> getActivityLogPageDto(String cursor, int size) {
+        log.debug("Fetching activity log page of size {}", size);
+        ActivityLogCursor after = ActivityLogCursor.decode(cursor);
+        PageRequest limit = pageLimit(size);
+        List<ActivityLogView> rows = after == null
+                ? activityLogRepository.findViewPage(limit)
+                : activityLogRepository.findViewPageAfter(after.dateTime(), after.id(), limit);
+        return toPage(rows, size);
+    }
+
+    @Override
+    public CursorPageResponse<ActivityLogResponse> getActivityLogPageByUserIdDto(Long userId, String cursor, int size) {
+        log.debug("Fetching activity log page of size {} for userId: {}", size, userId);
+        ActivityLogCursor after = ActivityLogCursor.decode(cursor);
+        PageRequest limit = pageLimit(size);
+        List<ActivityLogView> rows = after == null
+                ? activityLogRepository.findViewPageByUserId(userId, limit)
+                : activityLogRepository.findViewPageByUserIdAfter(userId, after.dateTime(), after.id(), limit);
+        return toPage(rows, size);
+    }
+
+    @Override
+    public CursorPageResponse<ActivityLogResponse> getActivityLogPageByWorkoutPlanIdDto(Long workoutPlanId, String cursor, int size) {
+        log.debug("Fetching activity log page of size {} for workoutPlanId: {}", size, workoutPlanId);
+        ActivityLogCursor after = ActivityLogCursor.decode(cursor);
+        PageRequest limit = pageLimit(size);
+        List<ActivityLogView> rows = after == null
+                ? activityLogRepository.findViewPageByWorkoutPlanId(workoutPlanId, limit)
+                : activityLogRepository.findViewPageByWorkoutPlanIdAfter(workoutPlanId, after.dateTime(), after.id(), limit);
+        return toPage(rows, size);
+    }
+
+    /**
+     * Feeds every matching log to the sink while holding only one fetch window in memory.
+     * Rows are streamed as projections, so nothing accumulates in the persistence context.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportActivityLogs(ActivityLogExportFilter filter, Consumer<ActivityLogResponse> sink) {
+        if (filter.from() != null && filter.to() != null && filter.from().isAfter(filter.to())) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+
+        log.debug("Exporting activity logs matching {}", filter);
+        long exported = 0;
+        try (Stream<ActivityLogView> logs = activityLogRepository.streamViewsForExport(
+                filter.userId(), filter.workoutPlanId(), filter.activityType(), filter.from(), filter.to())) {
+            for (ActivityLogView view : (Iterable<ActivityLogView>) logs::iterator) {
+                sink.accept(activityLogMapper.toResponse(view));
+                exported++;
+            }
+        }
+        log.debug("Exported {} activity logs", exported);
+        return exported;
+    }
+
+    @Override
+    @Transactional
+    public void deleteActivityLog(Long id, Long expectedVersion) {
+        log.debug("Deleting activity log with ID: {}", id);
         ActivityLog logEntity = getActivityLogById(id);
+        Versions.requireVersion("ActivityLog", id, logEntity.getVersion(), expectedVersion);
+        eventPublisher.publishEvent(ActivityLogChangedEvent.deleted(logEntity));
         activityLogRepository.delete(logEntity);
+        auditTrail.record(AuditEvent.Action.DELETE, AuditEvent.EntityType.ACTIVITY_LOG, id);
         log.debug("Deleted activity log with ID: {}", id);
     }
+
+    /**
+     * Fetches one row beyond the requested size so the presence of a next page is known
+     * without a separate count query.
+     */
+    private PageRequest pageLimit(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    private CursorPageResponse<ActivityLogResponse> toPage(List<ActivityLogView> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<ActivityLogView> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? ActivityLogCursor.of(page.get(page.size() - 1)).encode() : null;
+        log.debug("Activity log page contains {} rows, hasNext: {}", page.size(), hasNext);
+        return new CursorPageResponse<>(
+                page.stream().map(activityLogMapper::toResponse).toList(),
+                size,
+                nextCursor);
+    }
+
+    private static Set<Long> collectIds(List<ActivityLogRequest> requests, Function<ActivityLogRequest, Long> id) {
+        return requests.stream()
+                .map(id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static String resolveRelationships(ActivityLog activityLog,
+                                               ActivityLogRequest request,
+                                               Map<Long, User> users,
+                                               Map<Long, WorkoutPlan> workoutPlans) {
+        if (request.userId() == null) {
+            return "userId is required";
+        }
+        User user = users.get(request.userId());
+        if (user == null) {
+            return String.format("User not found with id: '%s'", request.userId());
+        }
+        activityLog.setUser(user);
+
+        if (request.workoutPlanId() != null) {
+            WorkoutPlan workoutPlan = workoutPlans.get(request.workoutPlanId());
+            if (workoutPlan == null) {
+                return String.format("WorkoutPlan not found with id: '%s'", request.workoutPlanId());
+            }
+            activityLog.setWorkoutPlan(workoutPlan);
+        }
+        return null;
+    }
+
+    private String validate(ActivityLog activityLog) {
+        Set<ConstraintViolation<ActivityLog>> violations = validator.validate(activityLog);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.example.fitnesstracker.service.impl;
+
+import com.example.fitnesstracker.exception.BadRequestException;
+import com.example.fitnesstracker.request.TokenRequest;
+import com.example.fitnesstracker.response.TokenResponse;
+import com.example.fitnesstracker.security.AuthenticatedUser;
+import com.example.fitnesstracker.security.TokenService;
+import com.example.fitnesstracker.service.AuthService;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@Timed("service.calls")
+public class AuthServiceImpl implements AuthService {
+
+    private static final String TOKEN_TYPE = "Bearer";
+
+    private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
+
+    @Autowired
+    public AuthServiceImpl(AuthenticationManager authenticationManager, TokenService tokenService) {
+        this.authenticationManager = authenticationManager;
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    public TokenResponse issueToken(TokenRequest request) {
+        log.debug("Issuing token for username: {}", request.username());
+        Authentication authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(request.username(), request.password()));
+        TokenService.IssuedToken issued = tokenService.issue((AuthenticatedUser) authentication.getPrincipal());
+        return new TokenResponse(issued.token(), TOKEN_TYPE, tokenService.getTtl().toSeconds(), issued.expiresAt());
+    }
+
+    @Override
+    public void revokeToken(String token) {
+        if (token == null || !tokenService.revoke(token)) {
+            throw new BadRequestException("A valid bearer token is required");
+        }
+        log.debug("Bearer token revoked");
+    }
+}
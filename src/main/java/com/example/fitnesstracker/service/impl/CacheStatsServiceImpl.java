@@ -0,0 +1,56 @@
+package com.example.fitnesstracker.service.impl;
+
+import com.example.fitnesstracker.response.CacheRegionStatsResponse;
+import com.example.fitnesstracker.service.CacheStatsService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+@Slf4j
+@Service
+@Timed("service.calls")
+public class CacheStatsServiceImpl implements CacheStatsService {
+
+    private final Statistics statistics;
+
+    @Autowired
+    public CacheStatsServiceImpl(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public List<CacheRegionStatsResponse> getSecondLevelCacheStats() {
+        log.debug("Collecting second-level cache statistics");
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> toResponse(region, statistics.getDomainDataRegionStatistics(region)))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static CacheRegionStatsResponse toResponse(String region, CacheRegionStatistics stats) {
+        if (stats == null) {
+            return null;
+        }
+
+        long hits = stats.getHitCount();
+        long misses = stats.getMissCount();
+        long lookups = hits + misses;
+        return new CacheRegionStatsResponse(
+                region,
+                hits,
+                misses,
+                stats.getPutCount(),
+                stats.getElementCountInMemory(),
+                lookups == 0 ? 0.0 : (double) hits / lookups);
+    }
+}
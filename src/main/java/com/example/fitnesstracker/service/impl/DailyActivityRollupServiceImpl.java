@@ -0,0 +1,126 @@
+package com.example.fitnesstracker.service.impl;
+
+import com.example.fitnesstracker.event.ActivityLogChangedEvent;
+import com.example.fitnesstracker.event.ActivityLogSnapshot;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.example.fitnesstracker.exception.BadRequestException;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.repository.DailyActivityRollupRepository;
+import com.example.fitnesstracker.response.DailyActivityStatsResponse;
+import com.example.fitnesstracker.service.DailyActivityRollupService;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Slf4j
+@Service
+@Timed("service.calls")
+public class DailyActivityRollupServiceImpl implements DailyActivityRollupService {
+
+    static final long MAX_RANGE_DAYS = 366;
+
+    private final DailyActivityRollupRepository rollupRepository;
+
+    @Autowired
+    public DailyActivityRollupServiceImpl(DailyActivityRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    @Override
+    public List<DailyActivityStatsResponse> getDailyStatsDto(Long userId, LocalDate from, LocalDate to) {
+        log.debug("Fetching daily stats for userId: {} from {} to {}", userId, from, to);
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        return rollupRepository.findByUserIdAndDayBetweenOrderByDayAscActivityTypeAsc(userId, from, to).stream()
+                .map(rollup -> new DailyActivityStatsResponse(
+                        rollup.getDay(),
+                        rollup.getActivityType(),
+                        rollup.getSessionCount(),
+                        rollup.getTotalMinutes(),
+                        rollup.getTotalCalories()))
+                .toList();
+    }
+
+    /**
+     * Moves the contribution of the changed log between rollup rows. Runs synchronously inside
+     * the transaction that wrote the log, so the rollups commit or roll back together with it.
+     */
+    @Override
+    @EventListener
+    @Transactional
+    public void onActivityLogChanged(ActivityLogChangedEvent event) {
+        ActivityLogSnapshot before = countable(event.before());
+        ActivityLogSnapshot after = countable(event.after());
+
+        if (before != null && after != null && sameRollup(before, after)) {
+            applyDelta(after, 0,
+                    after.durationMinutes() - before.durationMinutes(),
+                    after.caloriesBurned() - before.caloriesBurned());
+            return;
+        }
+        if (before != null) {
+            applyDelta(before, -1, -before.durationMinutes(), -before.caloriesBurned());
+        }
+        if (after != null) {
+            applyDelta(after, 1, after.durationMinutes(), after.caloriesBurned());
+        }
+    }
+
+    @Override
+    @EventListener
+    @Transactional
+    public void onUserDeleted(UserDeletedEvent event) {
+        int removed = rollupRepository.deleteAllByUserId(event.userId());
+        log.debug("Removed {} daily rollups of deleted user ID: {}", removed, event.userId());
+    }
+
+    private void applyDelta(ActivityLogSnapshot snapshot, long sessions, long minutes, long calories) {
+        if (sessions == 0 && minutes == 0 && calories == 0) {
+            return;
+        }
+
+        Long userId = snapshot.userId();
+        LocalDate day = snapshot.dateTime().toLocalDate();
+        ActivityLog.ActivityType activityType = rollupType(snapshot);
+        if (sessions > 0) {
+            rollupRepository.addToRollup(userId, day, activityType, sessions, minutes, calories);
+            return;
+        }
+
+        int updated = rollupRepository.applyDelta(userId, day, activityType, sessions, minutes, calories);
+        if (updated == 0) {
+            log.warn("No daily rollup for userId: {} on {} ({}) to subtract from", userId, day, activityType);
+        } else if (sessions < 0) {
+            rollupRepository.deleteIfEmpty(userId, day, activityType);
+        }
+    }
+
+    /**
+     * Logs without a user or timestamp cannot be attributed to a rollup row and are ignored.
+     */
+    private static ActivityLogSnapshot countable(ActivityLogSnapshot snapshot) {
+        return snapshot != null && snapshot.userId() != null && snapshot.dateTime() != null ? snapshot : null;
+    }
+
+    private static boolean sameRollup(ActivityLogSnapshot a, ActivityLogSnapshot b) {
+        return a.userId().equals(b.userId())
+                && a.dateTime().toLocalDate().equals(b.dateTime().toLocalDate())
+                && rollupType(a) == rollupType(b);
+    }
+
+    private static ActivityLog.ActivityType rollupType(ActivityLogSnapshot snapshot) {
+        return snapshot.activityType() != null ? snapshot.activityType() : ActivityLog.ActivityType.OTHER;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.fitnesstracker.service.impl;
+
+import com.example.fitnesstracker.exception.BadRequestException;
+import com.example.fitnesstracker.leaderboard.ActivityLeaderboard;
+import com.example.fitnesstracker.leaderboard.LeaderboardMetric;
+import com.example.fitnesstracker.leaderboard.LeaderboardStanding;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.repository.UserRepository;
+import com.example.fitnesstracker.repository.projection.UserNameView;
+import com.example.fitnesstracker.response.LeaderboardEntryResponse;
+import com.example.fitnesstracker.service.LeaderboardService;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@Timed("service.calls")
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    static final int MAX_LIMIT = 500;
+
+    private final ActivityLeaderboard leaderboard;
+    private final UserRepository userRepository;
+
+    @Autowired
+    public LeaderboardServiceImpl(ActivityLeaderboard leaderboard, UserRepository userRepository) {
+        this.leaderboard = leaderboard;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public List<LeaderboardEntryResponse> getLeaderboardDto(String window, ActivityLog.ActivityType activityType,
+                                                            LeaderboardMetric metric, int limit) {
+        log.debug("Fetching top {} users by {} over {} for type: {}", limit, metric, window, activityType);
+        if (!leaderboard.windows().contains(window)) {
+            throw new BadRequestException("Window must be one of " + leaderboard.windows());
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        List<LeaderboardStanding> standings = leaderboard.top(window, activityType, metric, limit);
+        if (standings.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> usernames = userRepository.findNamesByIdIn(
+                        standings.stream().map(LeaderboardStanding::userId).toList())
+                .stream()
+                .collect(Collectors.toMap(UserNameView::id, UserNameView::username));
+
+        List<LeaderboardEntryResponse> entries = new ArrayList<>(standings.size());
+        for (LeaderboardStanding standing : standings) {
+            String username = usernames.get(standing.userId());
+            // A user deleted since the ranking was read is simply left out.
+            if (username != null) {
+                entries.add(new LeaderboardEntryResponse(entries.size() + 1, standing.userId(), username,
+                        standing.sessionCount(), standing.totalMinutes(), standing.totalCalories()));
+            }
+        }
+        return entries;
+    }
+}
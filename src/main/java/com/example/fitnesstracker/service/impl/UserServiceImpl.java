@@ -1,39 +1,58 @@
 package com.example.fitnesstracker.service.impl;
 
+import com.example.fitnesstracker.audit.AuditTrail;
+import com.example.fitnesstracker.event.ActivityLogChangedEvent;
+import com.example.fitnesstracker.event.UserAccountChangedEvent;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.example.fitnesstracker.event.WorkoutPlanChangedEvent;
 import com.example.fitnesstracker.exception.BadRequestException;
 import com.example.fitnesstracker.exception.ResourceNotFoundException;
 import com.example.fitnesstracker.mapper.UserMapper;
+import com.example.fitnesstracker.model.AuditEvent;
 import com.example.fitnesstracker.model.User;
 import com.example.fitnesstracker.repository.UserRepository;
 import com.example.fitnesstracker.request.UserRequest;
 import com.example.fitnesstracker.response.UserResponse;
 import com.example.fitnesstracker.service.UserService;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed("service.calls")
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditTrail auditTrail;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, UserMapper userMapper) {
+    public UserServiceImpl(UserRepository userRepository,
+                           PasswordEncoder passwordEncoder,
+                           UserMapper userMapper,
+                           ApplicationEventPublisher eventPublisher,
+                           AuditTrail auditTrail) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userMapper = userMapper;
+        this.eventPublisher = eventPublisher;
+        this.auditTrail = auditTrail;
     }
 
     @Override
     public List<UserResponse> getAllUsersDto() {
-        log.info("Fetching all users");
+        log.debug("Fetching all users");
         return getAllUsers().stream()
                 .map(userMapper::toResponse)
                 .collect(Collectors.toList());
@@ -41,27 +60,30 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserResponse getUserByIdDto(Long id) {
-        log.info("Fetching user DTO by ID: {}", id);
+        log.debug("Fetching user DTO by ID: {}", id);
         return userMapper.toResponse(getUserById(id));
     }
 
     @Override
     public UserResponse getUserByUsernameDto(String username) {
-        log.info("Fetching user DTO by username: {}", username);
+        log.debug("Fetching user DTO by username: {}", username);
         return userMapper.toResponse(getUserByUsername(username));
     }
 
     @Override
     public UserResponse createUserDto(UserRequest userRequest) {
-        log.info("Creating user DTO with username: {}", userRequest.username());
+        log.debug("Creating user DTO with username: {}", userRequest.username());
         User saved = createUser(userMapper.toEntity(userRequest));
         return userMapper.toResponse(saved);
     }
 
     @Override
-    public UserResponse updateUserDto(Long id, UserRequest userRequest) {
-        log.info("Updating user DTO with ID: {}", id);
+    @Transactional
+    public UserResponse updateUserDto(Long id, UserRequest userRequest, Long expectedVersion) {
+        log.debug("Updating user DTO with ID: {}", id);
         User user = getUserById(id);
+        Versions.requireVersion("User", id, user.getVersion(), expectedVersion);
+        String previousUsername = user.getUsername();
 
         if (!user.getUsername().equals(userRequest.username()) &&
                 userRepository.existsByUsername(userRequest.username())) {
@@ -77,16 +99,25 @@ public class UserServiceImpl implements UserService {
 
         user = userMapper.updateEntityFromRequest(user, userRequest);
 
-        if (userRequest.password() != null && !userRequest.password().isEmpty()) {
+        boolean passwordChanged = userRequest.password() != null && !userRequest.password().isEmpty();
+        if (passwordChanged) {
             log.debug("Encoding new password for user ID: {}", id);
             user.setPassword(passwordEncoder.encode(userRequest.password()));
         }
 
         User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(id, previousUsername, saved.getUsername(), passwordChanged));
+        auditTrail.record(AuditEvent.Action.UPDATE, AuditEvent.EntityType.USER, id);
         log.debug("User updated: {}", saved.getId());
         return userMapper.toResponse(saved);
     }
 
+    @Override
+    public String getUserEntityTag(Long id) {
+        return userRepository.findEntityTagById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+    }
+
     @Override
     public List<User> getAllUsers() {
         log.debug("Retrieving all user entities");
@@ -103,10 +134,16 @@ public class UserServiceImpl implements UserService {
                 });
     }
 
+    @Override
+    public List<User> getUsersByIds(Collection<Long> ids) {
+        log.debug("Retrieving {} users by ID", ids.size());
+        return ids.isEmpty() ? List.of() : userRepository.findAllById(ids);
+    }
+
     @Override
     public User getUserByUsername(String username) {
         log.debug("Retrieving user by username: {}", username);
-        return userRepository.findByUsername(username)
+        return userRepository.findByNaturalUsername(username)
                 .orElseThrow(() -> {
                     log.warn("User not found with username: {}", username);
                     return new ResourceNotFoundException("User", "username", username);
@@ -115,7 +152,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User createUser(User user) {
-        log.info("Creating user with username: {}", user.getUsername());
+        log.debug("Creating user with username: {}", user.getUsername());
 
         if (userRepository.existsByUsername(user.getUsername())) {
             log.warn("Username '{}' is already taken", user.getUsername());
@@ -129,14 +166,27 @@ public class UserServiceImpl implements UserService {
 
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         User saved = userRepository.save(user);
+        auditTrail.record(AuditEvent.Action.CREATE, AuditEvent.EntityType.USER, saved.getId());
         log.debug("User created with ID: {}", saved.getId());
         return saved;
     }
 
     @Override
-    public void deleteUser(Long id) {
-        log.info("Deleting user with ID: {}", id);
-        userRepository.delete(getUserById(id));
+    @Transactional
+    public void deleteUser(Long id, Long expectedVersion) {
+        log.debug("Deleting user with ID: {}", id);
+        User user = getUserById(id);
+        Versions.requireVersion("User", id, user.getVersion(), expectedVersion);
+        // Cascading through the user's plans also removes other users' logs attached to them.
+        user.getWorkoutPlans().stream()
+                .flatMap(workoutPlan -> workoutPlan.getActivityLogs().stream())
+                .filter(activityLog -> activityLog.getUser() != null && !id.equals(activityLog.getUser().getId()))
+                .forEach(activityLog -> eventPublisher.publishEvent(ActivityLogChangedEvent.deleted(activityLog)));
+        user.getWorkoutPlans().forEach(workoutPlan ->
+                eventPublisher.publishEvent(WorkoutPlanChangedEvent.deleted(workoutPlan.getId())));
+        eventPublisher.publishEvent(new UserDeletedEvent(id, user.getUsername()));
+        userRepository.delete(user);
+        auditTrail.record(AuditEvent.Action.DELETE, AuditEvent.EntityType.USER, id);
         log.debug("User deleted with ID: {}", id);
     }
 }
\ No newline at end of file
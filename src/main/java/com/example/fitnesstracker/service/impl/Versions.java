@@ -0,0 +1,25 @@
+package com.example.fitnesstracker.service.impl;
+
+import com.example.fitnesstracker.exception.PreconditionFailedException;
+
+import java.util.Objects;
+
+/**
+ * Precondition check shared by the conditional updates and deletes.
+ */
+final class Versions {
+
+    private Versions() {
+    }
+
+    /**
+     * Fails unless the loaded entity still has the version the client's If-Match referred to.
+     * Hibernate's optimistic lock then covers the rest of the transaction.
+     */
+    static void requireVersion(String resourceName, Long id, Long actualVersion, Long expectedVersion) {
+        if (expectedVersion != null && !Objects.equals(actualVersion, expectedVersion)) {
+            throw new PreconditionFailedException(
+                    resourceName + " " + id + " has been modified; re-read it and retry");
+        }
+    }
+}
@@ -1,60 +1,98 @@
 package com.example.fitnesstracker.service.impl;
 
+import com.example.fitnesstracker.audit.AuditTrail;
+import com.example.fitnesstracker.event.ActivityLogChangedEvent;
+import com.example.fitnesstracker.event.WorkoutPlanChangedEvent;
+import com.example.fitnesstracker.exception.BadRequestException;
 import com.example.fitnesstracker.exception.ResourceNotFoundException;
 import com.example.fitnesstracker.mapper.WorkoutPlanMapper;
+import com.example.fitnesstracker.model.AuditEvent;
 import com.example.fitnesstracker.model.WorkoutPlan;
 import com.example.fitnesstracker.model.WorkoutPlan.DifficultyLevel;
 import com.example.fitnesstracker.repository.WorkoutPlanRepository;
 import com.example.fitnesstracker.request.WorkoutPlanRequest;
 import com.example.fitnesstracker.response.WorkoutPlanResponse;
+import com.example.fitnesstracker.search.WorkoutPlanSearchIndex;
 import com.example.fitnesstracker.service.WorkoutPlanService;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed("service.calls")
 public class WorkoutPlanServiceImpl implements WorkoutPlanService {
 
+    static final int MAX_SEARCH_RESULTS = 500;
+
     private final WorkoutPlanRepository workoutPlanRepository;
     private final WorkoutPlanMapper workoutPlanMapper;
+    private final WorkoutPlanSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditTrail auditTrail;
 
     @Autowired
     public WorkoutPlanServiceImpl(WorkoutPlanRepository workoutPlanRepository,
-                                  WorkoutPlanMapper workoutPlanMapper) {
+                                  WorkoutPlanMapper workoutPlanMapper,
+                                  WorkoutPlanSearchIndex searchIndex,
+                                  ApplicationEventPublisher eventPublisher,
+                                  AuditTrail auditTrail) {
         this.workoutPlanRepository = workoutPlanRepository;
         this.workoutPlanMapper = workoutPlanMapper;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
+        this.auditTrail = auditTrail;
     }
 
     @Override
     public WorkoutPlanResponse createWorkoutPlanDto(WorkoutPlanRequest request) {
-        log.info("Creating workout plan for userId: {}", request.userId());
+        log.debug("Creating workout plan for userId: {}", request.userId());
         WorkoutPlan saved = workoutPlanRepository.save(workoutPlanMapper.toEntityWithResolvedRelationships(request));
+        eventPublisher.publishEvent(WorkoutPlanChangedEvent.saved(saved));
+        auditTrail.record(AuditEvent.Action.CREATE, AuditEvent.EntityType.WORKOUT_PLAN, saved.getId());
         log.debug("Workout plan created with ID: {}", saved.getId());
         return workoutPlanMapper.toResponse(saved);
     }
 
     @Override
-    public WorkoutPlanResponse updateWorkoutPlanDto(Long id, WorkoutPlanRequest request) {
-        log.info("Updating workout plan with ID: {}", id);
-        WorkoutPlan updated = workoutPlanMapper.updateEntityFromRequest(getWorkoutPlanById(id), request);
+    @Transactional
+    public WorkoutPlanResponse updateWorkoutPlanDto(Long id, WorkoutPlanRequest request, Long expectedVersion) {
+        log.debug("Updating workout plan with ID: {}", id);
+        WorkoutPlan existing = getWorkoutPlanById(id);
+        Versions.requireVersion("WorkoutPlan", id, existing.getVersion(), expectedVersion);
+        WorkoutPlan updated = workoutPlanMapper.updateEntityFromRequest(existing, request);
         WorkoutPlan saved = workoutPlanRepository.save(updated);
+        eventPublisher.publishEvent(WorkoutPlanChangedEvent.saved(saved));
+        auditTrail.record(AuditEvent.Action.UPDATE, AuditEvent.EntityType.WORKOUT_PLAN, id);
         log.debug("Workout plan updated with ID: {}", saved.getId());
         return workoutPlanMapper.toResponse(saved);
     }
 
     @Override
     public WorkoutPlanResponse getWorkoutPlanByIdDto(Long id) {
-        log.info("Fetching workout plan DTO by ID: {}", id);
+        log.debug("Fetching workout plan DTO by ID: {}", id);
         return workoutPlanMapper.toResponse(getWorkoutPlanById(id));
     }
 
+    @Override
+    public String getWorkoutPlanEntityTag(Long id) {
+        return workoutPlanRepository.findEntityTagById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("WorkoutPlan", "id", id));
+    }
+
     @Override
     public List<WorkoutPlanResponse> getWorkoutPlansByUserIdDto(Long userId) {
-        log.info("Fetching workout plans for userId: {}", userId);
+        log.debug("Fetching workout plans for userId: {}", userId);
         return workoutPlanRepository.findByCreatedById(userId).stream()
                 .map(workoutPlanMapper::toResponse)
                 .collect(Collectors.toList());
@@ -62,32 +100,49 @@ public class WorkoutPlanServiceImpl implements WorkoutPlanService {
 
     @Override
     public List<WorkoutPlanResponse> getWorkoutPlansByUserIdAndDifficultyLevelDto(Long userId, DifficultyLevel difficultyLevel) {
-        log.info("Fetching workout plans for userId: {} with difficulty level: {}", userId, difficultyLevel);
+        log.debug("Fetching workout plans for userId: {} with difficulty level: {}", userId, difficultyLevel);
         return workoutPlanRepository.findByCreatedByIdAndDifficultyLevel(userId, difficultyLevel).stream()
                 .map(workoutPlanMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<WorkoutPlanResponse> searchWorkoutPlansByNameDto(String name) {
-        log.info("Searching workout plans by name: {}", name);
-        return workoutPlanRepository.findByNameContainingIgnoreCase(name).stream()
+    public List<WorkoutPlanResponse> searchWorkoutPlansByNameDto(String name, int limit) {
+        log.debug("Searching workout plans by name: {}", name);
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new BadRequestException("Search limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        List<Long> ids = searchIndex.search(name, limit);
+        Map<Long, WorkoutPlan> plansById = workoutPlanRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(WorkoutPlan::getId, Function.identity()));
+        // findAllById does not keep the ranking, so restore the index's order.
+        return ids.stream()
+                .map(plansById::get)
+                .filter(Objects::nonNull)
                 .map(workoutPlanMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<WorkoutPlanResponse> getAllWorkoutPlansDto() {
-        log.info("Fetching all workout plans");
+        log.debug("Fetching all workout plans");
         return workoutPlanRepository.findAll().stream()
                 .map(workoutPlanMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public void deleteWorkoutPlan(Long id) {
-        log.info("Deleting workout plan with ID: {}", id);
-        workoutPlanRepository.delete(getWorkoutPlanById(id));
+    @Transactional
+    public void deleteWorkoutPlan(Long id, Long expectedVersion) {
+        log.debug("Deleting workout plan with ID: {}", id);
+        WorkoutPlan workoutPlan = getWorkoutPlanById(id);
+        Versions.requireVersion("WorkoutPlan", id, workoutPlan.getVersion(), expectedVersion);
+        // The plan's logs are removed by cascade, so announce them like individual deletions.
+        workoutPlan.getActivityLogs().forEach(activityLog ->
+                eventPublisher.publishEvent(ActivityLogChangedEvent.deleted(activityLog)));
+        workoutPlanRepository.delete(workoutPlan);
+        eventPublisher.publishEvent(WorkoutPlanChangedEvent.deleted(id));
+        auditTrail.record(AuditEvent.Action.DELETE, AuditEvent.EntityType.WORKOUT_PLAN, id);
         log.debug("Workout plan deleted with ID: {}", id);
     }
 
@@ -100,4 +155,10 @@ public class WorkoutPlanServiceImpl implements WorkoutPlanService {
                     return new ResourceNotFoundException("WorkoutPlan", "id", id);
                 });
     }
+
+    @Override
+    public List<WorkoutPlan> getWorkoutPlansByIds(Collection<Long> ids) {
+        log.debug("Retrieving {} workout plans by ID", ids.size());
+        return ids.isEmpty() ? List.of() : workoutPlanRepository.findAllById(ids);
+    }
 }
\ No newline at end of file
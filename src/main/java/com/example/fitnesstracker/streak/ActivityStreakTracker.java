@@ -0,0 +1,128 @@
+package com.example.fitnesstracker.streak;
+
+import com.example.fitnesstracker.event.ActivityLogChangedEvent;
+import com.example.fitnesstracker.event.ActivityLogSnapshot;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.example.fitnesstracker.repository.ActivityLogRepository;
+import com.example.fitnesstracker.repository.projection.ActivityDayCountView;
+import com.example.fitnesstracker.response.StreakResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Per-user streak state, built from each user's daily log counts before the application starts
+ * serving requests and kept current from {@link ActivityLogChangedEvent}s once their transaction
+ * has committed. Reading a user's streaks looks up a precomputed summary and a handful of weekly
+ * counts, independent of how long their history is.
+ */
+@Slf4j
+@Component
+public class ActivityStreakTracker implements SmartInitializingSingleton, MeterBinder {
+
+    static final int AVERAGE_WEEKS = 4;
+
+    private static final StreakResponse NO_STREAKS = new StreakResponse(0, 0, null, 0, 0, 0);
+
+    private final ActivityLogRepository activityLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Map<Long, UserStreaks> streaksByUser = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ActivityStreakTracker(ActivityLogRepository activityLogRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this(activityLogRepository, transactionManager, Clock.systemDefaultZone());
+    }
+
+    ActivityStreakTracker(ActivityLogRepository activityLogRepository, PlatformTransactionManager transactionManager,
+                          Clock clock) {
+        this.activityLogRepository = activityLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.clock = clock;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ActivityDayCountView> days = activityLogRepository.streamDailyCounts()) {
+                days.forEach(day -> streaksByUser.computeIfAbsent(day.userId(), key -> new UserStreaks())
+                        .add(day.day().toEpochDay(), day.logCount().intValue()));
+            }
+        });
+        log.info("Loaded activity days of {} users into the streak tracker", streaksByUser.size());
+    }
+
+    /**
+     * @return the user's streaks as of today
+     */
+    public StreakResponse stats(Long userId) {
+        UserStreaks streaks = streaksByUser.get(userId);
+        UserStreaks.Summary summary = streaks != null ? streaks.summary() : null;
+        if (summary == null) {
+            return NO_STREAKS;
+        }
+
+        long today = LocalDate.now(clock).toEpochDay();
+        long thisWeek = UserStreaks.week(today);
+        int recentDays = 0;
+        for (int i = 1; i <= AVERAGE_WEEKS; i++) {
+            recentDays += streaks.activeDaysInWeek(thisWeek - i);
+        }
+        // A streak is still alive until a whole day passes without a log.
+        long current = summary.lastActiveDay() >= today - 1 ? summary.lastRunLength() : 0;
+        return new StreakResponse(current, summary.longestRun(), LocalDate.ofEpochDay(summary.lastActiveDay()),
+                summary.activeDays(), streaks.activeDaysInWeek(thisWeek), (double) recentDays / AVERAGE_WEEKS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivityLogChanged(ActivityLogChangedEvent event) {
+        ActivityLogSnapshot before = countable(event.before());
+        ActivityLogSnapshot after = countable(event.after());
+        if (before != null && after != null && before.userId().equals(after.userId())
+                && before.dateTime().toLocalDate().equals(after.dateTime().toLocalDate())) {
+            return;
+        }
+        if (before != null) {
+            UserStreaks streaks = streaksByUser.get(before.userId());
+            if (streaks != null) {
+                streaks.remove(before.dateTime().toLocalDate().toEpochDay());
+            }
+        }
+        if (after != null) {
+            streaksByUser.computeIfAbsent(after.userId(), key -> new UserStreaks())
+                    .add(after.dateTime().toLocalDate().toEpochDay(), 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        streaksByUser.remove(event.userId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("streaks.users", streaksByUser, Map::size)
+                .description("Users tracked by the streak tracker")
+                .register(registry);
+    }
+
+    // Logs without a user or timestamp do not count towards anyone's streak.
+    private static ActivityLogSnapshot countable(ActivityLogSnapshot snapshot) {
+        return snapshot != null && snapshot.userId() != null && snapshot.dateTime() != null ? snapshot : null;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.fitnesstracker.streak;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One user's active days (days with at least one log) kept as maximal runs of consecutive days,
+ * plus a count of runs per length. Activating a day merges it with the runs on either side;
+ * deactivating one splits only the run it belonged to, so every change costs a few tree
+ * operations whatever the length of the history. Days are epoch days.
+ * <p>
+ * Changes are serialized on this object and end by publishing an immutable {@link Summary}, so
+ * reads never lock.
+ */
+final class UserStreaks {
+
+    private final TreeMap<Long, Integer> logsPerDay = new TreeMap<>();
+    private final TreeMap<Long, Long> runs = new TreeMap<>();
+    private final TreeMap<Long, Integer> runsPerLength = new TreeMap<>();
+    private final Map<Long, Integer> activeDaysPerWeek = new ConcurrentHashMap<>();
+    private volatile Summary summary;
+
+    /**
+     * @param lastActiveDay  latest active day
+     * @param lastRunLength  length of the run ending on {@code lastActiveDay}
+     * @param longestRun     length of the longest run
+     * @param activeDays     number of active days
+     */
+    record Summary(long lastActiveDay, long lastRunLength, long longestRun, long activeDays) {
+    }
+
+    synchronized void add(long day, int logs) {
+        if (logsPerDay.merge(day, logs, Integer::sum) == logs) {
+            activate(day);
+            publish();
+        }
+    }
+
+    synchronized void remove(long day) {
+        Integer logs = logsPerDay.get(day);
+        if (logs == null) {
+            return;
+        }
+        if (logs > 1) {
+            logsPerDay.put(day, logs - 1);
+            return;
+        }
+        logsPerDay.remove(day);
+        deactivate(day);
+        publish();
+    }
+
+    /**
+     * @return the current summary, or {@code null} when the user has no active day
+     */
+    Summary summary() {
+        return summary;
+    }
+
+    int activeDaysInWeek(long week) {
+        return activeDaysPerWeek.getOrDefault(week, 0);
+    }
+
+    /**
+     * @return the Monday-based week an epoch day falls in; 1970-01-01 was a Thursday
+     */
+    static long week(long day) {
+        return Math.floorDiv(day + 3, 7);
+    }
+
+    private void activate(long day) {
+        long first = day;
+        long last = day;
+        Map.Entry<Long, Long> before = runs.floorEntry(day - 1);
+        if (before != null && before.getValue() == day - 1) {
+            first = before.getKey();
+            removeRun(before.getKey(), before.getValue());
+        }
+        Long afterLast = runs.get(day + 1);
+        if (afterLast != null) {
+            last = afterLast;
+            removeRun(day + 1, afterLast);
+        }
+        addRun(first, last);
+        activeDaysPerWeek.merge(week(day), 1, Integer::sum);
+    }
+
+    private void deactivate(long day) {
+        Map.Entry<Long, Long> run = runs.floorEntry(day);
+        removeRun(run.getKey(), run.getValue());
+        if (run.getKey() < day) {
+            addRun(run.getKey(), day - 1);
+        }
+        if (run.getValue() > day) {
+            addRun(day + 1, run.getValue());
+        }
+        activeDaysPerWeek.computeIfPresent(week(day), (week, days) -> days > 1 ? days - 1 : null);
+    }
+
+    private void addRun(long first, long last) {
+        runs.put(first, last);
+        runsPerLength.merge(last - first + 1, 1, Integer::sum);
+    }
+
+    private void removeRun(long first, long last) {
+        runs.remove(first);
+        runsPerLength.computeIfPresent(last - first + 1, (length, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void publish() {
+        Map.Entry<Long, Long> lastRun = runs.lastEntry();
+        summary = lastRun == null ? null : new Summary(lastRun.getValue(),
+                lastRun.getValue() - lastRun.getKey() + 1, runsPerLength.lastKey(), logsPerDay.size());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.fitnesstracker.analytics;
+
+import com.example.fitnesstracker.event.ActivityLogChangedEvent;
+import com.example.fitnesstracker.event.ActivityLogSnapshot;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.repository.ActivityLogRepository;
+import com.example.fitnesstracker.repository.projection.ActivitySampleView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityTimeSeriesStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 15);
+
+    @Mock
+    private ActivityLogRepository activityLogRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ActivityTimeSeriesStore store;
+
+    @BeforeEach
+    void setUp() {
+        when(activityLogRepository.streamSamples()).thenReturn(Stream.of(
+                new ActivitySampleView(1L, 1L, DAY.atTime(7, 0), 30, 300, ActivityLog.ActivityType.CARDIO),
+                new ActivitySampleView(2L, 1L, DAY.atTime(23, 59), 20, null, null),
+                new ActivitySampleView(3L, 1L, DAY.plusDays(2).atStartOfDay(), 45, 200, ActivityLog.ActivityType.STRENGTH),
+                new ActivitySampleView(4L, 2L, DAY.atTime(8, 0), 60, 600, ActivityLog.ActivityType.CARDIO)));
+        store = new ActivityTimeSeriesStore(activityLogRepository, transactionManager);
+        store.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void daily_bucketsSamplesByCalendarDay() {
+        DailySeries series = store.daily(1L, DAY.minusDays(1), 4);
+
+        assertArrayEquals(new int[]{0, 2, 0, 1}, series.sessions());
+        assertArrayEquals(new long[]{0, 50, 0, 45}, series.minutes());
+        assertArrayEquals(new long[]{0, 300, 0, 200}, series.calories());
+    }
+
+    @Test
+    void byType_countsLogsWithoutTypeAsOther() {
+        TypeTotals totals = store.byType(1L, DAY, DAY);
+
+        assertEquals(1, totals.sessions()[ActivityLog.ActivityType.CARDIO.ordinal()]);
+        assertEquals(1, totals.sessions()[ActivityLog.ActivityType.OTHER.ordinal()]);
+        assertEquals(0, totals.sessions()[ActivityLog.ActivityType.STRENGTH.ordinal()]);
+    }
+
+    @Test
+    void onActivityLogChanged_movesUpdatedSampleBetweenUsersAndDays() {
+        ActivityLogSnapshot before = new ActivityLogSnapshot(1L, 1L, DAY.atTime(7, 0), ActivityLog.ActivityType.CARDIO, 30, 300);
+        ActivityLogSnapshot after = new ActivityLogSnapshot(1L, 2L, DAY.plusDays(1).atTime(7, 0), ActivityLog.ActivityType.CARDIO, 40, 400);
+
+        store.onActivityLogChanged(new ActivityLogChangedEvent(before, after));
+
+        assertArrayEquals(new long[]{20, 0, 45}, store.daily(1L, DAY, 3).minutes());
+        assertArrayEquals(new long[]{60, 40, 0}, store.daily(2L, DAY, 3).minutes());
+    }
+
+    @Test
+    void onActivityLogChanged_ignoresLogsWithoutUserOrTimestamp() {
+        store.onActivityLogChanged(new ActivityLogChangedEvent(null,
+                new ActivityLogSnapshot(9L, null, LocalDateTime.now(), null, 10, 10)));
+
+        assertArrayEquals(new int[]{2}, store.daily(1L, DAY, 1).sessions());
+    }
+
+    @Test
+    void onUserDeleted_dropsTheUsersSeries() {
+        store.onUserDeleted(new UserDeletedEvent(1L, "testUser"));
+
+        assertArrayEquals(new int[]{0, 0, 0}, store.daily(1L, DAY, 3).sessions());
+        assertArrayEquals(new int[]{1}, store.daily(2L, DAY, 1).sessions());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.fitnesstracker.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserTimeSeriesTest {
+
+    @Test
+    void scan_returnsSamplesInRangeInTimestampOrder() {
+        UserTimeSeries series = new UserTimeSeries();
+        series.add(3, 300, 30, 3, 0);
+        series.add(1, 100, 10, 1, 0);
+        series.add(4, 200, 25, 2, 1);
+        series.add(2, 200, 20, 2, 1);
+
+        assertEquals(List.of(200L, 200L, 300L), timestamps(series, 150, 400));
+        assertEquals(List.of(20, 25), durations(series, 200, 300));
+    }
+
+    @Test
+    void remove_deletesOnlyTheMatchingSample() {
+        UserTimeSeries series = new UserTimeSeries();
+        series.add(1, 100, 10, 1, 0);
+        series.add(2, 100, 20, 2, 0);
+
+        assertFalse(series.remove(2, 200));
+        assertTrue(series.remove(2, 100));
+
+        assertEquals(List.of(10), durations(series, 0, 1000));
+        assertEquals(1, series.size());
+    }
+
+    @Test
+    void add_growsBeyondInitialCapacity() {
+        UserTimeSeries series = new UserTimeSeries();
+        for (int i = 1000; i > 0; i--) {
+            series.add(i, i, 1, 1, 0);
+        }
+
+        assertEquals(1000, series.size());
+        assertEquals(1000, (int) series.scan(0, Long.MAX_VALUE, () -> new int[1], (sum, ts, d, c, t) -> sum[0] += d)[0]);
+    }
+
+    @Test
+    void scan_neverSeesTornStateWhileWritersRun() throws Exception {
+        UserTimeSeries series = new UserTimeSeries();
+        // Each id is added with duration == id and removed again, so a consistent scan sums
+        // only the permanent samples plus whole transient ones.
+        for (int i = 0; i < 100; i++) {
+            series.add(i, i, 1, 0, 0);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                await(start);
+                for (int i = 0; i < 20_000; i++) {
+                    series.add(1_000_000 + i, 50, 1, 0, 0);
+                    series.remove(1_000_000 + i, 50);
+                }
+            });
+            Future<List<Integer>> reader = executor.submit(() -> {
+                await(start);
+                List<Integer> counts = new ArrayList<>();
+                for (int i = 0; i < 20_000; i++) {
+                    counts.add(series.scan(0, 100, () -> new int[1], (sum, ts, d, c, t) -> sum[0] += d)[0]);
+                }
+                return counts;
+            });
+            start.countDown();
+            writer.get(30, TimeUnit.SECONDS);
+            for (int count : reader.get(30, TimeUnit.SECONDS)) {
+                assertTrue(count == 100 || count == 101, "unexpected count " + count);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Long> timestamps(UserTimeSeries series, long from, long to) {
+        return series.scan(from, to, ArrayList::new, (list, ts, d, c, t) -> list.add(ts));
+    }
+
+    private static List<Integer> durations(UserTimeSeries series, long from, long to) {
+        return series.scan(from, to, ArrayList::new, (list, ts, d, c, t) -> list.add(d));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.fitnesstracker.audit;
+
+import com.example.fitnesstracker.model.AuditEvent;
+import com.example.fitnesstracker.model.User;
+import com.example.fitnesstracker.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditTrailTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-05-01T10:15:30Z"), ZoneOffset.UTC);
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuditTrail auditTrail;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        auditTrail = new AuditTrail(4, meterRegistry, CLOCK);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void recordCapturesActorAndTimeAndCountsDropsWhenFull() {
+        AuthenticatedUser principal = new AuthenticatedUser(7L, "alice", "secret", User.Role.USER,
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(principal, null, "ROLE_USER"));
+
+        auditTrail.recordAll(AuditEvent.Action.CREATE, AuditEvent.EntityType.ACTIVITY_LOG, List.of(1L, 2L, 3L, 4L, 5L));
+
+        List<AuditRecord> drained = new ArrayList<>();
+        assertThat(auditTrail.drainTo(drained, 10)).isEqualTo(4);
+        assertThat(drained.get(0)).isEqualTo(new AuditRecord(LocalDateTime.of(2024, 5, 1, 10, 15, 30),
+                AuditEvent.Action.CREATE, AuditEvent.EntityType.ACTIVITY_LOG, 1L, 7L));
+        assertThat(meterRegistry.get("audit.events.recorded").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("audit.events.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordInsideTransactionIsOnlyEnqueuedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        auditTrail.record(AuditEvent.Action.DELETE, AuditEvent.EntityType.USER, 3L);
+
+        List<AuditRecord> drained = new ArrayList<>();
+        assertThat(auditTrail.drainTo(drained, 10)).isZero();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(auditTrail.drainTo(drained, 10)).isEqualTo(1);
+        assertThat(drained.get(0).entityId()).isEqualTo(3L);
+        assertThat(drained.get(0).actorId()).isNull();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.fitnesstracker.audit;
+
+import com.example.fitnesstracker.model.AuditEvent;
+import com.example.fitnesstracker.repository.AuditEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditWriterTest {
+
+    @Mock
+    private AuditEventRepository auditEventRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuditTrail auditTrail;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        auditTrail = new AuditTrail(16, meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void persistsDrainedEntriesInBatchesOfConfiguredSize() {
+        AuditWriter writer = new AuditWriter(auditTrail, auditEventRepository, transactionManager,
+                2, Duration.ofMillis(10), meterRegistry);
+        auditTrail.recordAll(AuditEvent.Action.UPDATE, AuditEvent.EntityType.WORKOUT_PLAN, List.of(1L, 2L, 3L));
+
+        assertThat(writer.flush(new ArrayList<>())).isEqualTo(2);
+        assertThat(writer.flush(new ArrayList<>())).isEqualTo(1);
+        assertThat(writer.flush(new ArrayList<>())).isZero();
+
+        ArgumentCaptor<List<AuditEvent>> batches = ArgumentCaptor.forClass(List.class);
+        verify(auditEventRepository, times(2)).saveAll(batches.capture());
+        assertThat(batches.getAllValues().get(0)).extracting(AuditEvent::getEntityId).containsExactly(1L, 2L);
+        assertThat(meterRegistry.get("audit.events.written").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void countsEntriesOfFailedBatches() {
+        AuditWriter writer = new AuditWriter(auditTrail, auditEventRepository, transactionManager,
+                10, Duration.ofMillis(10), meterRegistry);
+        when(auditEventRepository.saveAll(anyList())).thenThrow(new IllegalStateException("database down"));
+        auditTrail.record(AuditEvent.Action.CREATE, AuditEvent.EntityType.USER, 1L);
+
+        assertThat(writer.flush(new ArrayList<>())).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.events.failed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.events.written").counter().count()).isZero();
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.fitnesstracker.benchmark;
+
+import com.example.fitnesstracker.FitnessTrackerApiApplication;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.model.User;
+import com.example.fitnesstracker.repository.ActivityLogRepository;
+import com.example.fitnesstracker.repository.UserRepository;
+import com.example.fitnesstracker.security.AuthenticatedUser;
+import com.example.fitnesstracker.security.TokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Closed-loop load comparison of the platform thread pool against virtual threads. Each level
+ * keeps that many requests in flight against a JDBC-backed endpoint. Run with
+ * {@code mvn test -Pbenchmark} on Java 21+; high levels need a raised open-file limit.
+ */
+@Slf4j
+@Tag("benchmark")
+class ThreadingModeBenchmarkTest {
+
+    private static final int[] CONCURRENT_CLIENTS = {1_000, 2_500, 5_000, 10_000};
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final int WARM_UP_CLIENTS = 200;
+    private static final int SEEDED_LOGS = 2_000;
+
+    private record Result(String mode, int clients, int requests, double throughput,
+                          double p50Millis, double p99Millis, int errors) {
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %6d clients %7d requests %9.0f req/s  p50 %8.1f ms  p99 %8.1f ms  errors %d",
+                    mode, clients, requests, throughput, p50Millis, p99Millis, errors);
+        }
+    }
+
+    @Test
+    void compareVirtualAndPlatformThreads() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads need Java 21+");
+
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            String mode = virtual ? "virtual" : "platform";
+            try (ConfigurableApplicationContext context = start(mode, virtual)) {
+                String token = seed(context);
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                URI uri = URI.create("http://localhost:" + port + "/api/activity-logs?size=50");
+
+                run(mode, uri, token, WARM_UP_CLIENTS);
+                for (int clients : CONCURRENT_CLIENTS) {
+                    Result result = run(mode, uri, token, clients);
+                    log.info("{}", result);
+                    results.add(result);
+                }
+            }
+        }
+
+        log.info("Threading mode comparison:");
+        results.forEach(result -> log.info("  {}", result));
+        assertThat(results).allSatisfy(result -> assertThat(result.errors()).isLessThan(result.requests()));
+    }
+
+    private ConfigurableApplicationContext start(String mode, boolean virtual) {
+        return new SpringApplicationBuilder(FitnessTrackerApiApplication.class)
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=10000",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + mode,
+                        "spring.jpa.show-sql=false",
+                        "spring.h2.console.enabled=false")
+                .run();
+    }
+
+    private String seed(ConfigurableApplicationContext context) {
+        UserDetailsService userDetailsService = context.getBean(UserDetailsService.class);
+        AuthenticatedUser admin = (AuthenticatedUser) userDetailsService.loadUserByUsername(
+                context.getEnvironment().getRequiredProperty("app.security.admin.username"));
+        User user = context.getBean(UserRepository.class).findById(admin.getId()).orElseThrow();
+
+        List<ActivityLog> logs = new ArrayList<>(SEEDED_LOGS);
+        LocalDateTime start = LocalDateTime.now().minusDays(SEEDED_LOGS);
+        for (int i = 0; i < SEEDED_LOGS; i++) {
+            ActivityLog activityLog = new ActivityLog();
+            activityLog.setActivityName("Run " + i);
+            activityLog.setDateTime(start.plusDays(i));
+            activityLog.setDurationMinutes(30);
+            activityLog.setCaloriesBurned(300);
+            activityLog.setActivityType(ActivityLog.ActivityType.CARDIO);
+            activityLog.setUser(user);
+            logs.add(activityLog);
+        }
+        context.getBean(ActivityLogRepository.class).saveAll(logs);
+
+        return context.getBean(TokenService.class).issue(admin).token();
+    }
+
+    private Result run(String mode, URI uri, String token, int clients) throws InterruptedException {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+
+            int total = clients * REQUESTS_PER_CLIENT;
+            long[] latencies = new long[total];
+            AtomicInteger errors = new AtomicInteger();
+            Semaphore inFlight = new Semaphore(clients);
+            CountDownLatch done = new CountDownLatch(total);
+
+            long started = System.nanoTime();
+            for (int i = 0; i < total; i++) {
+                inFlight.acquire();
+                int slot = i;
+                long sent = System.nanoTime();
+                client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                    latencies[slot] = System.nanoTime() - sent;
+                    if (failure != null || response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                    }
+                    inFlight.release();
+                    done.countDown();
+                });
+            }
+            done.await(10, TimeUnit.MINUTES);
+            long elapsed = System.nanoTime() - started;
+
+            Arrays.sort(latencies);
+            return new Result(mode, clients, total, total / (elapsed / 1e9),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), errors.get());
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.fitnesstracker.cache;
+
+import com.example.fitnesstracker.event.UserAccountChangedEvent;
+import com.example.fitnesstracker.event.WorkoutPlanChangedEvent;
+import com.example.fitnesstracker.model.WorkoutPlan;
+import com.example.fitnesstracker.response.WorkoutPlanResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkoutPlanCatalogCacheTest {
+
+    private WorkoutPlanCatalogCache catalogCache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        catalogCache = new WorkoutPlanCatalogCache(new ObjectMapper(), 100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void getAll_loadsOnceUntilAPlanChanges() {
+        catalogCache.getAll(() -> plans("Strength"));
+        catalogCache.getAll(() -> plans("Strength"));
+        assertEquals(1, loads.get());
+
+        catalogCache.onWorkoutPlanChanged(WorkoutPlanChangedEvent.deleted(1L));
+        String body = new String(catalogCache.getAll(() -> plans("Renamed")).body(), StandardCharsets.UTF_8);
+
+        assertEquals(2, loads.get());
+        assertTrue(body.contains("Renamed"));
+    }
+
+    @Test
+    void userChanges_invalidateListingsThatEmbedCreators() {
+        catalogCache.search("str", 50, () -> plans("Strength"));
+
+        catalogCache.onUserAccountChanged(new UserAccountChangedEvent(1L, "old", "new", false));
+        catalogCache.search("str", 50, () -> plans("Strength"));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void loadRacingWithAChange_isNotServedAfterwards() {
+        catalogCache.getAll(() -> {
+            List<WorkoutPlanResponse> stale = plans("Stale");
+            catalogCache.onWorkoutPlanChanged(WorkoutPlanChangedEvent.deleted(1L));
+            return stale;
+        });
+
+        String body = new String(catalogCache.getAll(() -> plans("Fresh")).body(), StandardCharsets.UTF_8);
+
+        assertTrue(body.contains("Fresh"));
+    }
+
+    @Test
+    void eTag_followsContent() {
+        String first = catalogCache.getAll(() -> plans("Strength")).eTag();
+        catalogCache.invalidateAll();
+
+        assertEquals(first, catalogCache.getAll(() -> plans("Strength")).eTag());
+        catalogCache.invalidateAll();
+        assertNotEquals(first, catalogCache.getAll(() -> plans("Yoga")).eTag());
+    }
+
+    @Test
+    void bindTo_publishesHitRatio() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        catalogCache.bindTo(registry);
+
+        catalogCache.getAll(() -> plans("Strength"));
+        catalogCache.getAll(() -> plans("Strength"));
+
+        assertEquals(0.5, registry.get("cache.hit.ratio").tag("cache", "workoutPlanCatalog").gauge().value());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "workoutPlanCatalog", "result", "hit")
+                .functionCounter().count());
+    }
+
+    private List<WorkoutPlanResponse> plans(String name) {
+        loads.incrementAndGet();
+        return List.of(new WorkoutPlanResponse(1L, name, null, null, null, WorkoutPlan.DifficultyLevel.BEGINNER, null));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.fitnesstracker.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Value("${app.security.admin.username}")
+    private String adminUsername;
+
+    @Value("${app.security.admin.password}")
+    private String adminPassword;
+
+    @Test
+    void prometheusScrapeExposesRequestServiceHibernatePoolAndJvmMetrics() {
+        ResponseEntity<String> plans = restTemplate.withBasicAuth(adminUsername, adminPassword)
+                .getForEntity("/api/workout-plans", String.class);
+        assertThat(plans.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<String> scrape = restTemplate.getForEntity(management("/actuator/prometheus"), String.class);
+
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getBody())
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("quantile=\"0.99\"")
+                .contains("service_calls_seconds_count{application=\"fitness-tracker-api\","
+                        + "class=\"com.example.fitnesstracker.service.impl.WorkoutPlanServiceImpl\"")
+                .contains("hibernate_query_executions_total")
+                .contains("hibernate_entities_loads_total")
+                .contains("hibernate_second_level_cache_requests_total{application=\"fitness-tracker-api\","
+                        + "region=\"users\",result=\"hit\"")
+                .contains("hikaricp_connections_active")
+                .contains("jvm_gc_memory_allocated_bytes_total");
+    }
+
+    @Test
+    void healthIsOpenButOtherEndpointsRequireAdmin() {
+        assertThat(restTemplate.getForEntity(management("/actuator/health"), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(restTemplate.getForEntity(management("/actuator/metrics"), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(restTemplate.withBasicAuth(adminUsername, adminPassword)
+                .getForEntity(management("/actuator/metrics/service.calls"), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    private String management(String path) {
+        return "http://127.0.0.1:" + managementPort + path;
+    }
+}
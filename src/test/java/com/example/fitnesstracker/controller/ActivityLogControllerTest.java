@@ -3,8 +3,13 @@ package com.example.fitnesstracker.controller;
 import com.example.fitnesstracker.mapper.ActivityLogMapper;
 import com.example.fitnesstracker.model.ActivityLog;
 import com.example.fitnesstracker.model.User;
+import com.example.fitnesstracker.request.ActivityLogBatchRequest;
 import com.example.fitnesstracker.request.ActivityLogRequest;
+import com.example.fitnesstracker.exception.TooManyRequestsException;
+import com.example.fitnesstracker.response.ActivityLogBatchResponse;
+import com.example.fitnesstracker.response.ActivityLogIngestResponse;
 import com.example.fitnesstracker.response.ActivityLogResponse;
+import com.example.fitnesstracker.response.CursorPageResponse;
 import com.example.fitnesstracker.response.UserResponse;
 import com.example.fitnesstracker.security.UserSecurity;
 import com.example.fitnesstracker.service.ActivityLogService;
@@ -20,16 +25,20 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ActivityLogController.class)
 @AutoConfigureMockMvc
@@ -108,20 +117,53 @@ class ActivityLogControllerTest {
 
     @Test
     @WithMockUser(roles = "ADMIN")
-    void getAllActivityLogs_shouldReturnList() throws Exception {
-        when(activityLogService.getAllActivityLogs()).thenReturn(List.of(activityLog));
-        when(activityLogMapper.toResponse(activityLog)).thenReturn(response);
+    void getAllActivityLogs_shouldReturnFirstPage() throws Exception {
+        when(activityLogService.getActivityLogPageDto(null, 50))
+                .thenReturn(new CursorPageResponse<>(List.of(response), 50, "next-cursor"));
 
         mockMvc.perform(get("/api/activity-logs"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].activityName").value("Running"));
+                .andExpect(jsonPath("$.items[0].activityName").value("Running"))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getAllActivityLogs_shouldPassCursorAndSize() throws Exception {
+        when(activityLogService.getActivityLogPageDto("abc", 10))
+                .thenReturn(new CursorPageResponse<>(List.of(response), 10, null));
+
+        mockMvc.perform(get("/api/activity-logs").param("cursor", "abc").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(10))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser", roles = "USER")
+    void getActivityLogsByUserId_shouldReturnPage() throws Exception {
+        when(userSecurity.isCurrentUser(1L)).thenReturn(true);
+        when(activityLogService.getActivityLogPageByUserIdDto(1L, null, 50))
+                .thenReturn(new CursorPageResponse<>(List.of(response), 50, null));
+
+        mockMvc.perform(get("/api/activity-logs/user/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].activityName").value("Running"));
+    }
+
+    @Test
+    @WithMockUser(username = "unauthorizedUser", roles = "USER")
+    void getActivityLogsByUserId_shouldReturnForbidden_whenNotOwnerOrAdmin() throws Exception {
+        when(userSecurity.isCurrentUser(1L)).thenReturn(false);
+
+        mockMvc.perform(get("/api/activity-logs/user/1"))
+                .andExpect(status().isForbidden());
     }
 
     @Test
     @WithMockUser(roles = "ADMIN")
     void getActivityLogById_shouldReturnLog() throws Exception {
-        when(activityLogService.getActivityLogById(1L)).thenReturn(activityLog);
-        when(activityLogMapper.toResponse(activityLog)).thenReturn(response);
+        when(activityLogService.getActivityLogByIdDto(1L)).thenReturn(response);
 
         mockMvc.perform(get("/api/activity-logs/1"))
                 .andExpect(status().isOk())
@@ -147,7 +189,7 @@ class ActivityLogControllerTest {
     @WithMockUser(username = "testUser", roles = "USER")
     void updateActivityLog_shouldReturnUpdated() throws Exception {
         when(userSecurity.isCurrentUser(1L)).thenReturn(true);
-        when(activityLogService.updateActivityLogDto(eq(1L), any(ActivityLogRequest.class))).thenReturn(activityLog);
+        when(activityLogService.updateActivityLogDto(eq(1L), any(ActivityLogRequest.class), isNull())).thenReturn(activityLog);
         when(activityLogMapper.toResponse(activityLog)).thenReturn(response);
 
         mockMvc.perform(put("/api/activity-logs/1")
@@ -161,13 +203,13 @@ class ActivityLogControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void deleteActivityLog_shouldReturnNoContent() throws Exception {
-        doNothing().when(activityLogService).deleteActivityLog(1L);
+        doNothing().when(activityLogService).deleteActivityLog(1L, null);
 
         mockMvc.perform(delete("/api/activity-logs/1")
                         .with(csrf()))
                 .andExpect(status().isNoContent());
 
-        verify(activityLogService).deleteActivityLog(1L);
+        verify(activityLogService).deleteActivityLog(1L, null);
     }
 
     @Test
@@ -182,4 +224,130 @@ class ActivityLogControllerTest {
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$.message").value("Access denied: You are not allowed to create activity log for user ID 1"));
     }
+
+    @Test
+    @WithMockUser(username = "testUser", roles = "USER")
+    @SuppressWarnings("unchecked")
+    void exportActivityLogs_shouldStreamNdjson() throws Exception {
+        when(userSecurity.isCurrentUser(1L)).thenReturn(true);
+        when(activityLogService.exportActivityLogs(any(), any())).thenAnswer(invocation -> {
+            Consumer<ActivityLogResponse> sink = invocation.getArgument(1);
+            sink.accept(response);
+            sink.accept(response);
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/activity-logs/export").param("userId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Running", objectMapper.readTree(lines[0]).get("activityName").asText());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser", roles = "USER")
+    void exportActivityLogs_shouldReturnForbidden_whenUserExportsEveryone() throws Exception {
+        mockMvc.perform(get("/api/activity-logs/export"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(activityLogService);
+    }
+
+    @Test
+    @WithMockUser(username = "testUser", roles = "USER")
+    void createActivityLogsBatch_shouldReturnPerItemResults() throws Exception {
+        when(userSecurity.isCurrentUser(1L)).thenReturn(true);
+        when(activityLogService.createActivityLogsBatch(anyList())).thenReturn(new ActivityLogBatchResponse(2, 1, 1, List.of(
+                new ActivityLogBatchResponse.ItemResult(0, 10L, null),
+                new ActivityLogBatchResponse.ItemResult(1, null, "WorkoutPlan not found with id: '7'"))));
+
+        mockMvc.perform(post("/api/activity-logs/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ActivityLogBatchRequest(List.of(request, request)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("WorkoutPlan not found with id: '7'"));
+
+        verify(userSecurity, times(1)).isCurrentUser(1L);
+    }
+
+    @Test
+    @WithMockUser(username = "testUser", roles = "USER")
+    void createActivityLogsBatch_shouldRejectEmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/activity-logs/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ActivityLogBatchRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(activityLogService);
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void submitActivityLog_shouldAccept_whenAsyncPreferred() throws Exception {
+        when(userSecurity.isCurrentUser(1L)).thenReturn(true);
+        when(activityLogService.submitActivityLog(any(ActivityLogRequest.class))).thenReturn(
+                new ActivityLogIngestResponse("abc", 1L, ActivityLogIngestResponse.Status.PENDING, null, null));
+
+        mockMvc.perform(post("/api/activity-logs")
+                        .with(csrf())
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/activity-logs/ingest/abc"))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        verify(activityLogService, never()).createActivityLogDto(any());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void submitActivityLog_shouldReturnTooManyRequests_whenQueueFull() throws Exception {
+        when(userSecurity.isCurrentUser(1L)).thenReturn(true);
+        when(activityLogService.submitActivityLog(any(ActivityLogRequest.class)))
+                .thenThrow(new TooManyRequestsException("queue full", Duration.ofMillis(1500)));
+
+        mockMvc.perform(post("/api/activity-logs")
+                        .with(csrf())
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
+    @Test
+    @WithMockUser(username = "otherUser")
+    void getIngestStatus_shouldBeForbidden_forOtherUsers() throws Exception {
+        when(activityLogService.getIngestStatusDto("abc")).thenReturn(
+                new ActivityLogIngestResponse("abc", 1L, ActivityLogIngestResponse.Status.CREATED, 5L, null));
+        when(userSecurity.isCurrentUser(1L)).thenReturn(false);
+
+        mockMvc.perform(get("/api/activity-logs/ingest/abc"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getIngestStatus_shouldReturnStatus_whenCurrentUser() throws Exception {
+        when(activityLogService.getIngestStatusDto("abc")).thenReturn(
+                new ActivityLogIngestResponse("abc", 1L, ActivityLogIngestResponse.Status.CREATED, 5L, null));
+        when(userSecurity.isCurrentUser(1L)).thenReturn(true);
+
+        mockMvc.perform(get("/api/activity-logs/ingest/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CREATED"))
+                .andExpect(jsonPath("$.activityLogId").value(5));
+    }
 }
@@ -0,0 +1,87 @@
+package com.example.fitnesstracker.controller;
+
+import com.example.fitnesstracker.exception.BadRequestException;
+import com.example.fitnesstracker.request.TokenRequest;
+import com.example.fitnesstracker.response.TokenResponse;
+import com.example.fitnesstracker.service.AuthService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AuthController.class)
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private AuthService authService;
+
+    @Test
+    @WithMockUser
+    void issueToken_shouldReturnToken() throws Exception {
+        TokenRequest request = new TokenRequest("testUser", "password");
+        when(authService.issueToken(request)).thenReturn(
+                new TokenResponse("abc.def", "Bearer", 900, Instant.parse("2024-01-15T07:15:00Z")));
+
+        mockMvc.perform(post("/api/auth/token")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").value("abc.def"))
+                .andExpect(jsonPath("$.expiresIn").value(900));
+    }
+
+    @Test
+    @WithMockUser
+    void issueToken_shouldReturnUnauthorizedForBadCredentials() throws Exception {
+        TokenRequest request = new TokenRequest("testUser", "wrong");
+        when(authService.issueToken(request)).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        mockMvc.perform(post("/api/auth/token")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser
+    void logout_shouldRevokeBearerToken() throws Exception {
+        mockMvc.perform(post("/api/auth/logout")
+                        .with(csrf())
+                        .header("Authorization", "Bearer abc.def"))
+                .andExpect(status().isNoContent());
+
+        verify(authService).revokeToken("abc.def");
+    }
+
+    @Test
+    @WithMockUser
+    void logout_shouldRejectMissingToken() throws Exception {
+        doThrow(new BadRequestException("A valid bearer token is required")).when(authService).revokeToken(null);
+
+        mockMvc.perform(post("/api/auth/logout").with(csrf()))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.fitnesstracker.controller;
+
+import com.example.fitnesstracker.response.CacheRegionStatsResponse;
+import com.example.fitnesstracker.service.CacheStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CacheStatsController.class)
+@AutoConfigureMockMvc
+class CacheStatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CacheStatsService cacheStatsService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getCacheStats_shouldReturnRegions() throws Exception {
+        when(cacheStatsService.getSecondLevelCacheStats()).thenReturn(List.of(
+                new CacheRegionStatsResponse("users", 9, 1, 1, 1, 0.9)));
+
+        mockMvc.perform(get("/api/admin/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].region").value("users"))
+                .andExpect(jsonPath("$[0].hitRatio").value(0.9));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getCacheStats_shouldRejectNonAdmins() throws Exception {
+        mockMvc.perform(get("/api/admin/cache/stats"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.fitnesstracker.controller;
+
+import com.example.fitnesstracker.leaderboard.LeaderboardMetric;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.response.LeaderboardEntryResponse;
+import com.example.fitnesstracker.service.LeaderboardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(LeaderboardController.class)
+@AutoConfigureMockMvc
+class LeaderboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LeaderboardService leaderboardService;
+
+    @Test
+    @WithMockUser
+    void getLeaderboard_shouldUseDefaults() throws Exception {
+        when(leaderboardService.getLeaderboardDto("7d", null, LeaderboardMetric.CALORIES, 100)).thenReturn(List.of(
+                new LeaderboardEntryResponse(1, 2L, "runner", 3, 90, 900)));
+
+        mockMvc.perform(get("/api/leaderboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rank").value(1))
+                .andExpect(jsonPath("$[0].username").value("runner"))
+                .andExpect(jsonPath("$[0].totalCalories").value(900));
+    }
+
+    @Test
+    @WithMockUser
+    void getLeaderboard_shouldPassFilters() throws Exception {
+        when(leaderboardService.getLeaderboardDto("30d", ActivityLog.ActivityType.CARDIO, LeaderboardMetric.MINUTES, 10))
+                .thenReturn(List.of());
+
+        mockMvc.perform(get("/api/leaderboard")
+                        .param("window", "30d")
+                        .param("type", "CARDIO")
+                        .param("metric", "MINUTES")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void getLeaderboard_shouldRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/api/leaderboard"))
+                .andExpect(status().isUnauthorized());
+    }
+}
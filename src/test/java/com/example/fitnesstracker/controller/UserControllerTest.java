@@ -23,6 +23,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -94,11 +95,44 @@ class UserControllerTest {
         verify(userService).createUserDto(any(UserRequest.class));
     }
 
+    @Test
+    @WithMockUser
+    void createUser_shouldReturnForbidden_whenNonAdminAsksForAdminRole() throws Exception {
+        UserRequest adminRequest = new UserRequest(
+                "intruder", "password", "intruder@example.com", "Intruder", User.Role.ADMIN
+        );
+
+        mockMvc.perform(post("/api/users")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(adminRequest)))
+                .andExpect(status().isForbidden());
+
+        verify(userService, never()).createUserDto(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void createUser_shouldAllowAdminRole_whenCallerIsAdmin() throws Exception {
+        UserRequest adminRequest = new UserRequest(
+                "newAdmin", "password", "admin@example.com", "New Admin", User.Role.ADMIN
+        );
+        when(userService.createUserDto(any(UserRequest.class))).thenReturn(userResponse);
+
+        mockMvc.perform(post("/api/users")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(adminRequest)))
+                .andExpect(status().isCreated());
+
+        verify(userService).createUserDto(adminRequest);
+    }
+
     @Test
     @WithMockUser(username = "testUser")
     void updateUser_shouldReturnUpdatedUser_whenUserAuthorized() throws Exception {
         when(userSecurity.isCurrentUser(1L)).thenReturn(true);
-        when(userService.updateUserDto(eq(1L), any(UserRequest.class))).thenReturn(userResponse);
+        when(userService.updateUserDto(eq(1L), any(UserRequest.class), isNull())).thenReturn(userResponse);
 
         mockMvc.perform(put("/api/users/1")
                         .with(csrf())
@@ -107,19 +141,96 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.username").value("testUser"));
 
-        verify(userService).updateUserDto(eq(1L), any(UserRequest.class));
+        verify(userService).updateUserDto(eq(1L), any(UserRequest.class), isNull());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void updateUser_shouldReturnForbidden_whenUserPromotesThemselves() throws Exception {
+        when(userSecurity.isCurrentUser(1L)).thenReturn(true);
+        UserRequest promotion = new UserRequest(
+                "testUser", "password", "test@example.com", "Test User", User.Role.ADMIN
+        );
+
+        mockMvc.perform(put("/api/users/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(promotion)))
+                .andExpect(status().isForbidden());
+
+        verify(userService, never()).updateUserDto(anyLong(), any(), any());
     }
 
     @Test
     @WithMockUser(username = "testUser")
     void deleteUser_shouldReturnNoContent_whenAuthorized() throws Exception {
         when(userSecurity.isCurrentUser(1L)).thenReturn(true);
-        doNothing().when(userService).deleteUser(1L);
+        doNothing().when(userService).deleteUser(1L, null);
 
         mockMvc.perform(delete("/api/users/1")
                         .with(csrf()))
                 .andExpect(status().isNoContent());
 
-        verify(userService).deleteUser(1L);
+        verify(userService).deleteUser(1L, null);
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getUserById_shouldReturnETag() throws Exception {
+        when(userSecurity.isCurrentUser(1L)).thenReturn(true);
+        when(userService.getUserEntityTag(1L)).thenReturn("3");
+        when(userService.getUserByIdDto(1L)).thenReturn(userResponse);
+
+        mockMvc.perform(get("/api/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getUserById_shouldReturnNotModified_whenETagMatches() throws Exception {
+        when(userSecurity.isCurrentUser(1L)).thenReturn(true);
+        when(userService.getUserEntityTag(1L)).thenReturn("3");
+
+        mockMvc.perform(get("/api/users/1")
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        verify(userService, never()).getUserByIdDto(anyLong());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void updateUser_shouldPassExpectedVersion_whenIfMatchIsCurrent() throws Exception {
+        when(userSecurity.isCurrentUser(1L)).thenReturn(true);
+        when(userService.getUserEntityTag(1L)).thenReturn("3", "4");
+        when(userService.updateUserDto(eq(1L), any(UserRequest.class), eq(3L))).thenReturn(userResponse);
+
+        mockMvc.perform(put("/api/users/1")
+                        .with(csrf())
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(userRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(userService).updateUserDto(eq(1L), any(UserRequest.class), eq(3L));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void updateUser_shouldReturnPreconditionFailed_whenIfMatchIsStale() throws Exception {
+        when(userSecurity.isCurrentUser(1L)).thenReturn(true);
+        when(userService.getUserEntityTag(1L)).thenReturn("4");
+
+        mockMvc.perform(put("/api/users/1")
+                        .with(csrf())
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(userRequest)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(userService, never()).updateUserDto(anyLong(), any(), any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package com.example.fitnesstracker.controller;
+
+import com.example.fitnesstracker.model.User;
+import com.example.fitnesstracker.repository.UserRepository;
+import com.example.fitnesstracker.request.UserRequest;
+import com.example.fitnesstracker.response.UserResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs registration and self-service updates through the real security chain, where
+ * {@code POST /api/users} is open to anonymous callers and database users can log in.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UserRoleAssignmentTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByUsername("roleIntruder").ifPresent(userRepository::delete);
+        userRepository.findByUsername("roleClimber").ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void anonymousRegistrationAsAdmin_isForbidden() {
+        UserRequest request = new UserRequest(
+                "roleIntruder", "password", "intruder@example.com", "Role Intruder", User.Role.ADMIN);
+
+        ResponseEntity<String> response = restTemplate.postForEntity("/api/users", request, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(userRepository.existsByUsername("roleIntruder")).isFalse();
+    }
+
+    @Test
+    void anonymousRegistrationWithoutRole_createsUser() {
+        UserRequest request = new UserRequest(
+                "roleClimber", "password", "climber@example.com", "Role Climber", null);
+
+        ResponseEntity<UserResponse> response = restTemplate.postForEntity("/api/users", request, UserResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().role()).isEqualTo(User.Role.USER);
+    }
+
+    @Test
+    void selfPromotionToAdmin_isForbidden() {
+        UserResponse created = restTemplate.postForEntity("/api/users", new UserRequest(
+                "roleClimber", "password", "climber@example.com", "Role Climber", null), UserResponse.class).getBody();
+        UserRequest promotion = new UserRequest(
+                "roleClimber", null, "climber@example.com", "Role Climber", User.Role.ADMIN);
+
+        ResponseEntity<String> response = restTemplate.withBasicAuth("roleClimber", "password")
+                .exchange("/api/users/" + created.id(), HttpMethod.PUT, new HttpEntity<>(promotion), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(userRepository.findByUsername("roleClimber").orElseThrow().getRole()).isEqualTo(User.Role.USER);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.fitnesstracker.controller;
+
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.response.ActivityStatsResponse;
+import com.example.fitnesstracker.response.ActivityTrendPointResponse;
+import com.example.fitnesstracker.response.ActivityTypeBreakdownResponse;
+import com.example.fitnesstracker.response.DailyActivityStatsResponse;
+import com.example.fitnesstracker.response.StreakResponse;
+import com.example.fitnesstracker.security.UserSecurity;
+import com.example.fitnesstracker.service.ActivityAnalyticsService;
+import com.example.fitnesstracker.service.DailyActivityRollupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UserStatsController.class)
+@AutoConfigureMockMvc
+class UserStatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DailyActivityRollupService dailyActivityRollupService;
+
+    @MockBean
+    private ActivityAnalyticsService activityAnalyticsService;
+
+    @MockBean(name = "userSecurity")
+    private UserSecurity userSecurity;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getDailyStats_shouldReturnRollups() throws Exception {
+        LocalDate day = LocalDate.of(2024, 1, 15);
+        when(dailyActivityRollupService.getDailyStatsDto(1L, day, day.plusDays(6))).thenReturn(List.of(
+                new DailyActivityStatsResponse(day, ActivityLog.ActivityType.CARDIO, 2, 60, 500)));
+
+        mockMvc.perform(get("/api/users/1/stats/daily")
+                        .param("from", "2024-01-15")
+                        .param("to", "2024-01-21"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].day").value("2024-01-15"))
+                .andExpect(jsonPath("$[0].totalCalories").value(500));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getTrend_shouldUseDefaultWindow_whenCurrentUser() throws Exception {
+        LocalDate day = LocalDate.of(2024, 1, 15);
+        when(userSecurity.isCurrentUser(1L)).thenReturn(true);
+        when(activityAnalyticsService.getTrendDto(1L, day, day, 7)).thenReturn(List.of(
+                new ActivityTrendPointResponse(day, 1, 30, 300, 4.5, 42.5)));
+
+        mockMvc.perform(get("/api/users/1/stats/trend")
+                        .param("from", "2024-01-15")
+                        .param("to", "2024-01-15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].movingAverageCalories").value(42.5));
+    }
+
+    @Test
+    @WithMockUser(username = "otherUser")
+    void getBreakdown_shouldBeForbidden_forOtherUsers() throws Exception {
+        when(userSecurity.isCurrentUser(1L)).thenReturn(false);
+
+        mockMvc.perform(get("/api/users/1/stats/breakdown")
+                        .param("from", "2024-01-15")
+                        .param("to", "2024-01-21"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getBreakdown_shouldReturnTypeTotals() throws Exception {
+        LocalDate day = LocalDate.of(2024, 1, 15);
+        when(activityAnalyticsService.getBreakdownDto(1L, day, day.plusDays(6))).thenReturn(List.of(
+                new ActivityTypeBreakdownResponse(ActivityLog.ActivityType.CARDIO, 4, 120, 1000, 30.0, 250.0)));
+
+        mockMvc.perform(get("/api/users/1/stats/breakdown")
+                        .param("from", "2024-01-15")
+                        .param("to", "2024-01-21"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].activityType").value("CARDIO"))
+                .andExpect(jsonPath("$[0].averageCalories").value(250.0));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getStats_shouldReturnAggregates_whenCurrentUser() throws Exception {
+        LocalDate monday = LocalDate.of(2024, 1, 15);
+        when(userSecurity.isCurrentUser(1L)).thenReturn(true);
+        when(activityAnalyticsService.getStatsDto(1L, monday, monday.plusDays(6), ActivityStatsResponse.Period.WEEK))
+                .thenReturn(new ActivityStatsResponse(monday, monday.plusDays(6), ActivityStatsResponse.Period.WEEK,
+                        4, 120, 1000, 30.0, 250.0,
+                        List.of(new ActivityTypeBreakdownResponse(ActivityLog.ActivityType.CARDIO, 4, 120, 1000, 30.0, 250.0)),
+                        List.of(new ActivityStatsResponse.PeriodTotals(monday, 4, 120, 1000))));
+
+        mockMvc.perform(get("/api/users/1/stats")
+                        .param("from", "2024-01-15")
+                        .param("to", "2024-01-21"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.period").value("WEEK"))
+                .andExpect(jsonPath("$.averageMinutes").value(30.0))
+                .andExpect(jsonPath("$.byActivityType[0].activityType").value("CARDIO"))
+                .andExpect(jsonPath("$.byPeriod[0].periodStart").value("2024-01-15"));
+    }
+
+    @Test
+    @WithMockUser(username = "otherUser")
+    void getStats_shouldBeForbidden_forOtherUsers() throws Exception {
+        when(userSecurity.isCurrentUser(1L)).thenReturn(false);
+
+        mockMvc.perform(get("/api/users/1/stats")
+                        .param("from", "2024-01-15")
+                        .param("to", "2024-01-21")
+                        .param("period", "MONTH"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getStreaks_shouldReturnStreaks_whenCurrentUser() throws Exception {
+        when(userSecurity.isCurrentUser(1L)).thenReturn(true);
+        when(activityAnalyticsService.getStreaksDto(1L)).thenReturn(
+                new StreakResponse(3, 12, LocalDate.of(2024, 1, 16), 40, 2, 4.5));
+
+        mockMvc.perform(get("/api/users/1/streaks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currentStreak").value(3))
+                .andExpect(jsonPath("$.longestStreak").value(12))
+                .andExpect(jsonPath("$.lastActiveDay").value("2024-01-16"));
+    }
+
+    @Test
+    @WithMockUser(username = "otherUser")
+    void getStreaks_shouldBeForbidden_forOtherUsers() throws Exception {
+        when(userSecurity.isCurrentUser(1L)).thenReturn(false);
+
+        mockMvc.perform(get("/api/users/1/streaks"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.fitnesstracker.controller;
 
+import com.example.fitnesstracker.cache.WorkoutPlanCatalogCache;
 import com.example.fitnesstracker.model.User;
 import com.example.fitnesstracker.model.WorkoutPlan;
 import com.example.fitnesstracker.request.WorkoutPlanRequest;
@@ -16,9 +17,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -28,11 +31,13 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(WorkoutPlanController.class)
 @AutoConfigureMockMvc
+@Import(WorkoutPlanCatalogCache.class)
 class WorkoutPlanControllerTest {
 
     @Autowired
@@ -44,6 +49,9 @@ class WorkoutPlanControllerTest {
     @MockBean
     private WorkoutPlanSecurity workoutPlanSecurity;
 
+    @Autowired
+    private WorkoutPlanCatalogCache catalogCache;
+
     private WorkoutPlanResponse workoutPlanResponse;
     private WorkoutPlanRequest workoutPlanRequest;
 
@@ -51,6 +59,7 @@ class WorkoutPlanControllerTest {
 
     @BeforeEach
     void setUp() {
+        catalogCache.invalidateAll();
         objectMapper = new ObjectMapper()
                 .registerModule(new JavaTimeModule())
                 .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
@@ -91,7 +100,50 @@ class WorkoutPlanControllerTest {
 
         mockMvc.perform(get("/api/workout-plans"))
                 .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Strength Training"))
+                .andExpect(header().string("Cache-Control", "max-age=30, private"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getAllWorkoutPlans_shouldServeRepeatedCallsFromCache() throws Exception {
+        when(workoutPlanService.getAllWorkoutPlansDto()).thenReturn(List.of(workoutPlanResponse));
+
+        mockMvc.perform(get("/api/workout-plans")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/workout-plans"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Strength Training"));
+
+        verify(workoutPlanService, times(1)).getAllWorkoutPlansDto();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getAllWorkoutPlans_shouldReturnNotModified_whenETagMatches() throws Exception {
+        when(workoutPlanService.getAllWorkoutPlansDto()).thenReturn(List.of(workoutPlanResponse));
+
+        MvcResult first = mockMvc.perform(get("/api/workout-plans")).andReturn();
+        String eTag = first.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/workout-plans").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void searchWorkoutPlans_shouldCachePerName() throws Exception {
+        when(workoutPlanService.searchWorkoutPlansByNameDto("strength", 50)).thenReturn(List.of(workoutPlanResponse));
+        when(workoutPlanService.searchWorkoutPlansByNameDto("yoga", 50)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/workout-plans/search").param("name", "strength"))
+                .andExpect(jsonPath("$[0].name").value("Strength Training"));
+        mockMvc.perform(get("/api/workout-plans/search").param("name", "yoga"))
+                .andExpect(jsonPath("$").isEmpty());
+        mockMvc.perform(get("/api/workout-plans/search").param("name", "strength"))
                 .andExpect(jsonPath("$[0].name").value("Strength Training"));
+
+        verify(workoutPlanService, times(1)).searchWorkoutPlansByNameDto("strength", 50);
+        verify(workoutPlanService, times(1)).searchWorkoutPlansByNameDto("yoga", 50);
     }
 
     @Test
@@ -122,7 +174,7 @@ class WorkoutPlanControllerTest {
     @WithMockUser(roles = "ADMIN")
     void updateWorkoutPlan_shouldReturnUpdatedPlan() throws Exception {
         when(workoutPlanSecurity.isOwner(1L)).thenReturn(true);
-        when(workoutPlanService.updateWorkoutPlanDto(eq(1L), any())).thenReturn(workoutPlanResponse);
+        when(workoutPlanService.updateWorkoutPlanDto(eq(1L), any(), isNull())).thenReturn(workoutPlanResponse);
 
         mockMvc.perform(put("/api/workout-plans/1")
                         .with(csrf())
@@ -136,12 +188,12 @@ class WorkoutPlanControllerTest {
     @WithMockUser(roles = "ADMIN")
     void deleteWorkoutPlan_shouldReturnNoContent() throws Exception {
         when(workoutPlanSecurity.isOwner(1L)).thenReturn(true);
-        doNothing().when(workoutPlanService).deleteWorkoutPlan(1L);
+        doNothing().when(workoutPlanService).deleteWorkoutPlan(1L, null);
 
         mockMvc.perform(delete("/api/workout-plans/1")
                         .with(csrf()))
                 .andExpect(status().isNoContent());
 
-        verify(workoutPlanService).deleteWorkoutPlan(1L);
+        verify(workoutPlanService).deleteWorkoutPlan(1L, null);
     }
 }
@@ -0,0 +1,181 @@
+package com.example.fitnesstracker.idempotency;
+
+import com.example.fitnesstracker.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.mock;
+
+class IdempotencyFilterTest {
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final FilterChain chain = (request, response) -> {
+        String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        ((HttpServletResponse) response).setStatus(body.contains("fail") ? 400 : 201);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"id\":" + executions.incrementAndGet() + "}");
+    };
+
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyStore store = new IdempotencyStore(mock(IdempotencyRecordRepository.class), 100,
+                Duration.ofHours(1), new SimpleMeterRegistry());
+        filter = new IdempotencyFilter(store,
+                AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/workout-plans"), Duration.ofSeconds(1));
+        authenticateAs("alice");
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retry_isAnsweredWithRecordedResponse() throws Exception {
+        MockHttpServletResponse first = perform("key-1", "{\"name\":\"Plan\"}");
+        MockHttpServletResponse retry = perform("key-1", "{\"name\":\"Plan\"}");
+
+        assertThat(executions).hasValue(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isNull();
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+    }
+
+    @Test
+    void reusedKeyWithDifferentBody_isRejected() throws Exception {
+        perform("key-1", "{\"name\":\"Plan\"}");
+
+        MockHttpServletResponse reuse = perform("key-1", "{\"name\":\"Other\"}");
+
+        assertThat(reuse.getStatus()).isEqualTo(422);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void keysAreScopedToTheCaller() throws Exception {
+        perform("key-1", "{\"name\":\"Plan\"}");
+        authenticateAs("bob");
+
+        assertThat(perform("key-1", "{\"name\":\"Plan\"}").getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isNull();
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void failedResponses_areNotRecorded() throws Exception {
+        perform("key-1", "{\"name\":\"fail\"}");
+        perform("key-1", "{\"name\":\"fail\"}");
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void requestsWithoutKeyOrOtherEndpoints_passThrough() throws Exception {
+        perform(null, "{\"name\":\"Plan\"}");
+        perform(null, "{\"name\":\"Plan\"}");
+        MockHttpServletRequest other = new MockHttpServletRequest("POST", "/api/users");
+        other.setServletPath("/api/users");
+        other.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1");
+        other.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        filter.doFilter(other, new MockHttpServletResponse(), chain);
+        filter.doFilter(other, new MockHttpServletResponse(), chain);
+
+        assertThat(executions).hasValue(4);
+    }
+
+    @Test
+    void oversizedKey_isRejected() throws Exception {
+        assertThat(perform("k".repeat(IdempotencyFilter.MAX_KEY_LENGTH + 1), "{}").getStatus()).isEqualTo(400);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void bufferedBody_isDeliveredToReadListenerInAsyncMode() throws Exception {
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicInteger allDataRead = new AtomicInteger();
+        FilterChain asyncChain = (request, response) -> {
+            request.startAsync();
+            ServletInputStream input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (input.isReady() && !input.isFinished()) {
+                        read.write(input.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new AssertionError(t);
+                }
+            });
+            ((HttpServletResponse) response).setStatus(201);
+        };
+        MockHttpServletRequest request = request("key-1", "{\"name\":\"Plan\"}");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), asyncChain);
+
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo("{\"name\":\"Plan\"}");
+        assertThat(allDataRead).hasValue(1);
+    }
+
+    @Test
+    void readListenerOutsideAsyncMode_isRejected() throws Exception {
+        FilterChain blockingChain = (request, response) -> assertThatIllegalStateException()
+                .isThrownBy(() -> request.getInputStream().setReadListener(mock(ReadListener.class)));
+
+        filter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), blockingChain);
+    }
+
+    private MockHttpServletResponse perform(String key, String body) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(key, body), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/workout-plans");
+        request.setServletPath("/api/workout-plans");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static void authenticateAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.fitnesstracker.idempotency;
+
+import com.example.fitnesstracker.model.IdempotencyRecord;
+import com.example.fitnesstracker.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 12, 0);
+    private static final IdempotencyStore.StoredResponse CREATED = new IdempotencyStore.StoredResponse(
+            "hash", 201, "application/json", null, "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(repository, 100, Duration.ofHours(24), new SimpleMeterRegistry(),
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @Test
+    void claim_ownsNewKey_thenReplaysRecordedResponse() throws Exception {
+        assertThat(store.claim("key", Duration.ZERO)).isEmpty();
+
+        store.complete("key", CREATED);
+
+        assertThat(store.claim("key", Duration.ZERO)).contains(CREATED);
+        verify(repository).save(argThat(record -> record.getId().equals("key")
+                && record.getExpiresAt().equals(NOW.plusHours(24))));
+        verify(repository, times(1)).findById("key");
+    }
+
+    @Test
+    void claim_fallsBackToPersistedResponse_untilItExpires() throws Exception {
+        when(repository.findById("kept")).thenReturn(Optional.of(
+                new IdempotencyRecord("kept", "hash", 201, "application/json", null, CREATED.body(), NOW.plusMinutes(1))));
+        when(repository.findById("expired")).thenReturn(Optional.of(
+                new IdempotencyRecord("expired", "hash", 201, "application/json", null, CREATED.body(), NOW)));
+
+        assertThat(store.claim("kept", Duration.ZERO)).hasValueSatisfying(response ->
+                assertThat(response.status()).isEqualTo(201));
+        assertThat(store.claim("expired", Duration.ZERO)).isEmpty();
+    }
+
+    @Test
+    void claim_waitsForConcurrentOwner() throws Exception {
+        assertThat(store.claim("key", Duration.ZERO)).isEmpty();
+
+        CompletableFuture<Optional<IdempotencyStore.StoredResponse>> duplicate = CompletableFuture.supplyAsync(() -> {
+            try {
+                return store.claim("key", Duration.ofSeconds(10));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        assertThat(duplicate).isNotDone();
+
+        store.complete("key", CREATED);
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).contains(CREATED);
+        verify(repository, times(1)).save(any());
+    }
+
+    @Test
+    void claim_passesKeyOn_whenOwnerRecordsNothing() throws Exception {
+        assertThat(store.claim("key", Duration.ZERO)).isEmpty();
+
+        CompletableFuture<Optional<IdempotencyStore.StoredResponse>> duplicate = CompletableFuture.supplyAsync(() -> {
+            try {
+                return store.claim("key", Duration.ofSeconds(10));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        store.complete("key", null);
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEmpty();
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void claim_timesOut_whileOwnerIsStillRunning() throws Exception {
+        assertThat(store.claim("key", Duration.ZERO)).isEmpty();
+
+        assertThatThrownBy(() -> store.claim("key", Duration.ofMillis(20))).isInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void complete_stillAnswersFromMemory_whenPersistingFails() throws Exception {
+        when(repository.save(any())).thenThrow(new IllegalStateException("database down"));
+        store.claim("key", Duration.ZERO);
+
+        store.complete("key", CREATED);
+
+        assertThat(store.claim("key", Duration.ZERO)).contains(CREATED);
+    }
+
+    @Test
+    void purgeExpired_deletesRecordsPastNow() {
+        when(repository.deleteExpired(NOW)).thenReturn(3);
+
+        assertThat(store.purgeExpired()).isEqualTo(3);
+        verify(repository, never()).findById(anyString());
+    }
+}
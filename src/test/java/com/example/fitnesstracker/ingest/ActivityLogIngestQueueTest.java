@@ -0,0 +1,65 @@
+package com.example.fitnesstracker.ingest;
+
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.request.ActivityLogRequest;
+import com.example.fitnesstracker.response.ActivityLogIngestResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivityLogIngestQueueTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ActivityLogIngestQueue queue =
+            new ActivityLogIngestQueue(2, Duration.ofMinutes(5), Duration.ofSeconds(1), meterRegistry);
+
+    @Test
+    void offer_rejectsOnceFull_andForgetsRejectedSubmission() {
+        assertThat(queue.offer(request(1L))).isPresent();
+        assertThat(queue.offer(request(1L))).isPresent();
+
+        assertThat(queue.offer(request(1L))).isEmpty();
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(meterRegistry.get("ingest.submissions.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void drainTo_takesUpToMaxItemsInSubmissionOrder() {
+        String first = queue.offer(request(1L)).orElseThrow().trackingId();
+        String second = queue.offer(request(2L)).orElseThrow().trackingId();
+        List<ActivityLogIngestQueue.Submission> batch = new ArrayList<>();
+
+        assertThat(queue.drainTo(batch, 1, Duration.ZERO)).isEqualTo(1);
+        assertThat(queue.drainTo(batch, 5, Duration.ofMillis(10))).isEqualTo(1);
+        assertThat(queue.drainTo(batch, 5, Duration.ofMillis(10))).isZero();
+
+        assertThat(batch).extracting(ActivityLogIngestQueue.Submission::trackingId).containsExactly(first, second);
+    }
+
+    @Test
+    void complete_publishesOutcome() {
+        ActivityLogIngestResponse pending = queue.offer(request(1L)).orElseThrow();
+        List<ActivityLogIngestQueue.Submission> batch = new ArrayList<>();
+        queue.drainTo(batch, 1, Duration.ZERO);
+
+        assertThat(queue.status(pending.trackingId())).contains(pending);
+
+        queue.complete(batch.get(0), 42L, null);
+
+        assertThat(queue.status(pending.trackingId())).contains(new ActivityLogIngestResponse(
+                pending.trackingId(), 1L, ActivityLogIngestResponse.Status.CREATED, 42L, null));
+        assertThat(queue.status("unknown")).isEmpty();
+    }
+
+    static ActivityLogRequest request(Long userId) {
+        return new ActivityLogRequest("Running", null, LocalDateTime.of(2024, 1, 15, 6, 30), 30, 250,
+                ActivityLog.ActivityType.CARDIO, userId, null);
+    }
+}
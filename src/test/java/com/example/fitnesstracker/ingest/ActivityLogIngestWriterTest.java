@@ -0,0 +1,100 @@
+package com.example.fitnesstracker.ingest;
+
+import com.example.fitnesstracker.request.ActivityLogRequest;
+import com.example.fitnesstracker.response.ActivityLogBatchResponse;
+import com.example.fitnesstracker.response.ActivityLogIngestResponse;
+import com.example.fitnesstracker.service.ActivityLogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.fitnesstracker.ingest.ActivityLogIngestQueueTest.request;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityLogIngestWriterTest {
+
+    @Mock
+    private ActivityLogService activityLogService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ActivityLogIngestQueue queue;
+    private ActivityLogIngestWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        queue = new ActivityLogIngestQueue(16, Duration.ofMinutes(5), Duration.ofSeconds(1), new SimpleMeterRegistry());
+        writer = new ActivityLogIngestWriter(queue, activityLogService, transactionManager, 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void write_createsEachSubmittersLogsAsThem_andRecordsOutcomes() {
+        String alice = submitAs("alice", request(1L));
+        String bob = submitAs("bob", request(2L));
+        String aliceAgain = submitAs("alice", request(1L));
+        List<String> callers = new ArrayList<>();
+        when(activityLogService.createActivityLogsBatch(anyList())).thenAnswer(invocation -> {
+            String caller = SecurityContextHolder.getContext().getAuthentication().getName();
+            callers.add(caller);
+            List<ActivityLogRequest> requests = invocation.getArgument(0);
+            return caller.equals("alice")
+                    ? new ActivityLogBatchResponse(requests.size(), 1, 1, List.of(
+                    new ActivityLogBatchResponse.ItemResult(0, 10L, null),
+                    new ActivityLogBatchResponse.ItemResult(1, null, "Workout plan not found")))
+                    : new ActivityLogBatchResponse(1, 1, 0, List.of(new ActivityLogBatchResponse.ItemResult(0, 11L, null)));
+        });
+
+        assertThat(writer.write(new ArrayList<>(), Duration.ZERO)).isEqualTo(3);
+
+        assertThat(callers).containsExactly("alice", "bob");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(queue.status(alice).orElseThrow().activityLogId()).isEqualTo(10L);
+        assertThat(queue.status(bob).orElseThrow().activityLogId()).isEqualTo(11L);
+        assertThat(queue.status(aliceAgain).orElseThrow().status()).isEqualTo(ActivityLogIngestResponse.Status.FAILED);
+        assertThat(writer.write(new ArrayList<>(), Duration.ZERO)).isZero();
+    }
+
+    @Test
+    void write_failsWholeBatch_whenTransactionFails() {
+        String first = submitAs("alice", request(1L));
+        String second = submitAs("bob", request(2L));
+        when(activityLogService.createActivityLogsBatch(anyList())).thenThrow(new IllegalStateException("database down"));
+
+        writer.write(new ArrayList<>(), Duration.ZERO);
+
+        assertThat(List.of(queue.status(first).orElseThrow(), queue.status(second).orElseThrow()))
+                .allSatisfy(status -> {
+                    assertThat(status.status()).isEqualTo(ActivityLogIngestResponse.Status.FAILED);
+                    assertThat(status.error()).contains("database down");
+                });
+    }
+
+    private String submitAs(String username, ActivityLogRequest request) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+        try {
+            return queue.offer(request).orElseThrow().trackingId();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.fitnesstracker.leaderboard;
+
+import com.example.fitnesstracker.event.ActivityLogChangedEvent;
+import com.example.fitnesstracker.event.ActivityLogSnapshot;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.repository.ActivityLogRepository;
+import com.example.fitnesstracker.repository.projection.ActivitySampleView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityLeaderboardTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 12, 0);
+
+    @Mock
+    private ActivityLogRepository activityLogRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MutableClock clock;
+    private ActivityLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW.toInstant(ZoneOffset.UTC));
+        when(activityLogRepository.streamSamplesSince(NOW.minusDays(7))).thenReturn(Stream.of(
+                new ActivitySampleView(1L, 1L, NOW.minusDays(5), 30, 300, ActivityLog.ActivityType.CARDIO),
+                new ActivitySampleView(2L, 1L, NOW.minusHours(2), 20, 100, ActivityLog.ActivityType.STRENGTH),
+                new ActivitySampleView(3L, 2L, NOW.minusHours(3), 60, 350, ActivityLog.ActivityType.CARDIO),
+                new ActivitySampleView(4L, 3L, NOW.minusHours(1), 10, null, null)));
+        leaderboard = new ActivityLeaderboard(activityLogRepository, transactionManager, List.of("1d", "7d"), clock);
+        leaderboard.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void top_ranksEachWindowAndType() {
+        assertEquals(List.of(
+                        new LeaderboardStanding(1, 2, 50, 400),
+                        new LeaderboardStanding(2, 1, 60, 350),
+                        new LeaderboardStanding(3, 1, 10, 0)),
+                leaderboard.top("7d", null, LeaderboardMetric.CALORIES, 10));
+        assertEquals(List.of(
+                        new LeaderboardStanding(2, 1, 60, 350),
+                        new LeaderboardStanding(1, 1, 20, 100)),
+                leaderboard.top("1d", null, LeaderboardMetric.MINUTES, 2));
+        assertEquals(List.of(new LeaderboardStanding(2, 1, 60, 350)),
+                leaderboard.top("1d", ActivityLog.ActivityType.CARDIO, LeaderboardMetric.CALORIES, 10));
+        assertEquals(List.of(new LeaderboardStanding(3, 1, 10, 0)),
+                leaderboard.top("1d", ActivityLog.ActivityType.OTHER, LeaderboardMetric.CALORIES, 10));
+    }
+
+    @Test
+    void onActivityLogChanged_movesContributionBetweenWindowsAndTypes() {
+        ActivityLogSnapshot before = new ActivityLogSnapshot(1L, 1L, NOW.minusDays(5), ActivityLog.ActivityType.CARDIO, 30, 300);
+        ActivityLogSnapshot after = new ActivityLogSnapshot(1L, 1L, NOW.minusHours(1), ActivityLog.ActivityType.STRENGTH, 40, 500);
+
+        leaderboard.onActivityLogChanged(new ActivityLogChangedEvent(before, after));
+
+        assertEquals(List.of(new LeaderboardStanding(1, 2, 60, 600)),
+                leaderboard.top("1d", ActivityLog.ActivityType.STRENGTH, LeaderboardMetric.CALORIES, 10));
+        assertEquals(List.of(new LeaderboardStanding(2, 1, 60, 350)),
+                leaderboard.top("7d", ActivityLog.ActivityType.CARDIO, LeaderboardMetric.CALORIES, 10));
+
+        leaderboard.onActivityLogChanged(new ActivityLogChangedEvent(after, null));
+
+        assertEquals(List.of(new LeaderboardStanding(1, 1, 20, 100)),
+                leaderboard.top("7d", ActivityLog.ActivityType.STRENGTH, LeaderboardMetric.CALORIES, 10));
+    }
+
+    @Test
+    void sweep_evictsContributionsThatLeftTheirWindow() {
+        clock.advance(Duration.ofHours(23));
+
+        assertEquals(2, leaderboard.sweep());
+
+        // Logs 2 and 3 are now older than a day; log 4 sits exactly on the horizon and still counts.
+        assertEquals(List.of(new LeaderboardStanding(3, 1, 10, 0)),
+                leaderboard.top("1d", null, LeaderboardMetric.CALORIES, 10));
+        assertEquals(List.of(
+                        new LeaderboardStanding(2, 1, 60, 350),
+                        new LeaderboardStanding(1, 2, 50, 400),
+                        new LeaderboardStanding(3, 1, 10, 0)),
+                leaderboard.top("7d", null, LeaderboardMetric.MINUTES, 10));
+
+        // Log 1 leaves the week.
+        clock.advance(Duration.ofDays(3));
+        leaderboard.sweep();
+
+        assertEquals(List.of(
+                        new LeaderboardStanding(2, 1, 60, 350),
+                        new LeaderboardStanding(1, 1, 20, 100),
+                        new LeaderboardStanding(3, 1, 10, 0)),
+                leaderboard.top("7d", null, LeaderboardMetric.MINUTES, 10));
+        assertEquals(List.of(), leaderboard.top("1d", null, LeaderboardMetric.MINUTES, 10));
+    }
+
+    @Test
+    void onActivityLogChanged_ignoresLogsOlderThanLongestWindow() {
+        leaderboard.onActivityLogChanged(new ActivityLogChangedEvent(null,
+                new ActivityLogSnapshot(5L, 4L, NOW.minusDays(8), ActivityLog.ActivityType.CARDIO, 90, 900)));
+
+        assertEquals(3, leaderboard.top("7d", null, LeaderboardMetric.CALORIES, 10).size());
+    }
+
+    @Test
+    void onUserDeleted_removesUserFromEveryBoard() {
+        leaderboard.onUserDeleted(new UserDeletedEvent(1L, "user1"));
+
+        assertEquals(List.of(new LeaderboardStanding(2, 1, 60, 350), new LeaderboardStanding(3, 1, 10, 0)),
+                leaderboard.top("7d", null, LeaderboardMetric.CALORIES, 10));
+        assertEquals(List.of(), leaderboard.top("1d", ActivityLog.ActivityType.STRENGTH, LeaderboardMetric.CALORIES, 10));
+    }
+
+    @Test
+    void top_rejectsUnknownWindow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> leaderboard.top("30d", null, LeaderboardMetric.CALORIES, 10));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
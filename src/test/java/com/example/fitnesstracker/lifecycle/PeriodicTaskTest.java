@@ -0,0 +1,46 @@
+package com.example.fitnesstracker.lifecycle;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeriodicTaskTest {
+
+    @Test
+    void runsRepeatedly_evenAfterAFailedRun_untilStopped() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch threeRuns = new CountDownLatch(3);
+        PeriodicTask task = new PeriodicTask("test-task", Duration.ofMillis(5), () -> {
+            runs.incrementAndGet();
+            threeRuns.countDown();
+            throw new IllegalStateException("boom");
+        });
+
+        task.start();
+        assertThat(task.isRunning()).isTrue();
+        assertThat(threeRuns.await(5, TimeUnit.SECONDS)).isTrue();
+
+        task.stop();
+        assertThat(task.isRunning()).isFalse();
+        int afterStop = runs.get();
+        Thread.sleep(50);
+        assertThat(runs).hasValue(afterStop);
+    }
+
+    @Test
+    void stop_doesNotWaitForTheInterval() {
+        PeriodicTask task = new PeriodicTask("test-task", Duration.ofHours(1), () -> {
+        });
+        task.start();
+
+        long started = System.nanoTime();
+        task.stop();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+    }
+}
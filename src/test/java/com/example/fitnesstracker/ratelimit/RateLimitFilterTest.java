@@ -0,0 +1,94 @@
+package com.example.fitnesstracker.ratelimit;
+
+import com.example.fitnesstracker.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitFilter(rateLimiter, AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/activity-logs/**"));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void admittedRequest_reachesTheChain() throws Exception {
+        authenticate("alice", "ROLE_USER");
+        when(rateLimiter.tryAcquire("alice", User.Role.USER)).thenReturn(0L);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(post("/api/activity-logs"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void rejectedRequest_getsTooManyRequestsWithRetryAfter() throws Exception {
+        authenticate("admin", "ROLE_ADMIN");
+        when(rateLimiter.tryAcquire("admin", User.Role.ADMIN)).thenReturn(TimeUnit.MILLISECONDS.toNanos(1200));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(post("/api/activity-logs/batch"), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void reads_andAnonymousRequests_areNotLimited() throws Exception {
+        authenticate("alice", "ROLE_USER");
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/activity-logs");
+        read.setServletPath("/api/activity-logs");
+        filter.doFilter(read, new MockHttpServletResponse(), new MockFilterChain());
+
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(post("/api/activity-logs"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        verifyNoInteractions(rateLimiter);
+    }
+
+    private static MockHttpServletRequest post(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        return request;
+    }
+
+    private static void authenticate(String username, String role) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.createAuthorityList(role)));
+    }
+}
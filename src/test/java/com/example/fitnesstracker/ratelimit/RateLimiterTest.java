@@ -0,0 +1,108 @@
+package com.example.fitnesstracker.ratelimit;
+
+import com.example.fitnesstracker.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(123_456_789L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Users: 2 per second, bursts of 3. Admins: 10 per second, bursts of 5.
+    private final RateLimiter rateLimiter = new RateLimiter(RateLimiter.Limit.of(2, 3), RateLimiter.Limit.of(10, 5),
+            100, Duration.ofMinutes(10), meterRegistry, now::get);
+
+    @Test
+    void tryAcquire_admitsBurst_thenOneRequestPerInterval() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire("alice", User.Role.USER)).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire("alice", User.Role.USER)).isEqualTo(SECOND / 2);
+
+        now.addAndGet(SECOND / 2 - 1);
+        assertThat(rateLimiter.tryAcquire("alice", User.Role.USER)).isEqualTo(1);
+
+        now.incrementAndGet();
+        assertThat(rateLimiter.tryAcquire("alice", User.Role.USER)).isZero();
+        assertThat(rateLimiter.tryAcquire("alice", User.Role.USER)).isPositive();
+        assertThat(meterRegistry.get("ratelimit.rejections").tag("role", "USER").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void tryAcquire_refillsToBurstOnly() {
+        rateLimiter.tryAcquire("alice", User.Role.USER);
+        now.addAndGet(60 * SECOND);
+
+        int admitted = 0;
+        while (rateLimiter.tryAcquire("alice", User.Role.USER) == 0) {
+            admitted++;
+        }
+        assertThat(admitted).isEqualTo(3);
+    }
+
+    @Test
+    void tryAcquire_keepsPrincipalsApart_andAppliesRoleLimits() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("alice", User.Role.USER);
+        }
+        assertThat(rateLimiter.tryAcquire("alice", User.Role.USER)).isPositive();
+        assertThat(rateLimiter.tryAcquire("bob", User.Role.USER)).isZero();
+
+        int admitted = 0;
+        while (rateLimiter.tryAcquire("admin", User.Role.ADMIN) == 0) {
+            admitted++;
+        }
+        assertThat(admitted).isEqualTo(5);
+    }
+
+    @Test
+    void tryAcquire_admitsExactlyBurst_underContention() throws Exception {
+        RateLimiter contended = new RateLimiter(RateLimiter.Limit.of(1, 1000), RateLimiter.Limit.of(1, 1000),
+                100, Duration.ofMinutes(10), meterRegistry, now::get);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 500; i++) {
+                        if (contended.tryAcquire("alice", User.Role.USER) == 0) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(admitted).hasValue(1000);
+    }
+
+    @Test
+    void idleBuckets_areEvicted() {
+        rateLimiter.tryAcquire("alice", User.Role.USER);
+        rateLimiter.tryAcquire("bob", User.Role.USER);
+
+        now.addAndGet(Duration.ofMinutes(11).toNanos());
+        rateLimiter.tryAcquire("carol", User.Role.USER);
+
+        assertThat(rateLimiter.bucketCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.fitnesstracker.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the activity_logs index set by asking H2 for the plan of each hot query shape.
+ * H2 does not report sort elision for these shapes, so only index selection is asserted.
+ * Where the SQL comes from a repository query, the statement Hibernate actually issued is
+ * captured and explained, so a change to either the query or the index set is caught.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.fitnesstracker.repository.ActivityLogIndexTest$LastStatement")
+class ActivityLogIndexTest {
+
+    private static final String SELECT = "SELECT * FROM activity_logs a ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Test
+    void userTimeRange_usesUserDateIndex() {
+        assertIndexed(SELECT + "WHERE a.user_id = 1 " +
+                        "AND a.date_time BETWEEN TIMESTAMP '2024-01-01 00:00:00' AND TIMESTAMP '2024-02-01 00:00:00' " +
+                        "ORDER BY a.date_time",
+                "IDX_ACTIVITY_LOG_USER_DATE");
+    }
+
+    @Test
+    void userAndType_usesUserTypeDateIndex() {
+        assertIndexed(SELECT + "WHERE a.user_id = 1 AND a.activity_type = 'CARDIO' ORDER BY a.date_time",
+                "IDX_ACTIVITY_LOG_USER_TYPE_DATE");
+    }
+
+    @Test
+    void workoutPlanKeysetPage_usesPlanDateIndex() {
+        activityLogRepository.findViewPageByWorkoutPlanIdAfter(1L, LocalDateTime.of(2024, 1, 1, 0, 0), 100L,
+                PageRequest.of(0, 50));
+
+        String sql = LastStatement.sql.get();
+        Object[] args = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        assertIndexed(sql, "IDX_ACTIVITY_LOG_PLAN_DATE", args);
+    }
+
+    @Test
+    void globalKeysetPage_usesDateIdIndex() {
+        assertIndexed(SELECT + "WHERE a.date_time < TIMESTAMP '2024-01-01 00:00:00' " +
+                        "ORDER BY a.date_time DESC, a.id DESC LIMIT 50",
+                "IDX_ACTIVITY_LOG_DATE_ID");
+    }
+
+    private void assertIndexed(String sql, String expected, Object... args) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+
+        assertFalse(plan.contains("tableScan"), () -> "Table scan in plan:\n" + plan);
+        assertTrue(plan.contains(expected), () -> "Expected " + expected + " in plan:\n" + plan);
+    }
+
+    /**
+     * Remembers the last statement Hibernate prepared on this thread.
+     */
+    public static class LastStatement implements StatementInspector {
+
+        static final ThreadLocal<String> sql = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String statement) {
+            sql.set(statement);
+            return statement;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.fitnesstracker.repository;
+
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.model.User;
+import com.example.fitnesstracker.repository.projection.ActivityDayCountView;
+import com.example.fitnesstracker.repository.projection.ActivityTotalsByDayView;
+import com.example.fitnesstracker.repository.projection.ActivityTotalsByTypeView;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class ActivityLogRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 15);
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long userId;
+    private Long otherId;
+
+    @BeforeEach
+    void setUp() {
+        User user = newUser("statsUser");
+        User other = newUser("otherUser");
+        userId = user.getId();
+        otherId = other.getId();
+
+        newLog(user, DAY.atTime(7, 0), 30, 300, ActivityLog.ActivityType.CARDIO);
+        newLog(user, DAY.atTime(18, 30), 45, 200, ActivityLog.ActivityType.STRENGTH);
+        newLog(user, DAY.plusDays(1).atTime(7, 0), 20, 150, ActivityLog.ActivityType.CARDIO);
+        // Outside the queried range, or someone else's.
+        newLog(user, DAY.plusDays(2).atStartOfDay(), 60, 500, ActivityLog.ActivityType.CARDIO);
+        newLog(other, DAY.atTime(9, 0), 60, 500, ActivityLog.ActivityType.CARDIO);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void sumByActivityType_groupsUsersLogsInRange() {
+        List<ActivityTotalsByTypeView> totals = activityLogRepository.sumByActivityType(
+                userId, DAY.atStartOfDay(), DAY.plusDays(2).atStartOfDay());
+
+        assertEquals(2, totals.size());
+        assertEquals(new ActivityTotalsByTypeView(ActivityLog.ActivityType.CARDIO, 2L, 50L, 450L),
+                totals.stream().filter(row -> row.activityType() == ActivityLog.ActivityType.CARDIO).findFirst().orElseThrow());
+        assertEquals(new ActivityTotalsByTypeView(ActivityLog.ActivityType.STRENGTH, 1L, 45L, 200L),
+                totals.stream().filter(row -> row.activityType() == ActivityLog.ActivityType.STRENGTH).findFirst().orElseThrow());
+    }
+
+    @Test
+    void sumByDay_groupsUsersLogsInRangeByCalendarDay() {
+        List<ActivityTotalsByDayView> totals = activityLogRepository.sumByDay(
+                userId, DAY.atStartOfDay(), DAY.plusDays(2).atStartOfDay());
+
+        assertEquals(List.of(
+                new ActivityTotalsByDayView(DAY, 2L, 75L, 500L),
+                new ActivityTotalsByDayView(DAY.plusDays(1), 1L, 20L, 150L)), totals);
+    }
+
+    @Test
+    void streamDailyCounts_countsLogsPerUserAndDay() {
+        List<ActivityDayCountView> counts;
+        try (Stream<ActivityDayCountView> stream = activityLogRepository.streamDailyCounts()) {
+            counts = stream.sorted(Comparator.comparing(ActivityDayCountView::userId)
+                    .thenComparing(ActivityDayCountView::day)).toList();
+        }
+
+        assertEquals(List.of(
+                new ActivityDayCountView(userId, DAY, 2L),
+                new ActivityDayCountView(userId, DAY.plusDays(1), 1L),
+                new ActivityDayCountView(userId, DAY.plusDays(2), 1L),
+                new ActivityDayCountView(otherId, DAY, 1L)), counts);
+    }
+
+    private User newUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setEmail(username + "@example.com");
+        user.setFullName(username);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void newLog(User user, LocalDateTime dateTime, int minutes, int calories, ActivityLog.ActivityType type) {
+        ActivityLog log = new ActivityLog();
+        log.setActivityName(type.name());
+        log.setDateTime(dateTime);
+        log.setDurationMinutes(minutes);
+        log.setCaloriesBurned(calories);
+        log.setActivityType(type);
+        log.setUser(user);
+        entityManager.persist(log);
+    }
+}
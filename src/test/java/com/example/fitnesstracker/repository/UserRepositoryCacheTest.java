@@ -0,0 +1,82 @@
+package com.example.fitnesstracker.repository;
+
+import com.example.fitnesstracker.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs without a surrounding test transaction: the cache only sees committed state.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRepositoryCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        // Regions are shared by every test context in the JVM, so start from a cold cache.
+        entityManagerFactory.getCache().evictAll();
+
+        User user = new User();
+        user.setUsername("cached");
+        user.setPassword("password");
+        user.setEmail("cached@example.com");
+        user.setFullName("Cached User");
+        userId = userRepository.save(user).getId();
+        entityManagerFactory.getCache().evictAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findById_isServedFromSecondLevelCacheAfterFirstLoad() {
+        assertTrue(userRepository.findById(userId).isPresent());
+        assertTrue(userRepository.findById(userId).isPresent());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void findByNaturalUsername_isServedFromNaturalIdCacheAfterFirstLoad() {
+        assertEquals(userId, userRepository.findByNaturalUsername("cached").orElseThrow().getId());
+        assertEquals(userId, userRepository.findByNaturalUsername("cached").orElseThrow().getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+        assertTrue(userRepository.findByNaturalUsername("missing").isEmpty());
+    }
+
+    @Test
+    void update_evictsStaleEntry() {
+        User user = userRepository.findById(userId).orElseThrow();
+        user.setFullName("Renamed User");
+        userRepository.save(user);
+
+        assertEquals("Renamed User", userRepository.findById(userId).orElseThrow().getFullName());
+        assertEquals(userId, userRepository.findByNaturalUsername("cached").orElseThrow().getId());
+    }
+}
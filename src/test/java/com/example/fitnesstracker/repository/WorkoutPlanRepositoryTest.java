@@ -0,0 +1,115 @@
+package com.example.fitnesstracker.repository;
+
+import com.example.fitnesstracker.model.User;
+import com.example.fitnesstracker.model.WorkoutPlan;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class WorkoutPlanRepositoryTest {
+
+    private static final int CREATORS = 5;
+    private static final int PLANS_PER_CREATOR = 3;
+
+    @Autowired
+    private WorkoutPlanRepository workoutPlanRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private final List<Long> creatorIds = new ArrayList<>();
+    private final List<Long> planIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int c = 0; c < CREATORS; c++) {
+            User creator = new User();
+            creator.setUsername("creator" + c);
+            creator.setPassword("password");
+            creator.setEmail("creator" + c + "@example.com");
+            creator.setFullName("Creator " + c);
+            entityManager.persist(creator);
+            creatorIds.add(creator.getId());
+
+            for (int p = 0; p < PLANS_PER_CREATOR; p++) {
+                WorkoutPlan plan = new WorkoutPlan();
+                plan.setName("Plan " + c + "-" + p);
+                plan.setStartDate(LocalDate.now().plusDays(1));
+                plan.setDifficultyLevel(WorkoutPlan.DifficultyLevel.BEGINNER);
+                plan.setCreatedBy(creator);
+                entityManager.persist(plan);
+                planIds.add(plan.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAll_loadsCreatorsInOneStatement() {
+        assertSingleStatement(() -> workoutPlanRepository.findAll(), CREATORS * PLANS_PER_CREATOR);
+    }
+
+    @Test
+    void findAllById_loadsCreatorsInOneStatement() {
+        assertSingleStatement(() -> workoutPlanRepository.findAllById(planIds), planIds.size());
+    }
+
+    @Test
+    void findByNameContainingIgnoreCase_loadsCreatorsInOneStatement() {
+        assertSingleStatement(() -> workoutPlanRepository.findByNameContainingIgnoreCase("plan"),
+                CREATORS * PLANS_PER_CREATOR);
+    }
+
+    @Test
+    void findByCreatedById_loadsCreatorsInOneStatement() {
+        assertSingleStatement(() -> workoutPlanRepository.findByCreatedById(creatorIds.get(0)), PLANS_PER_CREATOR);
+    }
+
+    @Test
+    void findByCreatedByIdAndDifficultyLevel_loadsCreatorsInOneStatement() {
+        assertSingleStatement(() -> workoutPlanRepository.findByCreatedByIdAndDifficultyLevel(
+                creatorIds.get(0), WorkoutPlan.DifficultyLevel.BEGINNER), PLANS_PER_CREATOR);
+    }
+
+    @Test
+    void findEntityTagById_changesWhenPlanOrCreatorChanges() {
+        Long planId = planIds.get(0);
+        assertEquals("0.0", workoutPlanRepository.findEntityTagById(planId).orElseThrow());
+
+        User creator = entityManager.find(User.class, creatorIds.get(0));
+        creator.setFullName("Renamed");
+        entityManager.flush();
+        assertEquals("0.1", workoutPlanRepository.findEntityTagById(planId).orElseThrow());
+
+        WorkoutPlan plan = entityManager.find(WorkoutPlan.class, planId);
+        plan.setName("Renamed plan");
+        entityManager.flush();
+        assertEquals("1.1", workoutPlanRepository.findEntityTagById(planId).orElseThrow());
+    }
+
+    private void assertSingleStatement(Supplier<List<WorkoutPlan>> listing, int expectedSize) {
+        List<WorkoutPlan> plans = listing.get();
+        plans.forEach(plan -> assertNotNull(plan.getCreatedBy().getUsername()));
+
+        assertEquals(expectedSize, plans.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
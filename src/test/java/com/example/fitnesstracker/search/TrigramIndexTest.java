@@ -0,0 +1,85 @@
+package com.example.fitnesstracker.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(1, "Full Body Strength");
+        index.put(2, "Strength");
+        index.put(3, "Strength and Conditioning");
+        index.put(4, "Upper body hypertrophy");
+        index.put(5, "Bodystrength Basics");
+    }
+
+    @Test
+    void search_ranksExactThenPrefixThenWordStartThenSubstring() {
+        assertEquals(List.of(2L, 3L, 1L, 5L), index.search("strength", 10));
+    }
+
+    @Test
+    void search_ignoresCase() {
+        assertEquals(List.of(2L, 3L, 1L, 5L), index.search("STRENGTH", 10));
+    }
+
+    @Test
+    void search_requiresContiguousMatch() {
+        // Plan 5 holds both "body" and "strength" but not "strengthbody" in that order.
+        assertEquals(List.of(1L), index.search("dy s", 10));
+        assertEquals(List.of(), index.search("strengthbody", 10));
+    }
+
+    @Test
+    void search_honoursLimit() {
+        assertEquals(List.of(2L, 3L), index.search("strength", 2));
+    }
+
+    @Test
+    void search_shortQueriesScanTexts() {
+        assertEquals(List.of(4L), index.search("up", 10));
+        assertEquals(List.of(), index.search("", 10));
+    }
+
+    @Test
+    void put_replacesPreviousText() {
+        index.put(2, "Yoga");
+
+        assertEquals(List.of(3L, 1L, 5L), index.search("strength", 10));
+        assertEquals(List.of(2L), index.search("yoga", 10));
+    }
+
+    @Test
+    void remove_dropsDocumentFromPostings() {
+        index.remove(3);
+        index.remove(42);
+
+        assertEquals(List.of(2L, 1L, 5L), index.search("strength", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void postingList_keepsIdsSortedWhenInsertedOutOfOrder() {
+        TrigramIndex.PostingList list = new TrigramIndex.PostingList();
+        for (long id : new long[]{5, 1, 9, 3, 7, 3}) {
+            list.add(id);
+        }
+
+        for (long id : new long[]{1, 3, 5, 7, 9}) {
+            assertTrue(list.contains(id));
+        }
+        assertFalse(list.contains(4));
+        assertTrue(list.remove(5));
+        assertFalse(list.contains(5));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.fitnesstracker.search;
+
+import com.example.fitnesstracker.event.WorkoutPlanChangedEvent;
+import com.example.fitnesstracker.repository.WorkoutPlanRepository;
+import com.example.fitnesstracker.repository.projection.WorkoutPlanNameView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkoutPlanSearchIndexTest {
+
+    @Mock
+    private WorkoutPlanRepository workoutPlanRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WorkoutPlanSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(workoutPlanRepository.streamNames()).thenReturn(Stream.of(
+                new WorkoutPlanNameView(1L, "Strength"),
+                new WorkoutPlanNameView(2L, "Cardio Blast")));
+        searchIndex = new WorkoutPlanSearchIndex(workoutPlanRepository, transactionManager);
+        searchIndex.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void afterSingletonsInstantiated_indexesExistingPlans() {
+        assertEquals(List.of(1L), searchIndex.search("stren", 10));
+        assertEquals(List.of(2L), searchIndex.search("blast", 10));
+    }
+
+    @Test
+    void onWorkoutPlanChanged_appliesSavesAndDeletions() {
+        searchIndex.onWorkoutPlanChanged(new WorkoutPlanChangedEvent(3L, "Strength Endurance"));
+        searchIndex.onWorkoutPlanChanged(WorkoutPlanChangedEvent.deleted(1L));
+
+        assertEquals(List.of(3L), searchIndex.search("strength", 10));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.fitnesstracker.security;
+
+import com.example.fitnesstracker.event.UserAccountChangedEvent;
+import com.example.fitnesstracker.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingDaoAuthenticationProviderTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private CachingDaoAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new CachingDaoAuthenticationProvider(userDetailsService, passwordEncoder, 100, Duration.ofMinutes(5));
+    }
+
+    private void storedHash(String hash) {
+        when(userDetailsService.loadUserByUsername("testUser")).thenAnswer(invocation -> new AuthenticatedUser(
+                1L, "testUser", hash, User.Role.USER, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private Authentication login(String password) {
+        return provider.authenticate(new UsernamePasswordAuthenticationToken("testUser", password));
+    }
+
+    @Test
+    void authenticate_runsEncoderOnlyOnFirstSuccess() {
+        storedHash("hash");
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+
+        Authentication first = login("secret");
+        login("secret");
+
+        assertEquals(1L, ((AuthenticatedUser) first.getPrincipal()).getId());
+        verify(passwordEncoder, times(1)).matches("secret", "hash");
+    }
+
+    @Test
+    void authenticate_neverServesWrongPasswordFromCache() {
+        storedHash("hash");
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        when(passwordEncoder.matches("guess", "hash")).thenReturn(false);
+
+        login("secret");
+
+        assertThrows(BadCredentialsException.class, () -> login("guess"));
+        verify(passwordEncoder).matches("guess", "hash");
+    }
+
+    @Test
+    void authenticate_reverifiesAfterStoredHashChanges() {
+        storedHash("hash");
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        login("secret");
+
+        storedHash("newHash");
+        when(passwordEncoder.matches("secret", "newHash")).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class, () -> login("secret"));
+    }
+
+    @Test
+    void onUserAccountChanged_dropsCachedVerification() {
+        storedHash("hash");
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        login("secret");
+
+        provider.onUserAccountChanged(new UserAccountChangedEvent(1L, "testUser", "testUser", true));
+        login("secret");
+
+        verify(passwordEncoder, times(2)).matches("secret", "hash");
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.fitnesstracker.security;
+
+import com.example.fitnesstracker.event.UserAccountChangedEvent;
+import com.example.fitnesstracker.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private static final Duration TTL = Duration.ofMinutes(15);
+
+    private MutableClock clock;
+    private TokenRevocationList revocationList;
+    private TokenService tokenService;
+    private AuthenticatedUser user;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-15T07:00:00Z"));
+        revocationList = new TokenRevocationList(TTL, clock);
+        tokenService = new TokenService("test-secret", TTL, revocationList, clock);
+        user = new AuthenticatedUser(1L, "test|user", "hash", User.Role.USER,
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+    }
+
+    @Test
+    void authenticate_roundTripsIdRoleAndUsername() {
+        String token = tokenService.issue(user).token();
+
+        AuthenticatedUser principal = tokenService.authenticate(token).orElseThrow();
+
+        assertEquals(1L, principal.getId());
+        assertEquals("test|user", principal.getUsername());
+        assertEquals(User.Role.USER, principal.getRole());
+        assertNull(principal.getPassword());
+    }
+
+    @Test
+    void authenticate_rejectsTamperedAndForeignTokens() {
+        String token = tokenService.issue(user).token();
+        String forged = new TokenService("other-secret", TTL, revocationList, clock).issue(user).token();
+
+        assertTrue(tokenService.authenticate(token.substring(0, token.length() - 2) + "xx").isEmpty());
+        assertTrue(tokenService.authenticate(forged).isEmpty());
+        assertTrue(tokenService.authenticate("not-a-token").isEmpty());
+    }
+
+    @Test
+    void authenticate_rejectsExpiredTokens() {
+        String token = tokenService.issue(user).token();
+
+        clock.advance(TTL);
+
+        assertTrue(tokenService.authenticate(token).isEmpty());
+    }
+
+    @Test
+    void revoke_invalidatesOnlyThatToken() {
+        String revoked = tokenService.issue(user).token();
+        String other = tokenService.issue(user).token();
+
+        assertTrue(tokenService.revoke(revoked));
+
+        assertTrue(tokenService.authenticate(revoked).isEmpty());
+        assertTrue(tokenService.authenticate(other).isPresent());
+        assertFalse(tokenService.revoke(revoked));
+    }
+
+    @Test
+    void accountChange_invalidatesEarlierTokensButNotLaterOnes() {
+        String before = tokenService.issue(user).token();
+        clock.advance(Duration.ofMillis(1));
+
+        revocationList.onUserAccountChanged(new UserAccountChangedEvent(1L, "test|user", "test|user", true));
+        clock.advance(Duration.ofMillis(1));
+        String after = tokenService.issue(user).token();
+
+        assertTrue(tokenService.authenticate(before).isEmpty());
+        assertTrue(tokenService.authenticate(after).isPresent());
+    }
+
+    @Test
+    void accountChange_invalidatesTokensIssuedInTheSameMillisecond() {
+        String sameInstant = tokenService.issue(user).token();
+
+        revocationList.onUserAccountChanged(new UserAccountChangedEvent(1L, "test|user", "test|user", true));
+
+        assertTrue(tokenService.authenticate(sameInstant).isEmpty());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.fitnesstracker.security;
+
+import com.example.fitnesstracker.event.UserAccountChangedEvent;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.example.fitnesstracker.model.User;
+import com.example.fitnesstracker.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdentityCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserIdentityCache userIdentityCache;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void resolveId_queriesRepositoryOncePerUsername() {
+        when(userRepository.findIdByUsername("testUser")).thenReturn(Optional.of(1L));
+
+        assertEquals(1L, userIdentityCache.resolveId("testUser"));
+        assertEquals(1L, userIdentityCache.resolveId("testUser"));
+
+        verify(userRepository, times(1)).findIdByUsername("testUser");
+    }
+
+    @Test
+    void resolveId_doesNotCacheUnknownUsernames() {
+        when(userRepository.findIdByUsername("newUser")).thenReturn(Optional.empty(), Optional.of(7L));
+
+        assertNull(userIdentityCache.resolveId("newUser"));
+        assertEquals(7L, userIdentityCache.resolveId("newUser"));
+    }
+
+    @Test
+    void getCurrentUserId_readsIdFromPrincipalWithoutRepository() {
+        AuthenticatedUser principal = new AuthenticatedUser(
+                5L, "testUser", null, User.Role.USER, AuthorityUtils.createAuthorityList("ROLE_USER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        assertEquals(5L, userIdentityCache.getCurrentUserId());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getCurrentUserId_ignoresAnonymousCallers() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        assertNull(userIdentityCache.getCurrentUserId());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void onUserAccountChanged_evictsPreviousUsername() {
+        when(userRepository.findIdByUsername("testUser")).thenReturn(Optional.of(1L), Optional.empty());
+        userIdentityCache.resolveId("testUser");
+
+        userIdentityCache.onUserAccountChanged(new UserAccountChangedEvent(1L, "testUser", "renamed", false));
+
+        assertNull(userIdentityCache.resolveId("testUser"));
+    }
+
+    @Test
+    void onUserDeleted_evictsUsername() {
+        when(userRepository.findIdByUsername("testUser")).thenReturn(Optional.of(1L), Optional.empty());
+        userIdentityCache.resolveId("testUser");
+
+        userIdentityCache.onUserDeleted(new UserDeletedEvent(1L, "testUser"));
+
+        assertNull(userIdentityCache.resolveId("testUser"));
+    }
+}
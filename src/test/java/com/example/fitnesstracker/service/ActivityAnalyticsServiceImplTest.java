@@ -0,0 +1,141 @@
+package com.example.fitnesstracker.service;
+
+import com.example.fitnesstracker.analytics.ActivityTimeSeriesStore;
+import com.example.fitnesstracker.analytics.DailySeries;
+import com.example.fitnesstracker.analytics.TypeTotals;
+import com.example.fitnesstracker.exception.BadRequestException;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.repository.ActivityLogRepository;
+import com.example.fitnesstracker.repository.projection.ActivityTotalsByDayView;
+import com.example.fitnesstracker.repository.projection.ActivityTotalsByTypeView;
+import com.example.fitnesstracker.response.ActivityStatsResponse;
+import com.example.fitnesstracker.response.ActivityTrendPointResponse;
+import com.example.fitnesstracker.response.ActivityTypeBreakdownResponse;
+import com.example.fitnesstracker.service.impl.ActivityAnalyticsServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityAnalyticsServiceImplTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 15);
+
+    @Mock
+    private ActivityTimeSeriesStore timeSeriesStore;
+
+    @Mock
+    private ActivityLogRepository activityLogRepository;
+
+    @InjectMocks
+    private ActivityAnalyticsServiceImpl activityAnalyticsService;
+
+    @Test
+    void getTrendDto_averagesOverTrailingWindowIncludingDaysBeforeRange() {
+        // Window 3 over 2 days reads 4 days starting two days before 'from'.
+        when(timeSeriesStore.daily(1L, FROM.minusDays(2), 4)).thenReturn(new DailySeries(
+                new int[]{1, 0, 1, 1},
+                new long[]{30, 0, 60, 90},
+                new long[]{300, 0, 600, 900}));
+
+        List<ActivityTrendPointResponse> trend = activityAnalyticsService.getTrendDto(1L, FROM, FROM.plusDays(1), 3);
+
+        assertEquals(List.of(
+                new ActivityTrendPointResponse(FROM, 1, 60, 600, 30.0, 300.0),
+                new ActivityTrendPointResponse(FROM.plusDays(1), 1, 90, 900, 50.0, 500.0)), trend);
+    }
+
+    @Test
+    void getTrendDto_rejectsInvalidRangeOrWindow() {
+        assertThrows(BadRequestException.class, () -> activityAnalyticsService.getTrendDto(1L, FROM, FROM.minusDays(1), 7));
+        assertThrows(BadRequestException.class, () -> activityAnalyticsService.getTrendDto(1L, FROM, FROM.plusDays(366), 7));
+        assertThrows(BadRequestException.class, () -> activityAnalyticsService.getTrendDto(1L, FROM, FROM, 0));
+        assertThrows(BadRequestException.class, () -> activityAnalyticsService.getTrendDto(1L, FROM, FROM, 91));
+        verifyNoInteractions(timeSeriesStore);
+    }
+
+    @Test
+    void getBreakdownDto_reportsTypesWithSessions() {
+        int types = ActivityLog.ActivityType.values().length;
+        int[] sessions = new int[types];
+        long[] minutes = new long[types];
+        long[] calories = new long[types];
+        sessions[ActivityLog.ActivityType.CARDIO.ordinal()] = 4;
+        minutes[ActivityLog.ActivityType.CARDIO.ordinal()] = 120;
+        calories[ActivityLog.ActivityType.CARDIO.ordinal()] = 1000;
+        when(timeSeriesStore.byType(1L, FROM, FROM.plusDays(6))).thenReturn(new TypeTotals(sessions, minutes, calories));
+
+        List<ActivityTypeBreakdownResponse> breakdown = activityAnalyticsService.getBreakdownDto(1L, FROM, FROM.plusDays(6));
+
+        assertEquals(List.of(new ActivityTypeBreakdownResponse(ActivityLog.ActivityType.CARDIO, 4, 120, 1000, 30.0, 250.0)),
+                breakdown);
+    }
+
+    @Test
+    void getStatsDto_combinesTypeRowsAndFoldsDaysIntoWeeks() {
+        // FROM is a Monday; the range ends on Wednesday of the following week.
+        LocalDate to = FROM.plusDays(9);
+        when(activityLogRepository.sumByActivityType(1L, FROM.atStartOfDay(), to.plusDays(1).atStartOfDay()))
+                .thenReturn(List.of(
+                        new ActivityTotalsByTypeView(ActivityLog.ActivityType.CARDIO, 2L, 60L, 600L),
+                        new ActivityTotalsByTypeView(ActivityLog.ActivityType.OTHER, 1L, 20L, 100L),
+                        new ActivityTotalsByTypeView(null, 1L, 40L, 100L)));
+        when(activityLogRepository.sumByDay(1L, FROM.atStartOfDay(), to.plusDays(1).atStartOfDay()))
+                .thenReturn(List.of(
+                        new ActivityTotalsByDayView(FROM, 1L, 30L, 300L),
+                        new ActivityTotalsByDayView(FROM.plusDays(6), 1L, 30L, 300L),
+                        new ActivityTotalsByDayView(to, 2L, 60L, 200L)));
+
+        ActivityStatsResponse stats = activityAnalyticsService.getStatsDto(1L, FROM, to, ActivityStatsResponse.Period.WEEK);
+
+        assertEquals(4, stats.sessionCount());
+        assertEquals(120, stats.totalMinutes());
+        assertEquals(800, stats.totalCalories());
+        assertEquals(30.0, stats.averageMinutes());
+        assertEquals(200.0, stats.averageCalories());
+        assertEquals(List.of(
+                new ActivityTypeBreakdownResponse(ActivityLog.ActivityType.CARDIO, 2, 60, 600, 30.0, 300.0),
+                new ActivityTypeBreakdownResponse(ActivityLog.ActivityType.OTHER, 2, 60, 200, 30.0, 100.0)),
+                stats.byActivityType());
+        assertEquals(List.of(
+                new ActivityStatsResponse.PeriodTotals(FROM, 2, 60, 600),
+                new ActivityStatsResponse.PeriodTotals(FROM.plusWeeks(1), 2, 60, 200)), stats.byPeriod());
+    }
+
+    @Test
+    void getStatsDto_reportsEveryMonthTouchingRange_withZeroAverages_whenNoSessions() {
+        LocalDate to = LocalDate.of(2024, 3, 10);
+        when(activityLogRepository.sumByActivityType(1L, FROM.atStartOfDay(), to.plusDays(1).atStartOfDay()))
+                .thenReturn(List.of());
+        when(activityLogRepository.sumByDay(1L, FROM.atStartOfDay(), to.plusDays(1).atStartOfDay()))
+                .thenReturn(List.of());
+
+        ActivityStatsResponse stats = activityAnalyticsService.getStatsDto(1L, FROM, to, ActivityStatsResponse.Period.MONTH);
+
+        assertEquals(0.0, stats.averageMinutes());
+        assertEquals(List.of(), stats.byActivityType());
+        assertEquals(List.of(
+                new ActivityStatsResponse.PeriodTotals(LocalDate.of(2024, 1, 1), 0, 0, 0),
+                new ActivityStatsResponse.PeriodTotals(LocalDate.of(2024, 2, 1), 0, 0, 0),
+                new ActivityStatsResponse.PeriodTotals(LocalDate.of(2024, 3, 1), 0, 0, 0)), stats.byPeriod());
+    }
+
+    @Test
+    void getStatsDto_rejectsInvalidRange() {
+        assertThrows(BadRequestException.class, () -> activityAnalyticsService.getStatsDto(
+                1L, FROM, FROM.minusDays(1), ActivityStatsResponse.Period.WEEK));
+        assertThrows(BadRequestException.class, () -> activityAnalyticsService.getStatsDto(
+                1L, FROM, FROM.plusDays(366), ActivityStatsResponse.Period.MONTH));
+        verifyNoInteractions(activityLogRepository);
+    }
+}
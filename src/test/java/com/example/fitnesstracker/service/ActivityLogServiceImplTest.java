@@ -1,24 +1,49 @@
 package com.example.fitnesstracker.service;
 
+import com.example.fitnesstracker.audit.AuditTrail;
+import com.example.fitnesstracker.event.ActivityLogChangedEvent;
+import com.example.fitnesstracker.event.ActivityLogSnapshot;
+import com.example.fitnesstracker.exception.BadRequestException;
 import com.example.fitnesstracker.exception.ResourceNotFoundException;
+import com.example.fitnesstracker.exception.TooManyRequestsException;
+import com.example.fitnesstracker.ingest.ActivityLogIngestQueue;
 import com.example.fitnesstracker.mapper.ActivityLogMapper;
 import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.model.AuditEvent;
 import com.example.fitnesstracker.model.User;
+import com.example.fitnesstracker.pagination.ActivityLogCursor;
 import com.example.fitnesstracker.repository.ActivityLogRepository;
+import com.example.fitnesstracker.repository.projection.ActivityLogView;
+import com.example.fitnesstracker.request.ActivityLogExportFilter;
 import com.example.fitnesstracker.request.ActivityLogRequest;
+import com.example.fitnesstracker.response.ActivityLogBatchResponse;
+import com.example.fitnesstracker.response.ActivityLogIngestResponse;
+import com.example.fitnesstracker.response.ActivityLogResponse;
+import com.example.fitnesstracker.response.CursorPageResponse;
 import com.example.fitnesstracker.service.impl.ActivityLogServiceImpl;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,11 +55,28 @@ class ActivityLogServiceImplTest {
     @Mock
     private ActivityLogMapper activityLogMapper;
 
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private WorkoutPlanService workoutPlanService;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private AuditTrail auditTrail;
+    @Mock
+    private ActivityLogIngestQueue ingestQueue;
+
     @InjectMocks
     private ActivityLogServiceImpl activityLogService;
 
     private ActivityLogRequest request;
     private ActivityLog activityLog;
+    private ActivityLogView view;
 
     @BeforeEach
     void setUp() {
@@ -61,6 +103,15 @@ class ActivityLogServiceImplTest {
         User user = new User();
         user.setId(1L);
         activityLog.setUser(user);
+
+        view = view(1L, activityLog.getDateTime());
+    }
+
+    private static ActivityLogView view(Long id, LocalDateTime dateTime) {
+        return new ActivityLogView(id, "Running", "Morning jog", dateTime, 30, 250, ActivityLog.ActivityType.CARDIO,
+                1L, "testUser", "test@example.com", "Test User", User.Role.USER, null,
+                null, null, null, null, null, null,
+                null, null, null, null, null, null);
     }
 
     @Test
@@ -73,6 +124,26 @@ class ActivityLogServiceImplTest {
         assertNotNull(result);
         assertEquals(activityLog.getActivityName(), result.getActivityName());
         verify(activityLogRepository, times(1)).save(activityLog);
+        verify(eventPublisher).publishEvent(ActivityLogChangedEvent.created(activityLog));
+        verify(auditTrail).record(AuditEvent.Action.CREATE, AuditEvent.EntityType.ACTIVITY_LOG, activityLog.getId());
+    }
+
+    @Test
+    void testUpdateActivityLogDto_publishesStateBeforeMutation() {
+        ActivityLogSnapshot before = ActivityLogSnapshot.of(activityLog);
+        when(activityLogRepository.findById(1L)).thenReturn(Optional.of(activityLog));
+        when(activityLogMapper.updateEntityFromRequest(activityLog, request)).thenAnswer(invocation -> {
+            activityLog.setActivityType(ActivityLog.ActivityType.STRENGTH);
+            activityLog.setCaloriesBurned(400);
+            return activityLog;
+        });
+        when(activityLogRepository.save(activityLog)).thenReturn(activityLog);
+
+        activityLogService.updateActivityLogDto(1L, request, null);
+
+        verify(eventPublisher).publishEvent(new ActivityLogChangedEvent(before, ActivityLogSnapshot.of(activityLog)));
+        assertEquals(ActivityLog.ActivityType.CARDIO, before.activityType());
+        assertEquals(250, before.caloriesBurned());
     }
 
     @Test
@@ -85,7 +156,7 @@ class ActivityLogServiceImplTest {
         when(activityLogMapper.updateEntityFromRequest(activityLog, request)).thenReturn(updated);
         when(activityLogRepository.save(updated)).thenReturn(updated);
 
-        ActivityLog result = activityLogService.updateActivityLogDto(1L, request);
+        ActivityLog result = activityLogService.updateActivityLogDto(1L, request, null);
 
         assertEquals("Updated Run", result.getActivityName());
         verify(activityLogRepository).save(updated);
@@ -119,7 +190,168 @@ class ActivityLogServiceImplTest {
     @Test
     void testDeleteActivityLog() {
         when(activityLogRepository.findById(1L)).thenReturn(Optional.of(activityLog));
-        activityLogService.deleteActivityLog(1L);
+        activityLogService.deleteActivityLog(1L, null);
         verify(activityLogRepository).delete(activityLog);
+        verify(eventPublisher).publishEvent(ActivityLogChangedEvent.deleted(activityLog));
+    }
+
+    @Test
+    void testGetActivityLogPageDto_firstPageWithNext() {
+        ActivityLogView older = view(2L, view.dateTime().minusHours(1));
+        ActivityLogResponse response = mock(ActivityLogResponse.class);
+
+        when(activityLogRepository.findViewPage(PageRequest.of(0, 2)))
+                .thenReturn(List.of(view, older));
+        when(activityLogMapper.toResponse(view)).thenReturn(response);
+
+        CursorPageResponse<ActivityLogResponse> page = activityLogService.getActivityLogPageDto(null, 1);
+
+        assertEquals(1, page.items().size());
+        assertEquals(ActivityLogCursor.of(view), ActivityLogCursor.decode(page.nextCursor()));
+        verify(activityLogMapper, never()).toResponse(older);
+    }
+
+    @Test
+    void testGetActivityLogPageByUserIdDto_seeksPastCursor() {
+        ActivityLogCursor cursor = new ActivityLogCursor(activityLog.getDateTime().plusDays(1), 5L);
+        when(activityLogRepository.findViewPageByUserIdAfter(1L, cursor.dateTime(), 5L, PageRequest.of(0, 11)))
+                .thenReturn(List.of(view));
+
+        CursorPageResponse<ActivityLogResponse> page =
+                activityLogService.getActivityLogPageByUserIdDto(1L, cursor.encode(), 10);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testGetActivityLogByIdDto_readsProjection() {
+        ActivityLogResponse response = mock(ActivityLogResponse.class);
+        when(activityLogRepository.findViewById(1L)).thenReturn(Optional.of(view));
+        when(activityLogMapper.toResponse(view)).thenReturn(response);
+
+        assertSame(response, activityLogService.getActivityLogByIdDto(1L));
+        verify(activityLogRepository, never()).findById(any());
+    }
+
+    @Test
+    void testGetActivityLogByIdDto_notFound() {
+        when(activityLogRepository.findViewById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> activityLogService.getActivityLogByIdDto(1L));
+    }
+
+    @Test
+    void testGetActivityLogPageDto_rejectsInvalidCursorAndSize() {
+        assertThrows(BadRequestException.class, () -> activityLogService.getActivityLogPageDto("not-a-cursor", 10));
+        assertThrows(BadRequestException.class, () -> activityLogService.getActivityLogPageDto(null, 0));
+        assertThrows(BadRequestException.class, () -> activityLogService.getActivityLogPageDto(null, 501));
+    }
+
+    @Test
+    void testExportActivityLogs_streamsEveryMatchingLog() {
+        ActivityLogExportFilter filter = new ActivityLogExportFilter(1L, null, ActivityLog.ActivityType.CARDIO, null, null);
+        ActivityLogResponse response = mock(ActivityLogResponse.class);
+        when(activityLogRepository.streamViewsForExport(1L, null, ActivityLog.ActivityType.CARDIO, null, null))
+                .thenReturn(Stream.of(view, view));
+        when(activityLogMapper.toResponse(view)).thenReturn(response);
+
+        List<ActivityLogResponse> exported = new ArrayList<>();
+        long count = activityLogService.exportActivityLogs(filter, exported::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of(response, response), exported);
+    }
+
+    @Test
+    void testExportActivityLogs_rejectsInvertedRange() {
+        LocalDateTime now = LocalDateTime.now();
+        ActivityLogExportFilter filter = new ActivityLogExportFilter(null, null, null, now, now.minusDays(1));
+
+        assertThrows(BadRequestException.class, () -> activityLogService.exportActivityLogs(filter, r -> { }));
+        verifyNoInteractions(activityLogRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateActivityLogsBatch_reportsFailuresPerItem() {
+        ActivityLogRequest unknownUser = new ActivityLogRequest("Swim", null, LocalDateTime.now(), 20, 100,
+                ActivityLog.ActivityType.CARDIO, 99L, null);
+        ActivityLogRequest unknownPlan = new ActivityLogRequest("Lift", null, LocalDateTime.now(), 40, 200,
+                ActivityLog.ActivityType.STRENGTH, 1L, 7L);
+        ActivityLogRequest invalid = new ActivityLogRequest("Yoga", null, null, 30, 90,
+                ActivityLog.ActivityType.FLEXIBILITY, 1L, null);
+        List<ActivityLogRequest> batch = List.of(request, unknownUser, unknownPlan, invalid);
+
+        for (ActivityLogRequest item : batch) {
+            when(activityLogMapper.toEntity(item)).thenReturn(new ActivityLog());
+        }
+        when(userService.getUsersByIds(Set.of(1L, 99L))).thenReturn(List.of(activityLog.getUser()));
+        when(workoutPlanService.getWorkoutPlansByIds(Set.of(7L))).thenReturn(List.of());
+
+        ConstraintViolation<ActivityLog> violation = mock(ConstraintViolation.class);
+        Path path = mock(Path.class);
+        when(path.toString()).thenReturn("dateTime");
+        when(violation.getPropertyPath()).thenReturn(path);
+        when(violation.getMessage()).thenReturn("Date and time is required");
+        when(validator.validate(any(ActivityLog.class))).thenReturn(Set.of(), Set.of(violation));
+
+        when(activityLogRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ActivityLog> toSave = invocation.getArgument(0);
+            toSave.forEach(entity -> entity.setId(42L));
+            return toSave;
+        });
+
+        ActivityLogBatchResponse response = activityLogService.createActivityLogsBatch(batch);
+
+        assertEquals(4, response.received());
+        assertEquals(1, response.created());
+        assertEquals(3, response.failed());
+        assertEquals(42L, response.results().get(0).id());
+        assertEquals("User not found with id: '99'", response.results().get(1).error());
+        assertEquals("WorkoutPlan not found with id: '7'", response.results().get(2).error());
+        assertEquals("dateTime: Date and time is required", response.results().get(3).error());
+    }
+
+    @Test
+    void testCreateActivityLogsBatch_requiresUserId() {
+        ActivityLogRequest withoutUser = new ActivityLogRequest("Run", null, LocalDateTime.now(), 10, 50,
+                ActivityLog.ActivityType.CARDIO, null, null);
+        when(activityLogMapper.toEntity(withoutUser)).thenReturn(new ActivityLog());
+        when(activityLogRepository.saveAll(anyList())).thenReturn(List.of());
+
+        ActivityLogBatchResponse response = activityLogService.createActivityLogsBatch(List.of(withoutUser));
+
+        assertEquals(0, response.created());
+        assertEquals("userId is required", response.results().get(0).error());
+        verifyNoInteractions(validator);
+    }
+
+    @Test
+    void submitActivityLog_shouldThrowTooManyRequests_whenQueueFull() {
+        when(ingestQueue.offer(request)).thenReturn(Optional.empty());
+        when(ingestQueue.retryAfter()).thenReturn(Duration.ofSeconds(1));
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> activityLogService.submitActivityLog(request));
+
+        assertEquals(Duration.ofSeconds(1), exception.getRetryAfter());
+        verifyNoInteractions(activityLogRepository);
+    }
+
+    @Test
+    void getIngestStatusDto_shouldThrow_whenTrackingIdUnknown() {
+        when(ingestQueue.status("abc")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> activityLogService.getIngestStatusDto("abc"));
+    }
+
+    @Test
+    void submitActivityLog_shouldReturnPendingStatus() {
+        ActivityLogIngestResponse pending = new ActivityLogIngestResponse(
+                "abc", 1L, ActivityLogIngestResponse.Status.PENDING, null, null);
+        when(ingestQueue.offer(request)).thenReturn(Optional.of(pending));
+
+        assertEquals(pending, activityLogService.submitActivityLog(request));
     }
 }
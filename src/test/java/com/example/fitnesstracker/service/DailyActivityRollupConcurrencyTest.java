@@ -0,0 +1,82 @@
+package com.example.fitnesstracker.service;
+
+import com.example.fitnesstracker.event.ActivityLogChangedEvent;
+import com.example.fitnesstracker.event.ActivityLogSnapshot;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.example.fitnesstracker.model.ActivityLog.ActivityType;
+import com.example.fitnesstracker.model.DailyActivityRollup;
+import com.example.fitnesstracker.repository.DailyActivityRollupRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the rollup listener against the real database, with concurrent first logs racing to create
+ * the same rollup row.
+ */
+@SpringBootTest
+class DailyActivityRollupConcurrencyTest {
+
+    private static final long USER_ID = 9_000_001L;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private DailyActivityRollupService rollupService;
+
+    @Autowired
+    private DailyActivityRollupRepository rollupRepository;
+
+    @AfterEach
+    void tearDown() {
+        rollupService.onUserDeleted(new UserDeletedEvent(USER_ID, "racer"));
+    }
+
+    @Test
+    void concurrentFirstLogsOfADay_allCount() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                LocalDate day = FIRST_DAY.plusDays(round);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> creates = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    ActivityLogSnapshot created = new ActivityLogSnapshot((long) round * THREADS + t, USER_ID,
+                            day.atTime(7, t), ActivityType.CARDIO, 30, 250);
+                    creates.add(executor.submit(() -> {
+                        start.await();
+                        rollupService.onActivityLogChanged(new ActivityLogChangedEvent(null, created));
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> create : creates) {
+                    create.get(30, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<DailyActivityRollup> rollups = rollupRepository.findByUserIdAndDayBetweenOrderByDayAscActivityTypeAsc(
+                USER_ID, FIRST_DAY, FIRST_DAY.plusDays(ROUNDS - 1));
+        assertThat(rollups).hasSize(ROUNDS).allSatisfy(rollup -> {
+            assertThat(rollup.getSessionCount()).isEqualTo(THREADS);
+            assertThat(rollup.getTotalMinutes()).isEqualTo(THREADS * 30L);
+            assertThat(rollup.getTotalCalories()).isEqualTo(THREADS * 250L);
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.fitnesstracker.service;
+
+import com.example.fitnesstracker.event.ActivityLogChangedEvent;
+import com.example.fitnesstracker.event.ActivityLogSnapshot;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.example.fitnesstracker.exception.BadRequestException;
+import com.example.fitnesstracker.model.ActivityLog.ActivityType;
+import com.example.fitnesstracker.model.DailyActivityRollup;
+import com.example.fitnesstracker.repository.DailyActivityRollupRepository;
+import com.example.fitnesstracker.response.DailyActivityStatsResponse;
+import com.example.fitnesstracker.service.impl.DailyActivityRollupServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailyActivityRollupServiceImplTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 15, 7, 0);
+
+    @Mock
+    private DailyActivityRollupRepository rollupRepository;
+
+    @InjectMocks
+    private DailyActivityRollupServiceImpl rollupService;
+
+    @Test
+    void onActivityLogChanged_createAddsToRollup() {
+        ActivityLogSnapshot created = new ActivityLogSnapshot(1L, 1L, MONDAY, ActivityType.CARDIO, 30, 250);
+
+        rollupService.onActivityLogChanged(new ActivityLogChangedEvent(null, created));
+
+        verify(rollupRepository).addToRollup(1L, MONDAY.toLocalDate(), ActivityType.CARDIO, 1, 30, 250);
+        verify(rollupRepository, never()).applyDelta(anyLong(), any(), any(), anyLong(), anyLong(), anyLong());
+        verify(rollupRepository, never()).save(any());
+    }
+
+    @Test
+    void onActivityLogChanged_createCountsUntypedLogsAsOther() {
+        ActivityLogSnapshot created = new ActivityLogSnapshot(1L, 1L, MONDAY, null, 30, 250);
+
+        rollupService.onActivityLogChanged(new ActivityLogChangedEvent(null, created));
+
+        verify(rollupRepository).addToRollup(1L, MONDAY.toLocalDate(), ActivityType.OTHER, 1, 30, 250);
+    }
+
+    @Test
+    void onActivityLogChanged_updateWithinSameRowAppliesNetDelta() {
+        ActivityLogSnapshot before = new ActivityLogSnapshot(1L, 1L, MONDAY, ActivityType.CARDIO, 30, 250);
+        ActivityLogSnapshot after = new ActivityLogSnapshot(1L, 1L, MONDAY.plusHours(2), ActivityType.CARDIO, 45, 300);
+        when(rollupRepository.applyDelta(1L, MONDAY.toLocalDate(), ActivityType.CARDIO, 0, 15, 50)).thenReturn(1);
+
+        rollupService.onActivityLogChanged(new ActivityLogChangedEvent(before, after));
+
+        verify(rollupRepository, times(1)).applyDelta(anyLong(), any(), any(), anyLong(), anyLong(), anyLong());
+        verify(rollupRepository, never()).deleteIfEmpty(anyLong(), any(), any());
+    }
+
+    @Test
+    void onActivityLogChanged_updateMovesContributionBetweenRows() {
+        ActivityLogSnapshot before = new ActivityLogSnapshot(1L, 1L, MONDAY, ActivityType.CARDIO, 30, 250);
+        ActivityLogSnapshot after = new ActivityLogSnapshot(1L, 1L, MONDAY.plusDays(1), ActivityType.STRENGTH, 30, 250);
+        LocalDate tuesday = MONDAY.toLocalDate().plusDays(1);
+        when(rollupRepository.applyDelta(1L, MONDAY.toLocalDate(), ActivityType.CARDIO, -1, -30, -250)).thenReturn(1);
+
+        rollupService.onActivityLogChanged(new ActivityLogChangedEvent(before, after));
+
+        verify(rollupRepository).deleteIfEmpty(1L, MONDAY.toLocalDate(), ActivityType.CARDIO);
+        verify(rollupRepository).addToRollup(1L, tuesday, ActivityType.STRENGTH, 1, 30, 250);
+    }
+
+    @Test
+    void onActivityLogChanged_ignoresLogsWithoutUser() {
+        ActivityLogSnapshot created = new ActivityLogSnapshot(1L, null, MONDAY, ActivityType.CARDIO, 30, 250);
+
+        rollupService.onActivityLogChanged(new ActivityLogChangedEvent(null, created));
+
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void onUserDeleted_removesAllRollupsOfUser() {
+        rollupService.onUserDeleted(new UserDeletedEvent(1L, "testUser"));
+
+        verify(rollupRepository).deleteAllByUserId(1L);
+    }
+
+    @Test
+    void getDailyStatsDto_mapsRollups() {
+        LocalDate from = MONDAY.toLocalDate();
+        when(rollupRepository.findByUserIdAndDayBetweenOrderByDayAscActivityTypeAsc(1L, from, from.plusDays(6)))
+                .thenReturn(List.of(new DailyActivityRollup(5L, 1L, from, ActivityType.CARDIO, 2, 60, 500)));
+
+        List<DailyActivityStatsResponse> stats = rollupService.getDailyStatsDto(1L, from, from.plusDays(6));
+
+        assertEquals(List.of(new DailyActivityStatsResponse(from, ActivityType.CARDIO, 2, 60, 500)), stats);
+    }
+
+    @Test
+    void getDailyStatsDto_rejectsInvalidRanges() {
+        LocalDate from = MONDAY.toLocalDate();
+        assertThrows(BadRequestException.class, () -> rollupService.getDailyStatsDto(1L, from, from.minusDays(1)));
+        assertThrows(BadRequestException.class, () -> rollupService.getDailyStatsDto(1L, from, from.plusDays(366)));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.fitnesstracker.service;
+
+import com.example.fitnesstracker.exception.BadRequestException;
+import com.example.fitnesstracker.leaderboard.ActivityLeaderboard;
+import com.example.fitnesstracker.leaderboard.LeaderboardMetric;
+import com.example.fitnesstracker.leaderboard.LeaderboardStanding;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.repository.UserRepository;
+import com.example.fitnesstracker.repository.projection.UserNameView;
+import com.example.fitnesstracker.response.LeaderboardEntryResponse;
+import com.example.fitnesstracker.service.impl.LeaderboardServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardServiceImplTest {
+
+    @Mock
+    private ActivityLeaderboard leaderboard;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private LeaderboardServiceImpl leaderboardService;
+
+    @Test
+    void getLeaderboardDto_ranksStandingsWithUsernames_skippingDeletedUsers() {
+        when(leaderboard.windows()).thenReturn(List.of("1d", "7d"));
+        when(leaderboard.top("7d", ActivityLog.ActivityType.CARDIO, LeaderboardMetric.CALORIES, 3)).thenReturn(List.of(
+                new LeaderboardStanding(2, 3, 90, 900),
+                new LeaderboardStanding(5, 2, 60, 700),
+                new LeaderboardStanding(1, 1, 30, 300)));
+        when(userRepository.findNamesByIdIn(List.of(2L, 5L, 1L))).thenReturn(List.of(
+                new UserNameView(1L, "walker"),
+                new UserNameView(2L, "runner")));
+
+        List<LeaderboardEntryResponse> entries = leaderboardService.getLeaderboardDto(
+                "7d", ActivityLog.ActivityType.CARDIO, LeaderboardMetric.CALORIES, 3);
+
+        assertEquals(List.of(
+                new LeaderboardEntryResponse(1, 2L, "runner", 3, 90, 900),
+                new LeaderboardEntryResponse(2, 1L, "walker", 1, 30, 300)), entries);
+    }
+
+    @Test
+    void getLeaderboardDto_rejectsUnknownWindowOrLimitOutOfRange() {
+        when(leaderboard.windows()).thenReturn(List.of("1d", "7d"));
+
+        assertThrows(BadRequestException.class,
+                () -> leaderboardService.getLeaderboardDto("5d", null, LeaderboardMetric.CALORIES, 10));
+        assertThrows(BadRequestException.class,
+                () -> leaderboardService.getLeaderboardDto("7d", null, LeaderboardMetric.CALORIES, 0));
+        assertThrows(BadRequestException.class,
+                () -> leaderboardService.getLeaderboardDto("7d", null, LeaderboardMetric.CALORIES, 501));
+        verifyNoInteractions(userRepository);
+    }
+}
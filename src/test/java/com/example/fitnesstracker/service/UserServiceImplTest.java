@@ -1,8 +1,13 @@
 package com.example.fitnesstracker.service;
 
+import com.example.fitnesstracker.audit.AuditTrail;
+import com.example.fitnesstracker.event.UserAccountChangedEvent;
+import com.example.fitnesstracker.event.UserDeletedEvent;
 import com.example.fitnesstracker.exception.BadRequestException;
+import com.example.fitnesstracker.exception.PreconditionFailedException;
 import com.example.fitnesstracker.exception.ResourceNotFoundException;
 import com.example.fitnesstracker.mapper.UserMapper;
+import com.example.fitnesstracker.model.AuditEvent;
 import com.example.fitnesstracker.model.User;
 import com.example.fitnesstracker.repository.UserRepository;
 import com.example.fitnesstracker.request.UserRequest;
@@ -14,14 +19,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +41,10 @@ class UserServiceImplTest {
     private PasswordEncoder passwordEncoder;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private AuditTrail auditTrail;
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -91,7 +103,7 @@ class UserServiceImplTest {
 
     @Test
     void getUserByUsernameDto_ShouldReturnUserResponse() {
-        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+        when(userRepository.findByNaturalUsername("testUser")).thenReturn(Optional.of(user));
         when(userMapper.toResponse(user)).thenReturn(userResponse);
         UserResponse result = userService.getUserByUsernameDto("testUser");
         assertEquals("testUser", result.username());
@@ -124,6 +136,7 @@ class UserServiceImplTest {
         UserResponse result = userService.createUserDto(userRequest);
 
         assertEquals("testUser", result.username());
+        verify(auditTrail).record(AuditEvent.Action.CREATE, AuditEvent.EntityType.USER, 1L);
     }
 
     @Test
@@ -134,17 +147,30 @@ class UserServiceImplTest {
         when(userRepository.save(user)).thenReturn(user);
         when(userMapper.toResponse(user)).thenReturn(userResponse);
 
-        UserResponse result = userService.updateUserDto(1L, userRequest);
+        UserResponse result = userService.updateUserDto(1L, userRequest, null);
 
         assertEquals("testUser", result.username());
         assertEquals("test@example.com", result.email());
+        verify(eventPublisher).publishEvent(new UserAccountChangedEvent(1L, "testUser", "testUser", true));
+    }
+
+    @Test
+    void updateUserDto_StaleVersion_ShouldThrowPreconditionFailed() {
+        user.setVersion(4L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        assertThrows(PreconditionFailedException.class, () -> userService.updateUserDto(1L, userRequest, 3L));
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(auditTrail);
     }
 
     @Test
     void deleteUser_ShouldDeleteUserById() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        userService.deleteUser(1L);
+        userService.deleteUser(1L, null);
         verify(userRepository).delete(user);
+        verify(eventPublisher).publishEvent(new UserDeletedEvent(1L, "testUser"));
+        verify(auditTrail).record(AuditEvent.Action.DELETE, AuditEvent.EntityType.USER, 1L);
     }
 
     @Test
@@ -167,4 +193,13 @@ class UserServiceImplTest {
         when(userRepository.existsByEmail("test@example.com")).thenReturn(true);
         assertThrows(BadRequestException.class, () -> userService.createUserDto(userRequest));
     }
+
+    @Test
+    void getUsersByIds_ShouldUseSingleLookup() {
+        when(userRepository.findAllById(Set.of(1L))).thenReturn(List.of(user));
+
+        assertEquals(List.of(user), userService.getUsersByIds(Set.of(1L)));
+        assertEquals(List.of(), userService.getUsersByIds(Set.of()));
+        verify(userRepository, times(1)).findAllById(any());
+    }
 }
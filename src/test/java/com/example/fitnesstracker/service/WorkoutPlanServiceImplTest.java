@@ -1,13 +1,18 @@
 package com.example.fitnesstracker.service;
 
+import com.example.fitnesstracker.audit.AuditTrail;
+import com.example.fitnesstracker.event.WorkoutPlanChangedEvent;
+import com.example.fitnesstracker.exception.BadRequestException;
 import com.example.fitnesstracker.exception.ResourceNotFoundException;
 import com.example.fitnesstracker.mapper.WorkoutPlanMapper;
+import com.example.fitnesstracker.model.AuditEvent;
 import com.example.fitnesstracker.model.User;
 import com.example.fitnesstracker.model.WorkoutPlan;
 import com.example.fitnesstracker.model.WorkoutPlan.DifficultyLevel;
 import com.example.fitnesstracker.repository.WorkoutPlanRepository;
 import com.example.fitnesstracker.request.WorkoutPlanRequest;
 import com.example.fitnesstracker.response.WorkoutPlanResponse;
+import com.example.fitnesstracker.search.WorkoutPlanSearchIndex;
 import com.example.fitnesstracker.service.impl.WorkoutPlanServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,15 +20,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class WorkoutPlanServiceImplTest {
@@ -32,6 +39,13 @@ class WorkoutPlanServiceImplTest {
     private WorkoutPlanRepository workoutPlanRepository;
     @Mock
     private WorkoutPlanMapper workoutPlanMapper;
+    @Mock
+    private WorkoutPlanSearchIndex searchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private AuditTrail auditTrail;
 
     @InjectMocks
     private WorkoutPlanServiceImpl workoutPlanService;
@@ -93,10 +107,11 @@ class WorkoutPlanServiceImplTest {
         when(workoutPlanRepository.save(workoutPlan)).thenReturn(workoutPlan);
         when(workoutPlanMapper.toResponse(workoutPlan)).thenReturn(response);
 
-        WorkoutPlanResponse result = workoutPlanService.updateWorkoutPlanDto(1L, request);
+        WorkoutPlanResponse result = workoutPlanService.updateWorkoutPlanDto(1L, request, null);
 
         assertEquals("Strength Plan", result.name());
         verify(workoutPlanRepository).save(workoutPlan);
+        verify(eventPublisher).publishEvent(new WorkoutPlanChangedEvent(1L, "Strength Plan"));
     }
 
     @Test
@@ -135,13 +150,36 @@ class WorkoutPlanServiceImplTest {
 
     @Test
     void testSearchWorkoutPlansByNameDto() {
-        when(workoutPlanRepository.findByNameContainingIgnoreCase("strength")).thenReturn(List.of(workoutPlan));
+        when(searchIndex.search("strength", 10)).thenReturn(List.of(1L));
+        when(workoutPlanRepository.findAllById(List.of(1L))).thenReturn(List.of(workoutPlan));
         when(workoutPlanMapper.toResponse(workoutPlan)).thenReturn(response);
-        List<WorkoutPlanResponse> result = workoutPlanService.searchWorkoutPlansByNameDto("strength");
+        List<WorkoutPlanResponse> result = workoutPlanService.searchWorkoutPlansByNameDto("strength", 10);
         assertEquals(1, result.size());
         assertEquals("Strength Plan", result.get(0).name());
     }
 
+    @Test
+    void testSearchWorkoutPlansByNameDto_keepsIndexRankingAndSkipsVanishedPlans() {
+        WorkoutPlan other = new WorkoutPlan();
+        other.setId(2L);
+        WorkoutPlanResponse otherResponse = new WorkoutPlanResponse(2L, "Strength", null, null, null, null, null);
+        when(searchIndex.search("strength", 10)).thenReturn(List.of(2L, 3L, 1L));
+        when(workoutPlanRepository.findAllById(List.of(2L, 3L, 1L))).thenReturn(List.of(workoutPlan, other));
+        when(workoutPlanMapper.toResponse(workoutPlan)).thenReturn(response);
+        when(workoutPlanMapper.toResponse(other)).thenReturn(otherResponse);
+
+        List<WorkoutPlanResponse> result = workoutPlanService.searchWorkoutPlansByNameDto("strength", 10);
+
+        assertEquals(List.of(otherResponse, response), result);
+    }
+
+    @Test
+    void testSearchWorkoutPlansByNameDto_rejectsLimitOutOfRange() {
+        assertThrows(BadRequestException.class, () -> workoutPlanService.searchWorkoutPlansByNameDto("strength", 0));
+        assertThrows(BadRequestException.class, () -> workoutPlanService.searchWorkoutPlansByNameDto("strength", 501));
+        verifyNoInteractions(searchIndex);
+    }
+
     @Test
     void testGetAllWorkoutPlansDto() {
         when(workoutPlanRepository.findAll()).thenReturn(List.of(workoutPlan));
@@ -153,8 +191,10 @@ class WorkoutPlanServiceImplTest {
     @Test
     void testDeleteWorkoutPlan() {
         when(workoutPlanRepository.findById(1L)).thenReturn(Optional.of(workoutPlan));
-        workoutPlanService.deleteWorkoutPlan(1L);
+        workoutPlanService.deleteWorkoutPlan(1L, null);
         verify(workoutPlanRepository).delete(workoutPlan);
+        verify(eventPublisher).publishEvent(WorkoutPlanChangedEvent.deleted(1L));
+        verify(auditTrail).record(AuditEvent.Action.DELETE, AuditEvent.EntityType.WORKOUT_PLAN, 1L);
     }
 
     @Test
@@ -162,4 +202,13 @@ class WorkoutPlanServiceImplTest {
         when(workoutPlanRepository.findById(1L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> workoutPlanService.getWorkoutPlanById(1L));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetWorkoutPlansByIds() {
+        when(workoutPlanRepository.findAllById(Set.of(1L))).thenReturn(List.of(workoutPlan));
+
+        assertEquals(List.of(workoutPlan), workoutPlanService.getWorkoutPlansByIds(Set.of(1L)));
+        assertEquals(List.of(), workoutPlanService.getWorkoutPlansByIds(Set.of()));
+        verify(workoutPlanRepository, times(1)).findAllById(any());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.fitnesstracker.streak;
+
+import com.example.fitnesstracker.event.ActivityLogChangedEvent;
+import com.example.fitnesstracker.event.ActivityLogSnapshot;
+import com.example.fitnesstracker.event.UserDeletedEvent;
+import com.example.fitnesstracker.model.ActivityLog;
+import com.example.fitnesstracker.repository.ActivityLogRepository;
+import com.example.fitnesstracker.repository.projection.ActivityDayCountView;
+import com.example.fitnesstracker.response.StreakResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityStreakTrackerTest {
+
+    // A Wednesday.
+    private static final LocalDate TODAY = LocalDate.of(2024, 1, 17);
+
+    @Mock
+    private ActivityLogRepository activityLogRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ActivityStreakTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        // User 1: a three-day run ending yesterday and an older two-day run; user 2 stopped a week ago.
+        when(activityLogRepository.streamDailyCounts()).thenReturn(Stream.of(
+                new ActivityDayCountView(1L, TODAY.minusDays(10), 1L),
+                new ActivityDayCountView(1L, TODAY.minusDays(9), 1L),
+                new ActivityDayCountView(1L, TODAY.minusDays(3), 2L),
+                new ActivityDayCountView(1L, TODAY.minusDays(2), 1L),
+                new ActivityDayCountView(1L, TODAY.minusDays(1), 1L),
+                new ActivityDayCountView(2L, TODAY.minusDays(7), 1L)));
+        Clock clock = Clock.fixed(TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        tracker = new ActivityStreakTracker(activityLogRepository, transactionManager, clock);
+        tracker.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void stats_reportsLiveAndBrokenStreaks() {
+        // The four weeks before this one hold 3 of user 1's active days and 1 of user 2's.
+        assertEquals(new StreakResponse(3, 3, TODAY.minusDays(1), 5, 2, 0.75), tracker.stats(1L));
+        assertEquals(new StreakResponse(0, 1, TODAY.minusDays(7), 1, 0, 0.25), tracker.stats(2L));
+        assertEquals(new StreakResponse(0, 0, null, 0, 0, 0), tracker.stats(3L));
+    }
+
+    @Test
+    void onActivityLogChanged_extendsAndSplitsRuns() {
+        tracker.onActivityLogChanged(new ActivityLogChangedEvent(null, snapshot(10L, 1L, TODAY)));
+        assertEquals(4, tracker.stats(1L).currentStreak());
+
+        // Moving the only log of two days ago to another day of the same run splits it.
+        tracker.onActivityLogChanged(new ActivityLogChangedEvent(
+                snapshot(11L, 1L, TODAY.minusDays(2)), snapshot(11L, 1L, TODAY.minusDays(9))));
+
+        StreakResponse streaks = tracker.stats(1L);
+        assertEquals(2, streaks.currentStreak());
+        assertEquals(2, streaks.longestStreak());
+        assertEquals(5, streaks.activeDays());
+    }
+
+    @Test
+    void onActivityLogChanged_ignoresEditsWithinTheSameDay() {
+        ActivityLogSnapshot before = snapshot(11L, 1L, TODAY.minusDays(1));
+        ActivityLogSnapshot after = new ActivityLogSnapshot(11L, 1L, TODAY.minusDays(1).atTime(23, 0),
+                ActivityLog.ActivityType.STRENGTH, 45, 400);
+
+        tracker.onActivityLogChanged(new ActivityLogChangedEvent(before, after));
+        tracker.onActivityLogChanged(new ActivityLogChangedEvent(after, null));
+
+        // Only the edit was ignored; deleting the log then empties yesterday.
+        assertEquals(0, tracker.stats(1L).currentStreak());
+    }
+
+    @Test
+    void onUserDeleted_forgetsUser() {
+        tracker.onUserDeleted(new UserDeletedEvent(1L, "user1"));
+
+        assertEquals(0, tracker.stats(1L).longestStreak());
+    }
+
+    private static ActivityLogSnapshot snapshot(Long id, Long userId, LocalDate day) {
+        return new ActivityLogSnapshot(id, userId, day.atTime(8, 0), ActivityLog.ActivityType.CARDIO, 30, 300);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.fitnesstracker.streak;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class UserStreaksTest {
+
+    // A Monday.
+    private static final long DAY = LocalDate.of(2024, 1, 15).toEpochDay();
+
+    @Test
+    void add_mergesAdjacentRuns() {
+        UserStreaks streaks = new UserStreaks();
+        streaks.add(DAY, 1);
+        streaks.add(DAY + 2, 1);
+        streaks.add(DAY + 3, 2);
+
+        assertEquals(new UserStreaks.Summary(DAY + 3, 2, 2, 3), streaks.summary());
+
+        streaks.add(DAY + 1, 1);
+
+        assertEquals(new UserStreaks.Summary(DAY + 3, 4, 4, 4), streaks.summary());
+    }
+
+    @Test
+    void remove_splitsRunOnlyWhenLastLogOfDayGoes() {
+        UserStreaks streaks = new UserStreaks();
+        for (long day = DAY; day < DAY + 5; day++) {
+            streaks.add(day, 1);
+        }
+        streaks.add(DAY + 1, 1);
+
+        streaks.remove(DAY + 1);
+        assertEquals(new UserStreaks.Summary(DAY + 4, 5, 5, 5), streaks.summary());
+
+        streaks.remove(DAY + 1);
+        assertEquals(new UserStreaks.Summary(DAY + 4, 3, 3, 4), streaks.summary());
+
+        streaks.remove(DAY + 3);
+        assertEquals(new UserStreaks.Summary(DAY + 4, 1, 1, 3), streaks.summary());
+    }
+
+    @Test
+    void remove_keepsLongestRunElsewhere() {
+        UserStreaks streaks = new UserStreaks();
+        for (long day = DAY; day < DAY + 3; day++) {
+            streaks.add(day, 1);
+        }
+        streaks.add(DAY + 10, 1);
+        streaks.add(DAY + 11, 1);
+
+        streaks.remove(DAY + 11);
+
+        assertEquals(new UserStreaks.Summary(DAY + 10, 1, 3, 4), streaks.summary());
+
+        streaks.remove(DAY + 10);
+        streaks.remove(DAY + 10);
+
+        assertEquals(new UserStreaks.Summary(DAY + 2, 3, 3, 3), streaks.summary());
+    }
+
+    @Test
+    void summary_isNullOnceEveryDayIsRemoved() {
+        UserStreaks streaks = new UserStreaks();
+        streaks.add(DAY, 1);
+        streaks.remove(DAY);
+
+        assertNull(streaks.summary());
+        assertEquals(0, streaks.activeDaysInWeek(UserStreaks.week(DAY)));
+    }
+
+    @Test
+    void activeDaysInWeek_countsDaysFromMondayToSunday() {
+        UserStreaks streaks = new UserStreaks();
+        streaks.add(DAY - 1, 1);
+        streaks.add(DAY, 3);
+        streaks.add(DAY + 6, 1);
+
+        assertEquals(1, streaks.activeDaysInWeek(UserStreaks.week(DAY) - 1));
+        assertEquals(2, streaks.activeDaysInWeek(UserStreaks.week(DAY)));
+        assertEquals(UserStreaks.week(DAY), UserStreaks.week(DAY + 6));
+    }
+}